@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Builds the standard and fast Docker targets and measures, for each, the time from `docker run`
+# until GET /api/restaurants first answers 200 against a throwaway PostgreSQL.
+#
+# usage: scripts/startup-benchmark.sh [runs]   (default 5)
+set -euo pipefail
+
+RUNS=${1:-5}
+NETWORK=mbr-startup-bench
+DB=mbr-startup-db
+APP=mbr-startup-app
+PORT=${BENCHMARK_PORT:-18080}
+
+cleanup() {
+    docker rm -f "$APP" "$DB" >/dev/null 2>&1 || true
+    docker network rm "$NETWORK" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+now_millis() {
+    date +%s%3N
+}
+
+cd "$(dirname "$0")/.."
+for target in standard fast; do
+    docker build -q --target "$target" -t "my-best-restaurants:$target" . >/dev/null
+done
+
+cleanup
+docker network create "$NETWORK" >/dev/null
+docker run -d --name "$DB" --network "$NETWORK" \
+    -e POSTGRES_DB=restaurants -e POSTGRES_USER=postgres -e POSTGRES_PASSWORD=postgres \
+    postgres:16-alpine >/dev/null
+until docker exec "$DB" pg_isready -U postgres >/dev/null 2>&1; do sleep 0.5; done
+
+# Create the schema once so the fast target (ddl-auto none) starts against a migrated database
+docker run -d --name "$APP" --network "$NETWORK" -p "$PORT:8080" \
+    -e DATABASE_URL="jdbc:postgresql://$DB:5432/restaurants" my-best-restaurants:standard >/dev/null
+until curl -sf -o /dev/null "http://localhost:$PORT/api/restaurants"; do sleep 0.5; done
+docker rm -f "$APP" >/dev/null
+
+printf "%-10s %s\n" "mode" "time-to-first-request (ms)"
+for target in standard fast; do
+    results=()
+    for ((run = 1; run <= RUNS; run++)); do
+        start=$(now_millis)
+        docker run -d --name "$APP" --network "$NETWORK" -p "$PORT:8080" \
+            -e DATABASE_URL="jdbc:postgresql://$DB:5432/restaurants" "my-best-restaurants:$target" >/dev/null
+        until curl -sf -o /dev/null "http://localhost:$PORT/api/restaurants"; do sleep 0.02; done
+        results+=($(( $(now_millis) - start )))
+        docker rm -f "$APP" >/dev/null
+    done
+    median=$(printf "%s\n" "${results[@]}" | sort -n | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }')
+    printf "%-10s median=%s runs=%s\n" "$target" "$median" "${results[*]}"
+done
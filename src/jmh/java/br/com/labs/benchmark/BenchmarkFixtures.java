@@ -0,0 +1,46 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.model.Restaurant;
+import br.com.labs.model.Role;
+import br.com.labs.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "mySuperSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong!";
+
+    private BenchmarkFixtures() {}
+
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+
+    static User user() {
+        User user = new User("Felipe", "felipe@email.com", "password");
+        user.setId(1L);
+        user.addRole(new Role("ROLE_USER"));
+        return user;
+    }
+
+    static List<Restaurant> restaurants(int count, int descriptionLength) {
+        User owner = user();
+        String description = "Melhor costela da cidade! ".repeat(Math.max(1, descriptionLength / 26));
+        List<Restaurant> restaurants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Restaurant restaurant = new Restaurant("Restaurant " + i, description, "Street " + i, i % 5 + 1, owner);
+            restaurant.setId((long) i + 1);
+            ReflectionTestUtils.setField(restaurant, "createdAt", LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i));
+            restaurants.add(restaurant);
+        }
+        return restaurants;
+    }
+}
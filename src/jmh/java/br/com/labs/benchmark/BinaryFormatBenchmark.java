@@ -0,0 +1,106 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.model.Restaurant;
+import br.com.labs.serialization.ProtobufJacksonHttpMessageConverter;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and reads a {@code PagedModel<RestaurantResponse>}, the body of the binary listing endpoints, in
+ * each negotiable format. The encoded size of the page is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    @Param({"100", "4000"})
+    private int descriptionLength;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private PagedModel<RestaurantResponse> page;
+    private byte[] encoded;
+
+    public record RestaurantPage(List<RestaurantResponse> content, PagedModel.PageMetadata page) {}
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = mapper(switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            case "protobuf" -> new ProtobufFactory();
+            default -> throw new IllegalArgumentException(format);
+        });
+        writer = mapper.writer();
+        reader = mapper.readerFor(RestaurantPage.class);
+        if ("protobuf".equals(format)) {
+            ProtobufSchema schema = ProtobufJacksonHttpMessageConverter.loadSchema(
+                new ClassPathResource("proto/restaurants.proto").getInputStream()).forType("RestaurantPage");
+            writer = writer.with(schema);
+            reader = reader.with(schema);
+        }
+
+        List<Restaurant> restaurants = BenchmarkFixtures.restaurants(pageSize, descriptionLength);
+        page = new PagedModel<>(new PageImpl<>(restaurants, PageRequest.of(0, pageSize, Sort.by("createdAt")), 1_000)
+            .map(RestaurantResponse::fromEntity));
+        encoded = writer.writeValueAsBytes(page);
+        System.out.printf("%n%s pageSize=%d descriptionLength=%d: %d bytes%n", format, pageSize, descriptionLength, encoded.length);
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+            .factory(factory)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public RestaurantPage read() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.exception.GlobalExceptionHandler;
+import br.com.labs.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A flood of 404s through the exception handler, thrown {@code callDepth} frames below the catch site to
+ * stand in for the servlet, security and Spring MVC frames of a real request. {@code notFoundBaseline} is
+ * the previous path: a stack-capturing exception with a {@code String.format} message and a map body
+ * serialized per call. Compare {@code gc.alloc.rate.norm} and {@code gc.count} between the two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    @Param({"20", "150"})
+    private int callDepth;
+
+    private ObjectMapper objectMapper;
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry(), objectMapper);
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/restaurants/42");
+        servletRequest.addHeader(HttpHeaders.ACCEPT, "*/*");
+        request = new ServletWebRequest(servletRequest);
+    }
+
+    @Benchmark
+    public Object notFound() throws JsonProcessingException {
+        try {
+            throwAt(callDepth, () -> new ResourceNotFoundException("Restaurant", ++id));
+            return null;
+        } catch (ResourceNotFoundException ex) {
+            return body(handler.handleResourceNotFound(ex, request));
+        }
+    }
+
+    @Benchmark
+    public Object notFoundBaseline() throws JsonProcessingException {
+        try {
+            throwAt(callDepth, () -> new StackTracedNotFound("Restaurant", ++id));
+            return null;
+        } catch (StackTracedNotFound ex) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("timestamp", LocalDateTime.now());
+            body.put("status", HttpStatus.NOT_FOUND.value());
+            body.put("error", "Not Found");
+            body.put("message", ex.getMessage());
+            return objectMapper.writeValueAsBytes(body);
+        }
+    }
+
+    @Benchmark
+    public Object badCredentials() throws JsonProcessingException {
+        BadCredentialsException exception = new BadCredentialsException("Bad credentials");
+        return body(handler.handleBadCredentials(exception, request));
+    }
+
+    @Benchmark
+    public byte[] illegalArgument() throws JsonProcessingException {
+        IllegalArgumentException exception = new IllegalArgumentException("Email already registered");
+        return objectMapper.writeValueAsBytes(handler.handleIllegalArgument(exception).getBody());
+    }
+
+    // Pre-encoded bodies go out as they are; anything else is serialized like the JSON converter would
+    private Object body(ResponseEntity<Object> response) throws JsonProcessingException {
+        Object body = response.getBody();
+        return body instanceof byte[] ? body : objectMapper.writeValueAsBytes(body);
+    }
+
+    private static void throwAt(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        throwAt(depth - 1, exception);
+    }
+
+    private static final class StackTracedNotFound extends RuntimeException {
+
+        StackTracedNotFound(String resource, Long id) {
+            super(String.format("%s not found with id: %d", resource, id));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.dedup.MinHashIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duplicate lookup for a new restaurant against a catalog of random names and addresses, the check a
+ * {@code POST /api/restaurants} pays before it is created.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class MinHashIndexBenchmark {
+
+    private static final String[] WORDS = {"cantina", "sushi", "bistro", "grill", "pizzaria", "churrascaria",
+        "padaria", "cafe", "bar", "temakeria", "boteco", "cozinha", "casa", "forno", "sabor", "villa"};
+    private static final String[] STREETS = {"Rua Augusta", "Av. Paulista", "Rua Oscar Freire", "Rua da Consolação",
+        "Av. Brigadeiro Faria Lima", "Rua Haddock Lobo", "Rua Pamplona", "Av. Rebouças"};
+
+    @Param({"100000"})
+    private int restaurants;
+
+    private MinHashIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        index = new MinHashIndex();
+        for (long id = 1; id <= restaurants; id++) {
+            index.put(id, name(random), STREETS[random.nextInt(STREETS.length)] + ", " + random.nextInt(1, 3000));
+        }
+    }
+
+    @Benchmark
+    public List<MinHashIndex.Match> find() {
+        return index.find("Cantina Sabor da Villa", "Rua Augusta, 1200", 0.6, 5);
+    }
+
+    private static String name(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)] + ' ' + WORDS[random.nextInt(WORDS.length)] + ' '
+            + Long.toString(random.nextLong(1, 1L << 30), 36);
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.cache.RawJson;
+import br.com.labs.cache.RestaurantJsonCache;
+import br.com.labs.datasource.ReadYourWritesTracker;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.model.Restaurant;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Current serialization path versus responses assembled from {@link RestaurantJsonCache} hits. Run with
+ * the gc profiler (default {@code jmh.args}) to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestaurantJsonCacheBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    @Param({"100", "4000"})
+    private int descriptionLength;
+
+    private ObjectMapper objectMapper;
+    private RestaurantJsonCache cache;
+    private Restaurant restaurant;
+    private Page<RestaurantResponse> responsePage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        cache = new RestaurantJsonCache(objectMapper, new ReadYourWritesTracker(), new SimpleMeterRegistry(),
+            DataSize.ofMegabytes(64), Duration.ofHours(1), Duration.ofSeconds(5));
+        List<Restaurant> restaurants = BenchmarkFixtures.restaurants(pageSize, descriptionLength);
+        restaurant = restaurants.get(0);
+        responsePage = new PageImpl<>(restaurants, PageRequest.of(0, pageSize, Sort.by("createdAt")), 1_000)
+            .map(RestaurantResponse::fromEntity);
+        long generation = cache.generation();
+        responsePage.forEach(response -> cache.element(response, generation));
+    }
+
+    @Benchmark
+    public byte[] detailSerialized() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(RestaurantResponse.fromEntity(restaurant));
+    }
+
+    @Benchmark
+    public byte[] detailCached() {
+        return cache.get(restaurant.getId(), id -> RestaurantResponse.fromEntity(restaurant));
+    }
+
+    @Benchmark
+    public byte[] pageSerialized() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responsePage);
+    }
+
+    @Benchmark
+    public byte[] pageAssembled() throws JsonProcessingException {
+        long generation = cache.generation();
+        Page<RawJson> page = responsePage.map(response -> cache.element(response, generation));
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
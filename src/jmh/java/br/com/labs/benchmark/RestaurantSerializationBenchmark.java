@@ -0,0 +1,73 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.model.Restaurant;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestaurantSerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    @Param({"100", "4000"})
+    private int descriptionLength;
+
+    private ObjectMapper objectMapper;
+    private Restaurant restaurant;
+    private Page<Restaurant> entityPage;
+    private Page<RestaurantResponse> responsePage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        List<Restaurant> restaurants = BenchmarkFixtures.restaurants(pageSize, descriptionLength);
+        restaurant = restaurants.get(0);
+        entityPage = new PageImpl<>(restaurants, PageRequest.of(0, pageSize, Sort.by("createdAt")), 1_000);
+        responsePage = entityPage.map(RestaurantResponse::fromEntity);
+    }
+
+    @Benchmark
+    public RestaurantResponse fromEntity() {
+        return RestaurantResponse.fromEntity(restaurant);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(RestaurantResponse.fromEntity(restaurant));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responsePage);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entityPage.map(RestaurantResponse::fromEntity));
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.labs.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files (for example one per commit) and prints the relative change of
+ * every benchmark score, plus the normalized allocation rate when the gc profiler was enabled.
+ * Exits with status 1 when any score regresses by more than {@code --threshold} percent.
+ */
+public final class ResultComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private ResultComparison() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: ResultComparison <baseline.json> <candidate.json> [--threshold=5]");
+            System.exit(2);
+        }
+        double threshold = 5.0;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("--threshold=")) {
+                threshold = Double.parseDouble(args[i].substring("--threshold=".length()));
+            }
+        }
+
+        Map<String, JsonNode> baseline = read(Path.of(args[0]));
+        Map<String, JsonNode> candidate = read(Path.of(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-90s %14s %14s %9s %12s%n", "benchmark", "baseline", "candidate", "change", "alloc B/op");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            String allocation = allocation(after);
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s %12s%n", entry.getKey(), "-", afterScore, "new", allocation);
+                continue;
+            }
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double change = (afterScore - beforeScore) / beforeScore * 100.0;
+            boolean higherIsBetter = unit.startsWith("ops/");
+            double regression = higherIsBetter ? -change : change;
+            if (regression > threshold) {
+                regressed = true;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %12s%s%n",
+                entry.getKey(), beforeScore, afterScore, change, allocation, regression > threshold ? "  REGRESSION" : "");
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    private static Map<String, JsonNode> read(Path path) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(path.toFile());
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : root) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+        return metric.isMissingNode() ? "-" : String.format("%.0f", metric.path("score").asDouble());
+    }
+}
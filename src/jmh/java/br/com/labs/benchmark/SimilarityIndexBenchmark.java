@@ -0,0 +1,80 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.recommendation.SimilarityIndex;
+import br.com.labs.recommendation.SimilarityIndex.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full build of the similar-restaurants index over a synthetic corpus whose word frequencies follow a Zipf
+ * curve, like real descriptions. {@code parallelism = 0} uses every available core; compare it with 1 to
+ * see how the build scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SimilarityIndexBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int WORDS_PER_RESTAURANT = 40;
+
+    @Param({"100000"})
+    private int restaurants;
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private List<Document> documents;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        double[] cumulative = new double[VOCABULARY];
+        double total = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+        documents = new ArrayList<>(restaurants);
+        for (int id = 1; id <= restaurants; id++) {
+            StringBuilder text = new StringBuilder("Restaurant ").append(id);
+            for (int word = 0; word < WORDS_PER_RESTAURANT; word++) {
+                int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                text.append(" word").append(rank < 0 ? -rank - 1 : rank);
+            }
+            documents.add(new Document(id, "Restaurant " + id, text.toString()));
+        }
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public SimilarityIndex build() {
+        return SimilarityIndex.build(documents, 10, 0.1, pool);
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.labs.load;
+
+import br.com.labs.MyBestRestaurantsApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the application on a random port, against {@code load.database-url} when given or a throwaway
+ * PostgreSQL container otherwise. Only the container's schema is created and dropped with the run.
+ */
+public final class ApplicationUnderTest implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> postgres;
+    private final ConfigurableApplicationContext context;
+    private final URI baseUri;
+
+    private ApplicationUnderTest(PostgreSQLContainer<?> postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+        Integer port = context.getEnvironment().getProperty("local.server.port", Integer.class);
+        this.baseUri = URI.create("http://localhost:" + port);
+    }
+
+    public static ApplicationUnderTest start(Map<String, String> properties) {
+        PostgreSQLContainer<?> postgres = null;
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=0");
+        // Shed requests would be fast 503s in the latencies; measure the application, not the limiter, unless asked
+        args.add("--app.concurrency-limit.enabled=" + System.getProperty("load.concurrency-limit", "false"));
+
+        String databaseUrl = System.getProperty("load.database-url", "");
+        if (databaseUrl.isBlank()) {
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+                .withDatabaseName("restaurants_load")
+                .withUsername("load")
+                .withPassword("load");
+            postgres.start();
+            args.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+            args.add("--spring.datasource.url=" + postgres.getJdbcUrl());
+            args.add("--spring.datasource.username=" + postgres.getUsername());
+            args.add("--spring.datasource.password=" + postgres.getPassword());
+        } else {
+            args.add("--spring.datasource.url=" + databaseUrl);
+            args.add("--spring.datasource.username=" + System.getProperty("load.database-username", "postgres"));
+            args.add("--spring.datasource.password=" + System.getProperty("load.database-password", "postgres"));
+            // A database we did not create keeps the application's own ddl-auto unless the caller asks otherwise
+            String ddlAuto = System.getProperty("load.database-ddl-auto", "");
+            if (!ddlAuto.isBlank()) {
+                args.add("--spring.jpa.hibernate.ddl-auto=" + ddlAuto);
+            }
+        }
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MyBestRestaurantsApplication.class)
+            .run(args.toArray(String[]::new));
+        return new ApplicationUnderTest(postgres, context);
+    }
+
+    public URI baseUri() {
+        return baseUri;
+    }
+
+    public URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+}
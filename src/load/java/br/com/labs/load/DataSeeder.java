@@ -0,0 +1,85 @@
+package br.com.labs.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seeds users and restaurants with set-based SQL straight into the application's database, so large
+ * data sets don't pay one BCrypt hash and one HTTP round trip per row. Every user shares the same
+ * password, hashed once with the application's own encoder. Rows left by an earlier seed are removed
+ * first, so an external database can be seeded run after run.
+ */
+public final class DataSeeder {
+
+    public static final String PASSWORD = "password123";
+    private static final String EMAIL_PREFIX = "load-user-";
+    private static final String EMAIL_SUFFIX = "@test.com";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    public DataSeeder(ApplicationUnderTest app) {
+        this.jdbcTemplate = app.context().getBean(JdbcTemplate.class);
+        this.passwordEncoder = app.context().getBean(PasswordEncoder.class);
+    }
+
+    public SeedData seed(int users, int restaurants, int descriptionRepeats) {
+        removePreviousSeed();
+        String hash = passwordEncoder.encode(PASSWORD);
+        jdbcTemplate.update("""
+            INSERT INTO users (name, email, password, created_at)
+            SELECT 'Load User ' || g, ? || g || ?, ?, now()
+            FROM generate_series(1, ?) g
+            """, EMAIL_PREFIX, EMAIL_SUFFIX, hash, users);
+        jdbcTemplate.update("INSERT INTO roles (name) VALUES ('ROLE_USER') ON CONFLICT (name) DO NOTHING");
+        jdbcTemplate.update("""
+            INSERT INTO users_roles (user_id, role_id)
+            SELECT u.id, r.id FROM users u CROSS JOIN roles r
+            WHERE r.name = 'ROLE_USER' AND u.email LIKE ?
+            """, EMAIL_PREFIX + "%");
+        jdbcTemplate.update("""
+            INSERT INTO restaurants (name, description, location, rating, created_by, created_at)
+            SELECT 'Restaurant ' || g, repeat('Seeded for load testing. ', ?), 'Street ' || g, g % 5 + 1, u.id,
+                   now() - make_interval(mins => g)
+            FROM generate_series(1, ?) g
+            JOIN users u ON u.email = ? || (g % ? + 1) || ?
+            """, descriptionRepeats, restaurants, EMAIL_PREFIX, users, EMAIL_SUFFIX);
+
+        Map<Long, String> emails = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, email FROM users WHERE email LIKE ? ORDER BY id",
+            rs -> { emails.put(rs.getLong("id"), rs.getString("email")); }, EMAIL_PREFIX + "%");
+
+        Map<Long, List<Long>> restaurantsByOwner = new LinkedHashMap<>();
+        List<Long> restaurantIds = new ArrayList<>(restaurants);
+        jdbcTemplate.query("""
+            SELECT r.id, r.created_by FROM restaurants r JOIN users u ON u.id = r.created_by
+            WHERE u.email LIKE ? ORDER BY r.id
+            """, rs -> {
+                long id = rs.getLong("id");
+                restaurantIds.add(id);
+                restaurantsByOwner.computeIfAbsent(rs.getLong("created_by"), owner -> new ArrayList<>()).add(id);
+            }, EMAIL_PREFIX + "%");
+
+        return new SeedData(emails, restaurantIds, restaurantsByOwner);
+    }
+
+    private void removePreviousSeed() {
+        String seededUsers = "SELECT id FROM users WHERE email LIKE ?";
+        String seededRestaurants = "SELECT id FROM restaurants WHERE created_by IN (" + seededUsers + ")";
+        String pattern = EMAIL_PREFIX + "%";
+        jdbcTemplate.update("DELETE FROM reviews WHERE user_id IN (" + seededUsers + ") OR restaurant_id IN ("
+            + seededRestaurants + ")", pattern, pattern);
+        jdbcTemplate.update("DELETE FROM restaurant_photos WHERE restaurant_id IN (" + seededRestaurants + ")", pattern);
+        jdbcTemplate.update("DELETE FROM restaurant_view_counts WHERE restaurant_id IN (" + seededRestaurants + ")", pattern);
+        jdbcTemplate.update("DELETE FROM restaurants WHERE created_by IN (" + seededUsers + ")", pattern);
+        jdbcTemplate.update("DELETE FROM users_roles WHERE user_id IN (" + seededUsers + ")", pattern);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", pattern);
+    }
+
+    public record SeedData(Map<Long, String> emailsById, List<Long> restaurantIds, Map<Long, List<Long>> restaurantsByOwner) {}
+}
@@ -0,0 +1,141 @@
+package br.com.labs.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Closed-loop load generator: each worker sends a request, waits for the response and immediately sends
+ * the next one. Workers are virtual threads so the client side never limits the tested concurrency.
+ * Latencies are recorded per endpoint in HdrHistograms.
+ */
+public final class LoadDriver {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final HttpClient client;
+
+    public LoadDriver() {
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    public HttpClient client() {
+        return client;
+    }
+
+    public Result run(int concurrency, Duration warmup, Duration duration, Scenario scenario) throws InterruptedException {
+        drive(concurrency, warmup, scenario, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+        Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+        Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        long started = System.nanoTime();
+        drive(concurrency, duration, scenario, recorders, errors);
+        long elapsed = System.nanoTime() - started;
+
+        Map<String, EndpointStats> endpoints = new TreeMap<>();
+        recorders.forEach((endpoint, recorder) -> endpoints.put(endpoint, new EndpointStats(
+            recorder.getIntervalHistogram(),
+            errors.getOrDefault(endpoint, new LongAdder()).sum())));
+        return new Result(concurrency, endpoints, elapsed);
+    }
+
+    private void drive(int concurrency, Duration duration, Scenario scenario,
+                       Map<String, Recorder> recorders, Map<String, LongAdder> errors) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Call call = scenario.next();
+                        long start = System.nanoTime();
+                        boolean failed;
+                        try {
+                            if (call.onSuccess() == null) {
+                                failed = client.send(call.request(), HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+                            } else {
+                                HttpResponse<String> response = client.send(call.request(), HttpResponse.BodyHandlers.ofString());
+                                failed = response.statusCode() >= 400;
+                                if (!failed) {
+                                    call.onSuccess().accept(response.body());
+                                }
+                            }
+                        } catch (Exception e) {
+                            failed = true;
+                        }
+                        long latency = Math.min(System.nanoTime() - start, MAX_LATENCY_NANOS);
+                        recorders.computeIfAbsent(call.endpoint(), key -> new Recorder(MAX_LATENCY_NANOS, 3))
+                            .recordValue(latency);
+                        if (failed) {
+                            errors.computeIfAbsent(call.endpoint(), key -> new LongAdder()).increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Load worker failed", e.getCause());
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scenario {
+        Call next();
+    }
+
+    public record Call(String endpoint, HttpRequest request, Consumer<String> onSuccess) {
+
+        public Call(String endpoint, HttpRequest request) {
+            this(endpoint, request, null);
+        }
+    }
+
+    public record EndpointStats(Histogram latencies, long errors) {
+
+        public double percentileMillis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1_000_000.0;
+        }
+    }
+
+    public record Result(int concurrency, Map<String, EndpointStats> endpoints, long elapsedNanos) {
+
+        public EndpointStats total() {
+            Histogram merged = new Histogram(MAX_LATENCY_NANOS, 3);
+            long errors = 0;
+            for (EndpointStats stats : endpoints.values()) {
+                merged.add(stats.latencies());
+                errors += stats.errors();
+            }
+            return new EndpointStats(merged, errors);
+        }
+
+        public double throughput(EndpointStats stats) {
+            return stats.latencies().getTotalCount() / (elapsedNanos / 1_000_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.labs.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test: boots the application, seeds {@code load.users} users and {@code load.restaurants}
+ * restaurants, logs in {@code load.sessions} of them and replays the {@code load.mix} (or {@code load.replay})
+ * workload at every level in {@code load.concurrency}. Writes a per-endpoint CSV summary and one HdrHistogram
+ * percentile distribution ({@code .hgrm}, milliseconds) per endpoint and level to {@code load.output-dir}.
+ */
+public final class LoadTestRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private LoadTestRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("load.concurrency", "16,64,256").split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+        Duration warmup = Duration.parse("PT" + System.getProperty("load.warmup", "10s"));
+        Duration duration = Duration.parse("PT" + System.getProperty("load.duration", "30s"));
+        int users = Integer.getInteger("load.users", 100);
+        int restaurants = Integer.getInteger("load.restaurants", 1000);
+        int sessionCount = Integer.getInteger("load.sessions", 20);
+        String mix = System.getProperty("load.mix", "login:5,list:35,detail:45,create:5,update:5,delete:5");
+        String replay = System.getProperty("load.replay", "");
+        Path outputDir = Path.of(System.getProperty("load.output-dir", "target/load"));
+        Files.createDirectories(outputDir);
+
+        try (ApplicationUnderTest app = ApplicationUnderTest.start(Map.of())) {
+            DataSeeder.SeedData data = new DataSeeder(app).seed(users, restaurants, 8);
+            LoadDriver driver = new LoadDriver();
+            List<MixedWorkload.Session> sessions = login(driver, app, data, sessionCount);
+            MixedWorkload workload = new MixedWorkload(app, data, sessions, mix, replay.isBlank() ? null : Path.of(replay));
+
+            List<String> rows = new ArrayList<>();
+            rows.add("concurrency,endpoint,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+            for (int concurrency : concurrencyLevels) {
+                LoadDriver.Result result = driver.run(concurrency, warmup, duration, workload);
+                System.out.printf("%nconcurrency=%d%n%-8s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                    concurrency, "endpoint", "requests", "errors", "rps", "p50", "p90", "p99", "p99.9", "max");
+                result.endpoints().forEach((endpoint, stats) -> rows.add(report(result, endpoint, stats)));
+                rows.add(report(result, "total", result.total()));
+                for (Map.Entry<String, LoadDriver.EndpointStats> entry : result.endpoints().entrySet()) {
+                    Path histogram = outputDir.resolve("c" + concurrency + "-" + entry.getKey() + ".hgrm");
+                    try (PrintStream out = new PrintStream(Files.newOutputStream(histogram))) {
+                        entry.getValue().latencies().outputPercentileDistribution(out, 1_000_000.0);
+                    }
+                }
+            }
+
+            Path summary = outputDir.resolve("load-report.csv");
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(summary))) {
+                rows.forEach(writer::println);
+            }
+            System.out.println("Results written to " + outputDir.toAbsolutePath());
+        }
+    }
+
+    private static String report(LoadDriver.Result result, String endpoint, LoadDriver.EndpointStats stats) {
+        double throughput = result.throughput(stats);
+        double max = stats.latencies().getMaxValue() / 1_000_000.0;
+        System.out.printf("%-8s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+            endpoint, stats.latencies().getTotalCount(), stats.errors(), throughput,
+            stats.percentileMillis(50), stats.percentileMillis(90), stats.percentileMillis(99),
+            stats.percentileMillis(99.9), max);
+        return String.format("%d,%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f",
+            result.concurrency(), endpoint, stats.latencies().getTotalCount(), stats.errors(), throughput,
+            stats.percentileMillis(50), stats.percentileMillis(90), stats.percentileMillis(99),
+            stats.percentileMillis(99.9), max);
+    }
+
+    private static List<MixedWorkload.Session> login(LoadDriver driver, ApplicationUnderTest app,
+                                                     DataSeeder.SeedData data, int count) throws IOException, InterruptedException {
+        List<MixedWorkload.Session> sessions = new ArrayList<>(count);
+        for (Map.Entry<Long, String> user : data.emailsById().entrySet()) {
+            if (sessions.size() == count) {
+                break;
+            }
+            String credentials = "{\"email\":\"" + user.getValue() + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}";
+            HttpResponse<String> response = driver.client().send(HttpRequest.newBuilder(app.uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials))
+                .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seed user login failed: " + response.body());
+            }
+            sessions.add(new MixedWorkload.Session(user.getKey(), MAPPER.readTree(response.body()).path("token").asText()));
+        }
+        return sessions;
+    }
+}
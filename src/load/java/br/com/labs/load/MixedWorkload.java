@@ -0,0 +1,164 @@
+package br.com.labs.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request mix over login, list, detail, create, update and delete. Operations are drawn either at random
+ * from weights such as {@code login:5,list:35,detail:45,create:5,update:5,delete:5} or, when a replay file
+ * is given, in order from a JSON Lines file with one operation per line, e.g.
+ * {@code {"op":"detail","id":42}} or {@code {"op":"list","page":3,"size":20}}.
+ */
+public final class MixedWorkload implements LoadDriver.Scenario {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ApplicationUnderTest app;
+    private final DataSeeder.SeedData data;
+    private final List<Session> sessions;
+    private final List<String> emails;
+    private final String[] weightedOps;
+    private final List<JsonNode> replay;
+    private final AtomicLong replayCursor = new AtomicLong();
+    private final AtomicLong createdCounter = new AtomicLong();
+
+    public MixedWorkload(ApplicationUnderTest app, DataSeeder.SeedData data, List<Session> sessions,
+                         String mix, Path replayFile) throws IOException {
+        this.app = app;
+        this.data = data;
+        this.sessions = sessions;
+        this.emails = List.copyOf(data.emailsById().values());
+        this.weightedOps = expandWeights(mix);
+        this.replay = replayFile == null ? List.of() : readReplay(replayFile);
+    }
+
+    @Override
+    public LoadDriver.Call next() {
+        if (!replay.isEmpty()) {
+            JsonNode line = replay.get((int) (replayCursor.getAndIncrement() % replay.size()));
+            return call(line.path("op").asText(), line);
+        }
+        String op = weightedOps[ThreadLocalRandom.current().nextInt(weightedOps.length)];
+        return call(op, MAPPER.createObjectNode());
+    }
+
+    private LoadDriver.Call call(String op, JsonNode args) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Session session = sessions.get(random.nextInt(sessions.size()));
+        return switch (op) {
+            case "login" -> {
+                String email = args.path("email").asText(emails.get(random.nextInt(emails.size())));
+                String credentials = "{\"email\":\"" + email + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}";
+                yield new LoadDriver.Call("login", json(app.uri("/api/auth/login")).POST(body(credentials)).build());
+            }
+            case "list" -> {
+                int page = args.path("page").asInt(random.nextInt(5));
+                int size = args.path("size").asInt(10);
+                yield new LoadDriver.Call("list", HttpRequest.newBuilder(
+                    app.uri("/api/restaurants?page=" + page + "&size=" + size)).GET().build());
+            }
+            case "detail" -> {
+                long id = args.path("id").asLong(data.restaurantIds().get(random.nextInt(data.restaurantIds().size())));
+                yield new LoadDriver.Call("detail", HttpRequest.newBuilder(app.uri("/api/restaurants/" + id)).GET().build());
+            }
+            case "create" -> create(session);
+            case "update" -> {
+                List<Long> owned = data.restaurantsByOwner().getOrDefault(session.userId(), List.of());
+                if (owned.isEmpty()) {
+                    yield create(session);
+                }
+                long id = args.path("id").asLong(owned.get(random.nextInt(owned.size())));
+                yield new LoadDriver.Call("update", authorized(json(app.uri("/api/restaurants/" + id)), session)
+                    .PUT(body(restaurantBody("Updated " + id))).build());
+            }
+            case "delete" -> {
+                Long id = session.created().pollFirst();
+                if (id == null) {
+                    yield create(session);
+                }
+                yield new LoadDriver.Call("delete", authorized(HttpRequest.newBuilder(app.uri("/api/restaurants/" + id)), session)
+                    .DELETE().build());
+            }
+            default -> throw new IllegalArgumentException("Unknown load operation: " + op);
+        };
+    }
+
+    private LoadDriver.Call create(Session session) {
+        String body = restaurantBody("Load " + createdCounter.incrementAndGet());
+        return new LoadDriver.Call("create",
+            authorized(json(app.uri("/api/restaurants")), session).POST(body(body)).build(),
+            response -> session.created().addLast(readId(response)));
+    }
+
+    private static String restaurantBody(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"Created during load test\",\"location\":\"Somewhere\",\"rating\":4}";
+    }
+
+    private static HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri).header("Content-Type", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher body(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+
+    private static HttpRequest.Builder authorized(HttpRequest.Builder builder, Session session) {
+        return builder.header("Authorization", "Bearer " + session.token());
+    }
+
+    private static long readId(String response) {
+        try {
+            return MAPPER.readTree(response).path("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected create response: " + response, e);
+        }
+    }
+
+    private static String[] expandWeights(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        List<String> ops = new ArrayList<>();
+        weights.forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                ops.add(op);
+            }
+        });
+        if (ops.isEmpty()) {
+            throw new IllegalArgumentException("Load mix has no operations: " + mix);
+        }
+        return ops.toArray(String[]::new);
+    }
+
+    private static List<JsonNode> readReplay(Path file) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            if (!line.isBlank()) {
+                lines.add(MAPPER.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    public record Session(long userId, String token, ConcurrentLinkedDeque<Long> created) {
+
+        public Session(long userId, String token) {
+            this(userId, token, new ConcurrentLinkedDeque<>());
+        }
+    }
+}
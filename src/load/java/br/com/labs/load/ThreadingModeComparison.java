@@ -0,0 +1,86 @@
+package br.com.labs.load;
+
+import java.io.PrintWriter;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Boots the application once with platform threads and once with virtual threads and drives the same
+ * request mix (listing, detail and BCrypt login) at each concurrency level in {@code load.concurrency}.
+ * Results are printed and written as CSV to {@code load.output}.
+ */
+public final class ThreadingModeComparison {
+
+    private ThreadingModeComparison() {}
+
+    public static void main(String[] args) throws Exception {
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("load.concurrency", "16,64,256").split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+        Duration warmup = Duration.parse("PT" + System.getProperty("load.warmup", "10s"));
+        Duration duration = Duration.parse("PT" + System.getProperty("load.duration", "30s"));
+        int restaurants = Integer.getInteger("load.restaurants", 200);
+        Path output = Path.of(System.getProperty("load.output", "target/load/threading-comparison.csv"));
+
+        List<String> rows = new ArrayList<>();
+        rows.add("mode,concurrency,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms");
+
+        for (boolean virtualThreads : new boolean[] {false, true}) {
+            String mode = virtualThreads ? "virtual" : "platform";
+            try (ApplicationUnderTest app = ApplicationUnderTest.start(
+                    Map.of("spring.threads.virtual.enabled", Boolean.toString(virtualThreads)))) {
+                LoadDriver driver = new LoadDriver();
+                DataSeeder.SeedData data = new DataSeeder(app).seed(10, restaurants, 8);
+                List<Long> ids = data.restaurantIds();
+                String credentials = "{\"email\":\"" + data.emailsById().values().iterator().next()
+                    + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}";
+
+                for (int concurrency : concurrencyLevels) {
+                    LoadDriver.Result result = driver.run(concurrency, warmup, duration, () -> nextCall(app, ids, credentials));
+                    LoadDriver.EndpointStats total = result.total();
+                    String row = String.format("%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f",
+                        mode,
+                        concurrency,
+                        total.latencies().getTotalCount(),
+                        total.errors(),
+                        result.throughput(total),
+                        total.percentileMillis(50),
+                        total.percentileMillis(99),
+                        total.latencies().getMaxValue() / 1_000_000.0);
+                    System.out.println(row);
+                    rows.add(row);
+                }
+            }
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(output))) {
+            rows.forEach(writer::println);
+        }
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    private static LoadDriver.Call nextCall(ApplicationUnderTest app, List<Long> ids, String credentials) {
+        int dice = ThreadLocalRandom.current().nextInt(100);
+        if (dice < 45) {
+            return new LoadDriver.Call("list",
+                HttpRequest.newBuilder(app.uri("/api/restaurants?page=" + ThreadLocalRandom.current().nextInt(5))).GET().build());
+        }
+        if (dice < 90) {
+            Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            return new LoadDriver.Call("detail", HttpRequest.newBuilder(app.uri("/api/restaurants/" + id)).GET().build());
+        }
+        return new LoadDriver.Call("login", HttpRequest.newBuilder(app.uri("/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(credentials))
+            .build());
+    }
+}
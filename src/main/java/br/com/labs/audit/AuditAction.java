@@ -0,0 +1,34 @@
+package br.com.labs.audit;
+
+/**
+ * What an audit record is about. The code is what goes to disk, so an action keeps its code forever.
+ */
+public enum AuditAction {
+
+    RESTAURANT_CREATED(1),
+    RESTAURANT_UPDATED(2),
+    RESTAURANT_DELETED(3),
+    LOGIN_SUCCEEDED(4),
+    LOGIN_FAILED(5),
+    RESTAURANT_HIDDEN(6),
+    RESTAURANT_UNHIDDEN(7);
+
+    private final byte code;
+
+    AuditAction(int code) {
+        this.code = (byte) code;
+    }
+
+    byte code() {
+        return code;
+    }
+
+    static AuditAction fromCode(byte code) {
+        for (AuditAction action : values()) {
+            if (action.code == code) {
+                return action;
+            }
+        }
+        throw new IllegalArgumentException("Unknown audit action code " + code);
+    }
+}
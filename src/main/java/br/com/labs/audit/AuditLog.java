@@ -0,0 +1,384 @@
+package br.com.labs.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only audit trail in fixed-size segment files mapped into memory. An append is a copy into the
+ * mapping under a lock, visible to readers at once and safe from a process crash as soon as it returns;
+ * {@link #flush()} forces what was appended since the last flush to disk every
+ * {@code app.audit.flush-interval}, so an OS crash loses at most that much. A full segment is forced and
+ * the next one created; segments whose records are all older than the retention are deleted.
+ *
+ * <p>A segment starts with a header (magic, version, creation time). Each record is its payload length, the
+ * CRC32C of its payload, then the payload: timestamp, action code, user id, target id (0 when absent), and
+ * a length-prefixed UTF-8 detail of at most {@value #MAX_DETAIL} bytes, 34 bytes plus the detail. A zero
+ * length marks the end; so does a bad checksum, which is how a record torn by a crash is dropped on restart.
+ */
+public class AuditLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    static final int MAGIC = 0x41554454;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int MAX_DETAIL = 255;
+
+    private static final int RECORD_HEADER = 8;
+    private static final int FIXED_PAYLOAD = 8 + 1 + 8 + 8 + 1;
+    private static final int MIN_SEGMENT_SIZE = 4096;
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration retention;
+    private final Clock clock;
+    private final Counter appended;
+    private final Counter failed;
+    private final Timer flushTimer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private Segment active;
+
+    private static final class Segment {
+        final long sequence;
+        final long createdAt;
+        final MappedByteBuffer buffer;
+        volatile int committed;
+        int flushed;
+
+        Segment(long sequence, long createdAt, MappedByteBuffer buffer, int committed) {
+            this.sequence = sequence;
+            this.createdAt = createdAt;
+            this.buffer = buffer;
+            this.committed = committed;
+            this.flushed = committed;
+        }
+    }
+
+    public AuditLog(Path directory, int segmentSize, Duration retention, Clock clock, MeterRegistry meterRegistry)
+            throws IOException {
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Audit segments must be at least " + MIN_SEGMENT_SIZE + " bytes");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.retention = retention;
+        this.clock = clock;
+        this.appended = meterRegistry.counter("audit.records");
+        this.failed = meterRegistry.counter("audit.records.failed");
+        this.flushTimer = meterRegistry.timer("audit.flush");
+
+        List<Path> segments = segmentFiles();
+        this.active = segments.isEmpty()
+            ? create(1, clock.millis())
+            : recover(segments.getLast());
+        deleteExpired();
+    }
+
+    /**
+     * Appends the record once the surrounding transaction commits, or now when there is none, so a
+     * rolled-back change leaves no trace. Never throws: a failure is logged and counted.
+     */
+    public void record(AuditAction action, Long userId, Long targetId, String detail) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    appendQuietly(action, userId, targetId, detail);
+                }
+            });
+        } else {
+            appendQuietly(action, userId, targetId, detail);
+        }
+    }
+
+    public void append(AuditAction action, Long userId, Long targetId, String detail) throws IOException {
+        byte[] detailBytes = encode(detail);
+        int payload = FIXED_PAYLOAD + detailBytes.length;
+        lock.lock();
+        try {
+            long now = clock.millis();
+            if (active.committed + RECORD_HEADER + payload > segmentSize) {
+                roll(now);
+            }
+            ByteBuffer buffer = active.buffer;
+            int position = active.committed;
+            int at = position + RECORD_HEADER;
+            buffer.putLong(at, now);
+            buffer.put(at + 8, action.code());
+            buffer.putLong(at + 9, userId == null ? 0 : userId);
+            buffer.putLong(at + 17, targetId == null ? 0 : targetId);
+            buffer.put(at + 25, (byte) detailBytes.length);
+            buffer.put(at + 26, detailBytes);
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(at, payload));
+            buffer.putInt(position + 4, (int) crc.getValue());
+            buffer.putInt(position, payload);
+            active.committed = at + payload;
+        } finally {
+            lock.unlock();
+        }
+        appended.increment();
+    }
+
+    /**
+     * Records between {@code from} and {@code to} inclusive, by {@code userId} when given, oldest first.
+     * Either bound may be {@code null}. Only segments whose lifetime overlaps the range are scanned.
+     */
+    public List<AuditRecord> read(Instant from, Instant to, Long userId, int limit) throws IOException {
+        long start = from == null ? Long.MIN_VALUE : from.toEpochMilli();
+        long end = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+        Segment current;
+        int committed;
+        lock.lock();
+        try {
+            current = active;
+            committed = current.committed;
+        } finally {
+            lock.unlock();
+        }
+
+        List<AuditRecord> records = new ArrayList<>();
+        List<Path> files = segmentFiles();
+        for (int i = 0; i < files.size() && records.size() < limit; i++) {
+            long sequence = sequence(files.get(i));
+            if (sequence > current.sequence) {
+                break;
+            }
+            try {
+                ByteBuffer buffer;
+                int limitPosition;
+                if (sequence == current.sequence) {
+                    buffer = current.buffer.duplicate();
+                    limitPosition = committed;
+                } else {
+                    buffer = map(files.get(i), FileChannel.MapMode.READ_ONLY);
+                    limitPosition = buffer.capacity();
+                }
+                long createdAt = buffer.getLong(8);
+                long nextCreatedAt = i + 1 < files.size() ? createdAt(files.get(i + 1)) : Long.MAX_VALUE;
+                if (createdAt > end || nextCreatedAt < start) {
+                    continue;
+                }
+                scan(buffer, limitPosition, record -> {
+                    long timestamp = record.timestamp().toEpochMilli();
+                    if (timestamp >= start && timestamp <= end && (userId == null || userId.equals(record.userId()))) {
+                        records.add(record);
+                    }
+                    return records.size() < limit;
+                });
+            } catch (NoSuchFileException e) {
+                // Deleted by retention while being read
+            }
+        }
+        return records;
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.flush-interval:1s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Segment segment;
+            lock.lock();
+            try {
+                segment = active;
+            } finally {
+                lock.unlock();
+            }
+            int from = segment.flushed;
+            int to = segment.committed;
+            if (to > from) {
+                flushTimer.record(() -> segment.buffer.force(from, to - from));
+                segment.flushed = to;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            active.buffer.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void appendQuietly(AuditAction action, Long userId, Long targetId, String detail) {
+        try {
+            append(action, userId, targetId, detail);
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.error("Could not write audit record {} user={} target={}", action, userId, targetId, e);
+        }
+    }
+
+    private void roll(long now) throws IOException {
+        active.buffer.force();
+        active = create(active.sequence + 1, now);
+        deleteExpired();
+    }
+
+    private Segment create(long sequence, long now) throws IOException {
+        Path file = directory.resolve(PREFIX + "%020d".formatted(sequence) + SUFFIX);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        writeHeader(buffer, now);
+        return new Segment(sequence, now, buffer, HEADER_SIZE);
+    }
+
+    // Continues the last segment after its last intact record; a segment whose header never made it to
+    // disk is started over
+    private Segment recover(Path file) throws IOException {
+        MappedByteBuffer buffer = map(file, FileChannel.MapMode.READ_WRITE);
+        if (buffer.capacity() < HEADER_SIZE + RECORD_HEADER + FIXED_PAYLOAD) {
+            throw new IOException("Audit segment " + file + " is too small to continue");
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            writeHeader(buffer, clock.millis());
+        }
+        int end = scan(buffer, buffer.capacity(), record -> true);
+        log.info("Continuing audit segment {} at byte {}", file.getFileName(), end);
+        return new Segment(sequence(file), buffer.getLong(8), buffer, end);
+    }
+
+    private void deleteExpired() throws IOException {
+        long cutoff = clock.millis() - retention.toMillis();
+        List<Path> files = segmentFiles();
+        // A segment only holds records older than the next one's creation
+        for (int i = 0; i + 1 < files.size() && sequence(files.get(i)) < active.sequence; i++) {
+            if (createdAt(files.get(i + 1)) < cutoff) {
+                Files.deleteIfExists(files.get(i));
+                log.info("Deleted expired audit segment {}", files.get(i).getFileName());
+            }
+        }
+    }
+
+    /**
+     * Walks the records from the header on and returns where the last intact one ends.
+     */
+    static int scan(ByteBuffer buffer, int limit, RecordVisitor visitor) {
+        int position = HEADER_SIZE;
+        CRC32C crc = new CRC32C();
+        while (position + RECORD_HEADER + FIXED_PAYLOAD <= limit) {
+            int payload = buffer.getInt(position);
+            int at = position + RECORD_HEADER;
+            if (payload < FIXED_PAYLOAD || payload > limit - at) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(at, payload));
+            int detailLength = Byte.toUnsignedInt(buffer.get(at + 25));
+            if ((int) crc.getValue() != buffer.getInt(position + 4) || FIXED_PAYLOAD + detailLength != payload) {
+                break;
+            }
+            position = at + payload;
+            byte[] detail = new byte[detailLength];
+            buffer.get(at + 26, detail);
+            long userId = buffer.getLong(at + 9);
+            long targetId = buffer.getLong(at + 17);
+            AuditRecord record = new AuditRecord(
+                Instant.ofEpochMilli(buffer.getLong(at)),
+                AuditAction.fromCode(buffer.get(at + 8)),
+                userId == 0 ? null : userId,
+                targetId == 0 ? null : targetId,
+                detailLength == 0 ? null : new String(detail, StandardCharsets.UTF_8));
+            if (!visitor.visit(record)) {
+                break;
+            }
+        }
+        return position;
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        boolean visit(AuditRecord record);
+    }
+
+    private static void writeHeader(ByteBuffer buffer, long createdAt) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, createdAt);
+    }
+
+    // Cut on a character boundary, so a long detail still decodes
+    private static byte[] encode(String detail) {
+        if (detail == null) {
+            return new byte[0];
+        }
+        byte[] bytes = detail.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_DETAIL) {
+            return bytes;
+        }
+        int end = MAX_DETAIL;
+        while ((bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return Arrays.copyOf(bytes, end);
+    }
+
+    private static MappedByteBuffer map(Path file, FileChannel.MapMode mode) throws IOException {
+        boolean writable = mode == FileChannel.MapMode.READ_WRITE;
+        try (FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(mode, 0, channel.size());
+        }
+    }
+
+    private static long createdAt(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            return header.getInt(0) == MAGIC ? header.getLong(8) : Long.MAX_VALUE;
+        }
+    }
+
+    private static long sequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(file -> file.getFileName().toString().matches(PREFIX + "\\d{20}" + SUFFIX))
+                .sorted()
+                .toList();
+        }
+    }
+}
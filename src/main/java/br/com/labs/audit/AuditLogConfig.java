@@ -0,0 +1,20 @@
+package br.com.labs.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(AuditLogProperties.class)
+public class AuditLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public AuditLog auditLog(AuditLogProperties properties, MeterRegistry meterRegistry) throws IOException {
+        return new AuditLog(properties.directory(), Math.toIntExact(properties.segmentSize().toBytes()),
+            properties.retention(), Clock.systemUTC(), meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.labs.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.audit")
+public record AuditLogProperties(
+    @DefaultValue("data/audit") Path directory,
+    @DefaultValue("64MB") DataSize segmentSize,
+    @DefaultValue("1s") Duration flushInterval,
+    @DefaultValue("90d") Duration retention
+) {}
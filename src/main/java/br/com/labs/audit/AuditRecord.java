@@ -0,0 +1,9 @@
+package br.com.labs.audit;
+
+import java.time.Instant;
+
+/**
+ * One entry of the audit log. {@code userId} is who acted, if known; {@code targetId} the restaurant acted
+ * on; {@code detail} the email of a login attempt.
+ */
+public record AuditRecord(Instant timestamp, AuditAction action, Long userId, Long targetId, String detail) {}
@@ -0,0 +1,28 @@
+package br.com.labs.batch;
+
+import br.com.labs.cache.RestaurantJsonCache;
+import br.com.labs.dedup.DuplicateDetector;
+import br.com.labs.popularity.RestaurantViewCounter;
+import br.com.labs.service.RestaurantService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public BatchExecutor batchExecutor(RestaurantService restaurantService,
+                                       RestaurantJsonCache restaurantJsonCache,
+                                       RestaurantViewCounter restaurantViewCounter,
+                                       DuplicateDetector duplicateDetector,
+                                       PlatformTransactionManager transactionManager,
+                                       BatchProperties properties,
+                                       MeterRegistry meterRegistry) {
+        return new BatchExecutor(restaurantService, restaurantJsonCache, restaurantViewCounter, duplicateDetector,
+            transactionManager, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,302 @@
+package br.com.labs.batch;
+
+import br.com.labs.cache.RawJson;
+import br.com.labs.cache.RestaurantJsonCache;
+import br.com.labs.cache.RestaurantListingCache;
+import br.com.labs.dedup.DuplicateDetector;
+import br.com.labs.dto.request.BatchOperation;
+import br.com.labs.dto.request.BatchRequest;
+import br.com.labs.dto.response.BatchOperationResult;
+import br.com.labs.dto.response.BatchResponse;
+import br.com.labs.dto.response.DuplicateResponse;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.exception.DuplicateRestaurantException;
+import br.com.labs.exception.GlobalExceptionHandler;
+import br.com.labs.exception.ResourceNotFoundException;
+import br.com.labs.model.User;
+import br.com.labs.popularity.RestaurantViewCounter;
+import br.com.labs.service.RestaurantService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the operations of a batch request through the same services, caches and checks as the restaurant
+ * endpoints, with the principal resolved once for the whole batch. Consecutive reads run concurrently, at most
+ * {@code read-concurrency} of them per batch on a shared pool; the request thread takes part and runs the rest
+ * itself when the pool is busy. A write waits for every operation before it, so each operation sees the writes
+ * listed ahead of it. In a transactional batch the writes share one transaction, and the reads listed after the
+ * first write run once it has committed or rolled back.
+ */
+public class BatchExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchExecutor.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final Sort DEFAULT_SORT = Sort.by("createdAt");
+
+    private final RestaurantService restaurantService;
+    private final RestaurantJsonCache restaurantJsonCache;
+    private final RestaurantViewCounter restaurantViewCounter;
+    private final DuplicateDetector duplicateDetector;
+    private final TransactionTemplate transaction;
+    private final BatchProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary batchSize;
+    private final ThreadPoolExecutor executor;
+
+    public BatchExecutor(RestaurantService restaurantService, RestaurantJsonCache restaurantJsonCache,
+                         RestaurantViewCounter restaurantViewCounter, DuplicateDetector duplicateDetector,
+                         PlatformTransactionManager transactionManager, BatchProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.restaurantService = restaurantService;
+        this.restaurantJsonCache = restaurantJsonCache;
+        this.restaurantViewCounter = restaurantViewCounter;
+        this.duplicateDetector = duplicateDetector;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = DistributionSummary.builder("batch.size").register(meterRegistry);
+        AtomicInteger count = new AtomicInteger();
+        // No queue: a read the pool cannot take at once runs on the request thread, even after shutdown
+        this.executor = new ThreadPoolExecutor(properties.threads(), properties.threads(), 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "batch-reads-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, (runnable, pool) -> runnable.run());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public BatchResponse execute(BatchRequest request, @Nullable User currentUser) {
+        List<BatchOperation> operations = request.operations();
+        validate(operations);
+        batchSize.record(operations.size());
+        BatchOperationResult[] results = new BatchOperationResult[operations.size()];
+
+        List<Integer> reads = new ArrayList<>();
+        List<Integer> writes = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            if (operations.get(i).type().isRead()) {
+                reads.add(i);
+            } else if (request.transactional()) {
+                if (writes.isEmpty()) {
+                    runReads(reads, operations, currentUser, results);
+                    reads.clear();
+                }
+                writes.add(i);
+            } else {
+                runReads(reads, operations, currentUser, results);
+                reads.clear();
+                results[i] = run(operations.get(i), i, currentUser);
+            }
+        }
+        if (!writes.isEmpty()) {
+            runWritesInTransaction(writes, operations, currentUser, results);
+        }
+        runReads(reads, operations, currentUser, results);
+        return new BatchResponse(Arrays.asList(results));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void validate(List<BatchOperation> operations) {
+        if (operations.size() > properties.maxOperations()) {
+            throw new IllegalArgumentException("A batch holds at most " + properties.maxOperations() + " operations");
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            BatchOperationType type = operation.type();
+            boolean needsId = type == BatchOperationType.GET || type == BatchOperationType.UPDATE
+                || type == BatchOperationType.DELETE;
+            boolean needsBody = type == BatchOperationType.CREATE || type == BatchOperationType.UPDATE;
+            if (needsId && operation.restaurantId() == null) {
+                throw new IllegalArgumentException("Operation " + label(operation, i) + " (" + type + ") needs a restaurantId");
+            }
+            if (needsBody && operation.body() == null) {
+                throw new IllegalArgumentException("Operation " + label(operation, i) + " (" + type + ") needs a body");
+            }
+        }
+    }
+
+    private void runReads(List<Integer> reads, List<BatchOperation> operations, @Nullable User currentUser,
+                          BatchOperationResult[] results) {
+        if (reads.isEmpty()) {
+            return;
+        }
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            for (int k = next.getAndIncrement(); k < reads.size(); k = next.getAndIncrement()) {
+                int i = reads.get(k);
+                results[i] = run(operations.get(i), i, currentUser);
+            }
+        };
+        // The helpers see the caller's authentication, which decides read-your-writes routing
+        SecurityContext context = SecurityContextHolder.getContext();
+        int helpers = Math.min(properties.readConcurrency(), reads.size()) - 1;
+        List<CompletableFuture<Void>> helping = new ArrayList<>(helpers);
+        for (int h = 0; h < helpers; h++) {
+            helping.add(CompletableFuture.runAsync(new DelegatingSecurityContextRunnable(worker, context), executor));
+        }
+        worker.run();
+        helping.forEach(CompletableFuture::join);
+    }
+
+    private void runWritesInTransaction(List<Integer> writes, List<BatchOperation> operations,
+                                        @Nullable User currentUser, BatchOperationResult[] results) {
+        int[] failed = {-1};
+        try {
+            transaction.executeWithoutResult(status -> {
+                for (int i : writes) {
+                    results[i] = run(operations.get(i), i, currentUser);
+                    if (results[i].status() >= HttpStatus.BAD_REQUEST.value()) {
+                        failed[0] = i;
+                        status.setRollbackOnly();
+                        return;
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // The commit itself failed, e.g. on a constraint checked at flush: none of the writes took effect
+            for (int i : writes) {
+                results[i] = failure(operations.get(i), i, e);
+            }
+            return;
+        }
+        if (failed[0] >= 0) {
+            String cause = label(operations.get(failed[0]), failed[0]);
+            for (int i : writes) {
+                if (i != failed[0]) {
+                    results[i] = problem(operations.get(i), HttpStatus.FAILED_DEPENDENCY,
+                        "Not applied: operation " + cause + " failed and the batch was rolled back");
+                }
+            }
+        }
+    }
+
+    private BatchOperationResult run(BatchOperation operation, int index, @Nullable User currentUser) {
+        BatchOperationResult result;
+        try {
+            result = switch (operation.type()) {
+                case GET -> get(operation);
+                case LIST -> list(operation, currentUser);
+                case CREATE -> create(operation, authenticated(currentUser));
+                case UPDATE -> result(operation, HttpStatus.OK, Map.of(),
+                    restaurantService.update(operation.restaurantId(), operation.body(), authenticated(currentUser)));
+                case DELETE -> {
+                    restaurantService.delete(operation.restaurantId(), authenticated(currentUser));
+                    yield result(operation, HttpStatus.NO_CONTENT, Map.of(), null);
+                }
+            };
+        } catch (RuntimeException e) {
+            result = failure(operation, index, e);
+        }
+        meterRegistry.counter("batch.operations", "type", operation.type().name(),
+            "status", String.valueOf(result.status())).increment();
+        return result;
+    }
+
+    private BatchOperationResult get(BatchOperation operation) {
+        Long id = operation.restaurantId();
+        byte[] json = restaurantJsonCache.get(id, restaurantService::findById);
+        restaurantViewCounter.increment(id);
+        return result(operation, HttpStatus.OK, Map.of(), new RawJson(json));
+    }
+
+    private BatchOperationResult list(BatchOperation operation, @Nullable User currentUser) {
+        PageRequest pageable = PageRequest.of(operation.page() != null ? operation.page() : 0,
+            operation.size() != null ? operation.size() : DEFAULT_PAGE_SIZE, DEFAULT_SORT);
+        long current = restaurantJsonCache.generation();
+        Page<RestaurantResponse> page = operation.mine()
+            ? restaurantService.findByUser(authenticated(currentUser).getId(), pageable)
+            : restaurantService.findAll(pageable);
+        long generation = RestaurantListingCache.generationOf(page, current);
+        return result(operation, HttpStatus.OK, Map.of(),
+            page.map(restaurant -> restaurantJsonCache.element(restaurant, generation)));
+    }
+
+    private BatchOperationResult create(BatchOperation operation, User currentUser) {
+        List<DuplicateResponse> duplicates = duplicateDetector.check(operation.body().name(), operation.body().location());
+        RestaurantResponse created = restaurantService.create(operation.body(), currentUser);
+        Map<String, String> headers = duplicates.isEmpty() ? Map.of() : Map.of(
+            "X-Possible-Duplicates", duplicates.stream()
+                .map(duplicate -> duplicate.id().toString())
+                .collect(Collectors.joining(",")));
+        return result(operation, HttpStatus.CREATED, headers, created);
+    }
+
+    // The statuses and problems GlobalExceptionHandler gives the same errors on the restaurant endpoints
+    private BatchOperationResult failure(BatchOperation operation, int index, RuntimeException e) {
+        if (e instanceof ResourceNotFoundException) {
+            return problem(operation, HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        if (e instanceof AuthenticationException) {
+            return problem(operation, HttpStatus.UNAUTHORIZED, e.getMessage());
+        }
+        if (e instanceof AccessDeniedException) {
+            return problem(operation, HttpStatus.FORBIDDEN, e.getMessage());
+        }
+        if (e instanceof DuplicateRestaurantException duplicate) {
+            ProblemDetail problem = GlobalExceptionHandler.problem(HttpStatus.CONFLICT, duplicate.getMessage());
+            problem.setProperty("duplicates", duplicate.getDuplicates());
+            return result(operation, HttpStatus.CONFLICT, Map.of(), problem);
+        }
+        if (e instanceof QueryTimeoutException) {
+            return problem(operation, HttpStatus.SERVICE_UNAVAILABLE, "The request took too long, try again shortly");
+        }
+        if (e instanceof IllegalArgumentException) {
+            return problem(operation, HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        log.error("Batch operation {} ({}) failed", label(operation, index), operation.type(), e);
+        return problem(operation, HttpStatus.INTERNAL_SERVER_ERROR, "The operation failed unexpectedly");
+    }
+
+    private static User authenticated(@Nullable User currentUser) {
+        if (currentUser == null) {
+            throw new AuthenticationCredentialsNotFoundException("Authentication is required for this operation");
+        }
+        return currentUser;
+    }
+
+    private static BatchOperationResult problem(BatchOperation operation, HttpStatus status, String detail) {
+        return result(operation, status, Map.of(), GlobalExceptionHandler.problem(status, detail));
+    }
+
+    private static BatchOperationResult result(BatchOperation operation, HttpStatus status,
+                                               Map<String, String> headers, @Nullable Object body) {
+        return new BatchOperationResult(operation.id(), status.value(), headers, body);
+    }
+
+    private static String label(BatchOperation operation, int index) {
+        return operation.id() != null ? "'" + operation.id() + "'" : String.valueOf(index);
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.labs.batch;
+
+public enum BatchOperationType {
+    GET,
+    LIST,
+    CREATE,
+    UPDATE,
+    DELETE;
+
+    public boolean isRead() {
+        return this == GET || this == LIST;
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.labs.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.batch")
+public record BatchProperties(
+    @DefaultValue("20") int maxOperations,
+    @DefaultValue("4") int readConcurrency,
+    @DefaultValue("16") int threads
+) {}
@@ -0,0 +1,140 @@
+package br.com.labs.cache;
+
+import br.com.labs.datasource.ReadYourWritesTracker;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.event.RestaurantsChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * UTF-8 JSON of {@link RestaurantResponse} per restaurant id, evicted after a write commits. A value
+ * read while an eviction happened (tracked by {@link #generation()}) is returned but not cached, so a
+ * read racing a write cannot put the old representation back.
+ *
+ * <p>For the read-your-writes window after a restaurant changes, a replica may still have the old row: a miss
+ * on it is loaded from the primary, and listing elements for it, which may come from a replica, are not cached.
+ */
+@Component
+public class RestaurantJsonCache {
+
+    private final ObjectMapper objectMapper;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Cache<Long, byte[]> cache;
+    private final Cache<Long, Boolean> recentlyChanged;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final long readYourWritesWindowNanos;
+    private volatile long clearedAt;
+
+    public RestaurantJsonCache(ObjectMapper objectMapper,
+                               ReadYourWritesTracker readYourWritesTracker,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.restaurant-json-cache.max-size:64MB}") DataSize maxSize,
+                               @Value("${app.restaurant-json-cache.expire-after-write:10m}") Duration expireAfterWrite,
+                               @Value("${app.datasource.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        this.objectMapper = objectMapper;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxSize.toBytes())
+            .weigher((Long id, byte[] json) -> json.length)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "restaurant.json");
+        this.recentlyChanged = Caffeine.newBuilder()
+            .expireAfterWrite(readYourWritesWindow)
+            .build();
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+        this.clearedAt = System.nanoTime() - readYourWritesWindowNanos;
+    }
+
+    public byte[] get(Long id, Function<Long, RestaurantResponse> loader) {
+        byte[] json = cache.getIfPresent(id);
+        if (json != null) {
+            return json;
+        }
+        long generation = invalidations.get();
+        RestaurantResponse response = recentlyChanged(id)
+            ? readYourWritesTracker.onPrimary(() -> loader.apply(id))
+            : loader.apply(id);
+        return store(id, encode(response), generation);
+    }
+
+    public long generation() {
+        return invalidations.get();
+    }
+
+    public RawJson element(RestaurantResponse response, long generation) {
+        byte[] json = cache.getIfPresent(response.id());
+        if (json == null) {
+            json = encode(response);
+            if (!recentlyChanged(response.id())) {
+                store(response.id(), json, generation);
+            }
+        }
+        return new RawJson(json);
+    }
+
+    public void evict(Long id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(ids);
+    }
+
+    public void clear() {
+        clearedAt = System.nanoTime();
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        recentlyChanged.put(event.restaurantId(), Boolean.TRUE);
+        evict(event.restaurantId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantsChanged(RestaurantsChangedEvent event) {
+        event.restaurantIds().forEach(id -> recentlyChanged.put(id, Boolean.TRUE));
+        evictAll(event.restaurantIds());
+    }
+
+    private boolean recentlyChanged(Long id) {
+        return System.nanoTime() - clearedAt < readYourWritesWindowNanos || recentlyChanged.getIfPresent(id) != null;
+    }
+
+    private byte[] store(Long id, byte[] json, long generation) {
+        if (invalidations.get() == generation) {
+            cache.put(id, json);
+            if (invalidations.get() != generation) {
+                cache.invalidate(id);
+            }
+        }
+        return json;
+    }
+
+    private byte[] encode(RestaurantResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize restaurant " + response.id(), e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package br.com.labs.cache;
+
+import br.com.labs.datasource.ReadYourWritesTracker;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.event.RestaurantsChangedEvent;
+import br.com.labs.repository.RestaurantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The first {@code app.restaurant-listing-cache.pages} pages of the default listing (size 10, oldest
+ * first), kept in memory and replaced as a whole. A new snapshot is loaded in the background on a fixed
+ * delay and right after a restaurant change commits, so readers never wait for it. A snapshot older than
+ * {@code max-staleness}, say because the database is down, stops being served. Within the read-your-writes
+ * window of a change, snapshots are loaded from the primary, which already has it.
+ *
+ * <p>Until the refresh lands, a page may still show a restaurant as it was before a change. Its JSON must not
+ * go back into {@link RestaurantJsonCache}, so each snapshot page carries the JSON cache generation it was
+ * loaded under; see {@link #generationOf}.
+ */
+@Component
+public class RestaurantListingCache {
+
+    public static final int PAGE_SIZE = 10;
+    public static final Sort SORT = Sort.by("createdAt");
+
+    private static final Logger log = LoggerFactory.getLogger(RestaurantListingCache.class);
+
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantJsonCache restaurantJsonCache;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskScheduler taskScheduler;
+    private final int pages;
+    private final long maxStalenessNanos;
+    private final long readYourWritesWindowNanos;
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile Snapshot snapshot;
+    private volatile long changedAt;
+
+    public RestaurantListingCache(RestaurantRepository restaurantRepository,
+                                  RestaurantJsonCache restaurantJsonCache,
+                                  ReadYourWritesTracker readYourWritesTracker,
+                                  PlatformTransactionManager transactionManager,
+                                  TaskScheduler taskScheduler,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.restaurant-listing-cache.pages:5}") int pages,
+                                  @Value("${app.restaurant-listing-cache.max-staleness:2m}") Duration maxStaleness,
+                                  @Value("${app.datasource.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        this.restaurantRepository = restaurantRepository;
+        this.restaurantJsonCache = restaurantJsonCache;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskScheduler = taskScheduler;
+        this.pages = pages;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+        this.changedAt = System.nanoTime() - readYourWritesWindowNanos;
+        this.hits = meterRegistry.counter("restaurant.listing.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("restaurant.listing.cache.requests", "result", "miss");
+        Gauge.builder("restaurant.listing.cache.age", this, RestaurantListingCache::ageSeconds)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * The cached page, or {@code null} when the request is not for one of the cached pages or there is
+     * no fresh enough snapshot yet.
+     */
+    @Nullable
+    public Page<RestaurantResponse> get(Pageable pageable) {
+        if (!covers(pageable)) {
+            return null;
+        }
+        Snapshot current = snapshot;
+        if (current == null || System.nanoTime() - current.loadedAt() > maxStalenessNanos) {
+            misses.increment();
+            requestRefresh();
+            return null;
+        }
+        hits.increment();
+        return current.pages().get(pageable.getPageNumber());
+    }
+
+    @Scheduled(fixedDelayString = "${app.restaurant-listing-cache.refresh-interval:30s}")
+    public void refreshOnSchedule() {
+        if (pages > 0) {
+            refresh();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantsChanged(RestaurantsChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        changedAt = System.nanoTime();
+        if (pages > 0) {
+            requestRefresh();
+        }
+    }
+
+    // Refreshes run one at a time, so a snapshot can only be replaced by one loaded after it
+    synchronized void refresh() {
+        long loadedAt = System.nanoTime();
+        long generation = restaurantJsonCache.generation();
+        try {
+            List<Page<RestaurantResponse>> loaded = loadedAt - changedAt < readYourWritesWindowNanos
+                ? readYourWritesTracker.onPrimary(() -> readOnlyTransaction.execute(status -> load(generation)))
+                : readOnlyTransaction.execute(status -> load(generation));
+            snapshot = new Snapshot(loaded, loadedAt);
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the restaurant listing cache, keeping the previous snapshot", e);
+        }
+    }
+
+    // Changes arriving while a refresh is queued are covered by it; the flag is cleared before it loads
+    private void requestRefresh() {
+        if (refreshQueued.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                refreshQueued.set(false);
+                refresh();
+            }, Instant.now());
+        }
+    }
+
+    // One query for all cached pages; the total comes from the count of that same request
+    private List<Page<RestaurantResponse>> load(long generation) {
+        Page<RestaurantResponse> all = restaurantRepository.findAll(PageRequest.of(0, pages * PAGE_SIZE, SORT))
+            .map(RestaurantResponse::fromEntity);
+        List<RestaurantResponse> content = all.getContent();
+        List<Page<RestaurantResponse>> loaded = new ArrayList<>(pages);
+        for (int page = 0; page < pages; page++) {
+            int from = Math.min(page * PAGE_SIZE, content.size());
+            int to = Math.min(from + PAGE_SIZE, content.size());
+            loaded.add(new SnapshotPage(List.copyOf(content.subList(from, to)),
+                PageRequest.of(page, PAGE_SIZE, SORT), all.getTotalElements(), generation));
+        }
+        return List.copyOf(loaded);
+    }
+
+    /**
+     * The {@link RestaurantJsonCache} generation to encode a page's elements under: the one its snapshot was
+     * loaded under when it came from this cache, otherwise {@code current}, taken before the page was read.
+     */
+    public static long generationOf(Page<RestaurantResponse> page, long current) {
+        return page instanceof SnapshotPage snapshotPage ? Math.min(snapshotPage.generation, current) : current;
+    }
+
+    private boolean covers(Pageable pageable) {
+        return pageable.isPaged()
+            && pageable.getPageNumber() < pages
+            && pageable.getPageSize() == PAGE_SIZE
+            && SORT.equals(pageable.getSort());
+    }
+
+    private double ageSeconds() {
+        Snapshot current = snapshot;
+        return current == null ? Double.NaN : (System.nanoTime() - current.loadedAt()) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private record Snapshot(List<Page<RestaurantResponse>> pages, long loadedAt) {
+    }
+
+    private static final class SnapshotPage extends PageImpl<RestaurantResponse> {
+
+        private final long generation;
+
+        SnapshotPage(List<RestaurantResponse> content, Pageable pageable, long total, long generation) {
+            super(content, pageable, total);
+            this.generation = generation;
+        }
+    }
+}
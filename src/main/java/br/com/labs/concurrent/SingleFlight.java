@@ -0,0 +1,89 @@
+package br.com.labs.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one. The first caller runs the loader on its own
+ * thread; callers arriving while it runs wait for its result, or its exception, for at most
+ * {@code waitTimeout}. Nothing is kept once the load finishes: this shares work, it does not cache.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final String name;
+    private final Duration waitTimeout;
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String name, Duration waitTimeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.waitTimeout = waitTimeout;
+        this.leaders = meterRegistry.counter("single.flight.loads", "name", name, "role", "leader");
+        this.followers = meterRegistry.counter("single.flight.loads", "name", name, "role", "follower");
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            followers.increment();
+            return await(key, running);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            own.complete(value);
+            return value;
+        } catch (Throwable e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * Detaches a running load from its key, so callers arriving from now on start a fresh one instead of
+     * sharing a result that may predate a write. Callers already waiting still get it.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    private V await(K key, CompletableFuture<V> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException(
+                "Gave up after " + waitTimeout.toMillis() + "ms waiting for the " + name + " load of " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Interrupted waiting for the " + name + " load of " + key);
+        }
+    }
+}
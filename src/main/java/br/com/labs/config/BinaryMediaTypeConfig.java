@@ -0,0 +1,99 @@
+package br.com.labs.config;
+
+import br.com.labs.dto.request.LoginRequest;
+import br.com.labs.dto.request.RegisterRequest;
+import br.com.labs.dto.request.RestaurantRequest;
+import br.com.labs.dto.request.ReviewRequest;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.dto.response.ReviewPage;
+import br.com.labs.dto.response.ReviewResponse;
+import br.com.labs.dto.response.TokenResponse;
+import br.com.labs.dto.response.UserResponse;
+import br.com.labs.serialization.BinaryMediaTypes;
+import br.com.labs.serialization.ProtobufJacksonHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * CBOR, Smile and protobuf converters next to the default JSON one, all built from Boot's configured
+ * {@link Jackson2ObjectMapperBuilder} so every format sees the same modules and date handling.
+ */
+@Configuration
+public class BinaryMediaTypeConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilders;
+
+    public BinaryMediaTypeConfig(ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilders) {
+        this.mapperBuilders = mapperBuilders;
+    }
+
+    // Added after the JSON converter, not as beans: Boot puts converter beans of new types ahead of JSON,
+    // which would make a binary format the answer to Accept: */*. Spring's own CBOR and Smile converters
+    // declare no media type for ProblemDetail, so they are replaced by ones that do.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+            || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(cborHttpMessageConverter());
+        converters.add(smileHttpMessageConverter());
+        converters.add(protobufHttpMessageConverter());
+    }
+
+    private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(mapperBuilders.getObject().factory(new CBORFactory()).build()) {
+            @Override
+            protected List<MediaType> getMediaTypesForProblemDetail() {
+                return List.of(BinaryMediaTypes.CBOR);
+            }
+        };
+    }
+
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(mapperBuilders.getObject().factory(new SmileFactory()).build()) {
+            @Override
+            protected List<MediaType> getMediaTypesForProblemDetail() {
+                return List.of(BinaryMediaTypes.SMILE);
+            }
+        };
+    }
+
+    private ProtobufJacksonHttpMessageConverter protobufHttpMessageConverter() {
+        NativeProtobufSchema proto;
+        try {
+            proto = ProtobufJacksonHttpMessageConverter.loadSchema(
+                new ClassPathResource("proto/restaurants.proto").getInputStream());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new ProtobufJacksonHttpMessageConverter(mapperBuilders.getObject().factory(new ProtobufFactory()).build())
+            .register(RestaurantResponse.class, proto.forType("RestaurantResponse"))
+            // PagedModel is only returned by the restaurant listings
+            .register(PagedModel.class, proto.forType("RestaurantPage"))
+            .register(UserResponse.class, proto.forType("UserResponse"))
+            .register(TokenResponse.class, proto.forType("TokenResponse"))
+            .register(LoginRequest.class, proto.forType("LoginRequest"))
+            .register(RegisterRequest.class, proto.forType("RegisterRequest"))
+            .register(RestaurantRequest.class, proto.forType("RestaurantRequest"))
+            .register(ReviewResponse.class, proto.forType("ReviewResponse"))
+            .register(ReviewPage.class, proto.forType("ReviewPage"))
+            .register(ReviewRequest.class, proto.forType("ReviewRequest"))
+            .register(ProblemDetail.class, proto.forType("ProblemDetail"));
+    }
+}
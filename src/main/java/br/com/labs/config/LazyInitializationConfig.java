@@ -0,0 +1,24 @@
+package br.com.labs.config;
+
+import br.com.labs.monitoring.VirtualThreadPinningMonitor;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerInfrastructure() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+            DataSource.class,
+            EntityManagerFactory.class,
+            SecurityFilterChain.class,
+            VirtualThreadPinningMonitor.class
+        );
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.labs.config;
+
+import br.com.labs.datasource.ReadYourWritesTracker;
+import br.com.labs.datasource.ReplicaRoutingDataSource;
+import br.com.labs.monitoring.ConnectionMonitor;
+import br.com.labs.monitoring.MonitoredDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the primary pool and, for each of {@code app.datasource.replica-urls}, a read-only replica pool.
+ * Read-write transactions use the primary pool; read-only ones get their connection from the replicas. The
+ * lazy proxy delays fetching the physical connection until the transaction's read-only flag is known. With no
+ * replicas, the primary pool is the data source.
+ *
+ * <p>Deliberately unconditional: an AOT-processed build freezes bean conditions at build time, so the
+ * replica URLs are only read when the data source is created.
+ */
+@Configuration
+public class ReplicaDataSourceConfig implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 ConnectionMonitor connectionMonitor,
+                                 @Value("${app.datasource.replica-urls:}") List<String> replicaUrls) {
+        DataSource primary = new MonitoredDataSource(
+            pool("primary", properties.determineUrl(), false, properties, environment, meterRegistry), connectionMonitor);
+        if (replicaUrls.stream().allMatch(String::isBlank)) {
+            return primary;
+        }
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primary);
+        List<String> replicaKeys = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String key = "replica-" + (replicaKeys.size() + 1);
+            targets.put(key, new MonitoredDataSource(
+                pool(key, url.trim(), true, properties, environment, meterRegistry), connectionMonitor));
+            replicaKeys.add(key);
+        }
+
+        ReplicaRoutingDataSource replicas = new ReplicaRoutingDataSource(replicaKeys, readYourWritesTracker);
+        replicas.setTargetDataSources(targets);
+        replicas.setDefaultTargetDataSource(primary);
+        replicas.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicas);
+        return dataSource;
+    }
+
+    private HikariDataSource pool(String name, String url, boolean readOnly, DataSourceProperties properties,
+                                  Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(url)
+            .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setReadOnly(readOnly);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        pools.add(pool);
+        return pool;
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
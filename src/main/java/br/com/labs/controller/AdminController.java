@@ -0,0 +1,82 @@
+package br.com.labs.controller;
+
+import br.com.labs.audit.AuditLog;
+import br.com.labs.dedup.DuplicateDetector;
+import br.com.labs.dto.request.RestaurantModerationRequest;
+import br.com.labs.dto.response.AuditRecordResponse;
+import br.com.labs.dto.response.DuplicateResponse;
+import br.com.labs.dto.response.ModerationJobResponse;
+import br.com.labs.exception.ResourceNotFoundException;
+import br.com.labs.model.User;
+import br.com.labs.moderation.ModerationJob;
+import br.com.labs.moderation.RestaurantModerator;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final int MAX_AUDIT_RECORDS = 1000;
+
+    private final DuplicateDetector duplicateDetector;
+    private final AuditLog auditLog;
+    private final RestaurantModerator restaurantModerator;
+
+    public AdminController(DuplicateDetector duplicateDetector, AuditLog auditLog,
+                           RestaurantModerator restaurantModerator) {
+        this.duplicateDetector = duplicateDetector;
+        this.auditLog = auditLog;
+        this.restaurantModerator = restaurantModerator;
+    }
+
+    @GetMapping("/restaurants/duplicates")
+    public ResponseEntity<List<List<DuplicateResponse>>> findDuplicates() {
+        return ResponseEntity.ok(duplicateDetector.scan());
+    }
+
+    // Runs in the background; the response points at the job, whose progress can be polled
+    @PostMapping("/restaurants/moderation")
+    public ResponseEntity<ModerationJobResponse> moderate(
+            @Valid @RequestBody RestaurantModerationRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        ModerationJob job = restaurantModerator.submit(request, currentUser.getId());
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/admin/restaurants/moderation/" + job.getId()))
+            .body(ModerationJobResponse.fromJob(job));
+    }
+
+    @GetMapping("/restaurants/moderation/{jobId}")
+    public ResponseEntity<ModerationJobResponse> findModerationJob(@PathVariable UUID jobId) {
+        return restaurantModerator.find(jobId)
+            .map(job -> ResponseEntity.ok(ModerationJobResponse.fromJob(job)))
+            .orElseThrow(() -> new ResourceNotFoundException("Moderation job " + jobId + " not found"));
+    }
+
+    @DeleteMapping("/restaurants/moderation/{jobId}")
+    public ResponseEntity<ModerationJobResponse> cancelModerationJob(@PathVariable UUID jobId) {
+        return restaurantModerator.cancel(jobId)
+            .map(job -> ResponseEntity.accepted().body(ModerationJobResponse.fromJob(job)))
+            .orElseThrow(() -> new ResourceNotFoundException("Moderation job " + jobId + " not found"));
+    }
+
+    @GetMapping("/audit")
+    public ResponseEntity<List<AuditRecordResponse>> findAuditRecords(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "100") int limit) throws IOException {
+        return ResponseEntity.ok(auditLog.read(from, to, userId, Math.clamp(limit, 1, MAX_AUDIT_RECORDS)).stream()
+            .map(AuditRecordResponse::fromRecord)
+            .toList());
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.labs.controller;
 
+import br.com.labs.audit.AuditAction;
+import br.com.labs.audit.AuditLog;
 import br.com.labs.dto.request.LoginRequest;
 import br.com.labs.dto.request.RegisterRequest;
 import br.com.labs.dto.response.TokenResponse;
@@ -13,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -25,18 +28,28 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
     private final UserService userService;
+    private final AuditLog auditLog;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider, UserService userService) {
+    public AuthController(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider, UserService userService,
+                          AuditLog auditLog) {
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
         this.userService = userService;
+        this.auditLog = auditLog;
     }
 
     @PostMapping("/login")
     public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(request.email(), request.password())
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.email(), request.password())
+            );
+        } catch (AuthenticationException e) {
+            auditLog.record(AuditAction.LOGIN_FAILED, null, null, request.email());
+            throw e;
+        }
+        auditLog.record(AuditAction.LOGIN_SUCCEEDED, ((User) authentication.getPrincipal()).getId(), null, null);
 
         String token = tokenProvider.generateToken(authentication);
         return ResponseEntity.ok(new TokenResponse(token));
@@ -0,0 +1,33 @@
+package br.com.labs.controller;
+
+import br.com.labs.batch.BatchExecutor;
+import br.com.labs.dto.request.BatchRequest;
+import br.com.labs.dto.response.BatchResponse;
+import br.com.labs.model.User;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    private final BatchExecutor batchExecutor;
+
+    public BatchController(BatchExecutor batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
+    // Always 200 once the batch is accepted; each operation carries its own status
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResponse> execute(
+            @Valid @RequestBody BatchRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(batchExecutor.execute(request, currentUser));
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.labs.controller;
+
+import br.com.labs.dto.response.PhotoResponse;
+import br.com.labs.exception.ResourceNotFoundException;
+import br.com.labs.model.Photo;
+import br.com.labs.model.User;
+import br.com.labs.photo.FileSender;
+import br.com.labs.photo.PhotoStorageProperties;
+import br.com.labs.photo.PhotoStore;
+import br.com.labs.photo.ThumbnailGenerator;
+import br.com.labs.service.PhotoService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/restaurants/{restaurantId}/photos")
+public class PhotoController {
+
+    private final PhotoService photoService;
+    private final PhotoStore photoStore;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final String cacheControl;
+
+    public PhotoController(PhotoService photoService, PhotoStore photoStore, ThumbnailGenerator thumbnailGenerator,
+                           PhotoStorageProperties properties) {
+        this.photoService = photoService;
+        this.photoStore = photoStore;
+        this.thumbnailGenerator = thumbnailGenerator;
+        this.cacheControl = CacheControl.maxAge(properties.cacheMaxAge()).cachePublic().immutable().getHeaderValue();
+    }
+
+    @GetMapping
+    public ResponseEntity<List<PhotoResponse>> findAll(@PathVariable Long restaurantId) {
+        return ResponseEntity.ok(photoService.findByRestaurant(restaurantId));
+    }
+
+    // The body is the image itself, not multipart, so it can be streamed to disk as it arrives
+    @PostMapping(consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_GIF_VALUE})
+    public ResponseEntity<PhotoResponse> upload(
+            @PathVariable Long restaurantId,
+            HttpServletRequest request,
+            InputStream body,
+            @AuthenticationPrincipal User currentUser) throws IOException {
+        PhotoResponse photo = photoService.upload(restaurantId, request.getContentLengthLong(), body, currentUser);
+        return ResponseEntity.created(URI.create(photo.url())).body(photo);
+    }
+
+    @GetMapping("/{photoId}")
+    public void download(
+            @PathVariable Long restaurantId,
+            @PathVariable Long photoId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Photo photo = photoService.findById(restaurantId, photoId);
+        try {
+            FileSender.send(request, response, photoStore.original(photo.getHash()), photo.getContentType(),
+                "\"" + photo.getHash() + "\"", cacheControl);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Photo", photoId);
+        }
+    }
+
+    // Until the thumbnail is written, the client is sent to the original; the redirect is not cached
+    @GetMapping("/{photoId}/thumbnail")
+    public void downloadThumbnail(
+            @PathVariable Long restaurantId,
+            @PathVariable Long photoId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Photo photo = photoService.findById(restaurantId, photoId);
+        try {
+            FileSender.send(request, response, photoStore.thumbnail(photo.getHash()), MediaType.IMAGE_JPEG_VALUE,
+                "\"" + photo.getHash() + "-thumbnail\"", cacheControl);
+        } catch (NoSuchFileException e) {
+            thumbnailGenerator.request(photo.getHash());
+            response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+            response.setHeader(HttpHeaders.LOCATION, PhotoResponse.fromEntity(photo).url());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        }
+    }
+
+    @DeleteMapping("/{photoId}")
+    public ResponseEntity<Void> delete(
+            @PathVariable Long restaurantId,
+            @PathVariable Long photoId,
+            @AuthenticationPrincipal User currentUser) {
+        photoService.delete(restaurantId, photoId, currentUser);
+        return ResponseEntity.noContent().build();
+    }
+}
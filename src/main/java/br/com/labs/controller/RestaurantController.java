@@ -1,52 +1,121 @@
 package br.com.labs.controller;
 
+import br.com.labs.cache.RawJson;
+import br.com.labs.cache.RestaurantJsonCache;
+import br.com.labs.cache.RestaurantListingCache;
+import br.com.labs.dedup.DuplicateDetector;
 import br.com.labs.dto.request.RestaurantRequest;
+import br.com.labs.dto.response.DuplicateResponse;
 import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.dto.response.SimilarRestaurantResponse;
 import br.com.labs.model.User;
+import br.com.labs.popularity.RestaurantViewCounter;
+import br.com.labs.recommendation.SimilarRestaurants;
+import br.com.labs.serialization.BinaryMediaTypes;
 import br.com.labs.service.RestaurantService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @RestController
 @RequestMapping("/api/restaurants")
 public class RestaurantController {
 
+    static final String POSSIBLE_DUPLICATES_HEADER = "X-Possible-Duplicates";
+
     private final RestaurantService restaurantService;
+    private final RestaurantJsonCache restaurantJsonCache;
+    private final RestaurantViewCounter restaurantViewCounter;
+    private final SimilarRestaurants similarRestaurants;
+    private final DuplicateDetector duplicateDetector;
 
-    public RestaurantController(RestaurantService restaurantService) {
+    public RestaurantController(RestaurantService restaurantService, RestaurantJsonCache restaurantJsonCache,
+                                RestaurantViewCounter restaurantViewCounter, SimilarRestaurants similarRestaurants,
+                                DuplicateDetector duplicateDetector) {
         this.restaurantService = restaurantService;
+        this.restaurantJsonCache = restaurantJsonCache;
+        this.restaurantViewCounter = restaurantViewCounter;
+        this.similarRestaurants = similarRestaurants;
+        this.duplicateDetector = duplicateDetector;
+    }
+
+    // Listing */* next to JSON keeps the JSON handlers the default: an exact match wins over the
+    // binary handlers unless the client explicitly prefers CBOR, Smile or protobuf
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.ALL_VALUE})
+    public ResponseEntity<Page<RawJson>> findAll(
+            @PageableDefault(size = 10, sort = "createdAt") Pageable pageable) {
+        long current = restaurantJsonCache.generation();
+        Page<RestaurantResponse> page = restaurantService.findAll(pageable);
+        long generation = RestaurantListingCache.generationOf(page, current);
+        return ResponseEntity.ok(page.map(restaurant -> restaurantJsonCache.element(restaurant, generation)));
+    }
+
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.ALL_VALUE})
+    public ResponseEntity<byte[]> findById(@PathVariable Long id) {
+        byte[] json = restaurantJsonCache.get(id, restaurantService::findById);
+        restaurantViewCounter.increment(id);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(json);
     }
 
-    @GetMapping
-    public ResponseEntity<Page<RestaurantResponse>> findAll(
+    @GetMapping(produces = {BinaryMediaTypes.CBOR_VALUE, BinaryMediaTypes.SMILE_VALUE, BinaryMediaTypes.PROTOBUF_VALUE})
+    public ResponseEntity<PagedModel<RestaurantResponse>> findAllBinary(
             @PageableDefault(size = 10, sort = "createdAt") Pageable pageable) {
-        return ResponseEntity.ok(restaurantService.findAll(pageable));
+        return ResponseEntity.ok(new PagedModel<>(restaurantService.findAll(pageable)));
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<RestaurantResponse> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(restaurantService.findById(id));
+    @GetMapping(value = "/{id}", produces = {BinaryMediaTypes.CBOR_VALUE, BinaryMediaTypes.SMILE_VALUE, BinaryMediaTypes.PROTOBUF_VALUE})
+    public ResponseEntity<RestaurantResponse> findByIdBinary(@PathVariable Long id) {
+        RestaurantResponse restaurant = restaurantService.findById(id);
+        restaurantViewCounter.increment(id);
+        return ResponseEntity.ok(restaurant);
+    }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarRestaurantResponse>> findSimilar(@PathVariable Long id) {
+        return ResponseEntity.ok(similarRestaurants.find(id));
+    }
+
+    @GetMapping(value = "/my", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.ALL_VALUE})
+    public ResponseEntity<Page<RawJson>> findMyRestaurants(
+            @AuthenticationPrincipal User currentUser,
+            @PageableDefault(size = 10, sort = "createdAt") Pageable pageable) {
+        long generation = restaurantJsonCache.generation();
+        return ResponseEntity.ok(restaurantService.findByUser(currentUser.getId(), pageable)
+            .map(restaurant -> restaurantJsonCache.element(restaurant, generation)));
     }
 
-    @GetMapping("/my")
-    public ResponseEntity<Page<RestaurantResponse>> findMyRestaurants(
+    @GetMapping(value = "/my", produces = {BinaryMediaTypes.CBOR_VALUE, BinaryMediaTypes.SMILE_VALUE, BinaryMediaTypes.PROTOBUF_VALUE})
+    public ResponseEntity<PagedModel<RestaurantResponse>> findMyRestaurantsBinary(
             @AuthenticationPrincipal User currentUser,
             @PageableDefault(size = 10, sort = "createdAt") Pageable pageable) {
-        return ResponseEntity.ok(restaurantService.findByUser(currentUser.getId(), pageable));
+        return ResponseEntity.ok(new PagedModel<>(restaurantService.findByUser(currentUser.getId(), pageable)));
     }
 
     @PostMapping
     public ResponseEntity<RestaurantResponse> create(
             @Valid @RequestBody RestaurantRequest request,
             @AuthenticationPrincipal User currentUser) {
+        List<DuplicateResponse> duplicates = duplicateDetector.check(request.name(), request.location());
         RestaurantResponse response = restaurantService.create(request, currentUser);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        ResponseEntity.BodyBuilder created = ResponseEntity.status(HttpStatus.CREATED);
+        if (!duplicates.isEmpty()) {
+            created.header(POSSIBLE_DUPLICATES_HEADER, duplicates.stream()
+                .map(duplicate -> duplicate.id().toString())
+                .collect(Collectors.joining(",")));
+        }
+        return created.body(response);
     }
 
     @PutMapping("/{id}")
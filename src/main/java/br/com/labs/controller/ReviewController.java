@@ -0,0 +1,47 @@
+package br.com.labs.controller;
+
+import br.com.labs.dto.request.ReviewRequest;
+import br.com.labs.dto.response.ReviewPage;
+import br.com.labs.dto.response.ReviewResponse;
+import br.com.labs.model.User;
+import br.com.labs.service.ReviewService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/restaurants/{restaurantId}/reviews")
+public class ReviewController {
+
+    private final ReviewService reviewService;
+
+    public ReviewController(ReviewService reviewService) {
+        this.reviewService = reviewService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ReviewPage> findAll(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reviewService.findByRestaurant(restaurantId, before, size));
+    }
+
+    // One review per user and restaurant: the first PUT creates it, later ones replace it
+    @PutMapping
+    public ResponseEntity<ReviewResponse> save(
+            @PathVariable Long restaurantId,
+            @Valid @RequestBody ReviewRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(reviewService.save(restaurantId, request, currentUser));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> delete(
+            @PathVariable Long restaurantId,
+            @AuthenticationPrincipal User currentUser) {
+        reviewService.delete(restaurantId, currentUser);
+        return ResponseEntity.noContent().build();
+    }
+}
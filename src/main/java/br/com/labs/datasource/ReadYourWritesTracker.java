@@ -0,0 +1,111 @@
+package br.com.labs.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which users committed a write in the last {@code app.datasource.read-your-writes-window}, so
+ * their read-only transactions keep going to the primary until the replicas have caught up. The user is
+ * the authenticated principal, or the subject set with {@link #callAs} when there is none yet (login,
+ * JWT lookup). Work inside {@link #onPrimary} is treated as a recent writer's, whoever runs it.
+ */
+@Component
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+    private static final ThreadLocal<String> SUBJECT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> ON_PRIMARY = new ThreadLocal<>();
+
+    @Value("${app.datasource.read-your-writes-window:5s}")
+    private Duration window;
+
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+
+    public <T> T callAs(String subject, Supplier<T> work) {
+        String previous = SUBJECT.get();
+        SUBJECT.set(subject);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                SUBJECT.remove();
+            } else {
+                SUBJECT.set(previous);
+            }
+        }
+    }
+
+    // For loads that are about to be cached after a change, which a lagging replica would serve from before it
+    public <T> T onPrimary(Supplier<T> work) {
+        if (ON_PRIMARY.get() != null) {
+            return work.get();
+        }
+        ON_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            ON_PRIMARY.remove();
+        }
+    }
+
+    public void markWrite(@Nullable String subject) {
+        if (subject == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        recentWriters.put(subject, now + window.toNanos());
+        if (recentWriters.size() > SWEEP_THRESHOLD) {
+            recentWriters.values().removeIf(until -> now - until > 0);
+        }
+    }
+
+    public boolean isRecentWriter() {
+        if (ON_PRIMARY.get() != null) {
+            return true;
+        }
+        String subject = currentSubject();
+        if (subject == null) {
+            return false;
+        }
+        Long until = recentWriters.get(subject);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until > 0) {
+            recentWriters.remove(subject, until);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            markWrite(currentSubject());
+        }
+    }
+
+    @Nullable
+    private static String currentSubject() {
+        String subject = SUBJECT.get();
+        if (subject != null) {
+            return subject;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
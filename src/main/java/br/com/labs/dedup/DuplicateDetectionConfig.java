@@ -0,0 +1,18 @@
+package br.com.labs.dedup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@EnableConfigurationProperties(DuplicateDetectionProperties.class)
+public class DuplicateDetectionConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public DuplicateDetector duplicateDetector(JdbcTemplate jdbcTemplate, DuplicateDetectionProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new DuplicateDetector(jdbcTemplate, properties, meterRegistry);
+    }
+}
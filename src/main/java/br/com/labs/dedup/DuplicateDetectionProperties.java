@@ -0,0 +1,17 @@
+package br.com.labs.dedup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.duplicate-detection")
+public record DuplicateDetectionProperties(
+    @DefaultValue("warn") Mode mode,
+    @DefaultValue("0.6") double threshold,
+    @DefaultValue("5") int maxMatches
+) {
+    public enum Mode {
+        OFF,
+        WARN,
+        REJECT
+    }
+}
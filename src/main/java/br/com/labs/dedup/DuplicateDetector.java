@@ -0,0 +1,201 @@
+package br.com.labs.dedup;
+
+import br.com.labs.dto.response.DuplicateResponse;
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.event.RestaurantsChangedEvent;
+import br.com.labs.exception.DuplicateRestaurantException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Looks a new restaurant up in a {@link MinHashIndex} of the catalog before it is created, and warns about
+ * or rejects likely duplicates depending on {@code app.duplicate-detection.mode}. The index is reloaded from
+ * the database every {@code reload-interval}, which also builds it at startup; until then nothing is reported.
+ *
+ * <p>Committed changes are only queued; the detector's own thread reads them back in one query and skips
+ * restaurants whose name and location did not change, such as those that only got a review. A check folds in
+ * whatever is still queued first, so a restaurant is found as soon as its creation commits, unless the index is
+ * busy with a reload or another update; the request then never waits and checks against the index as it is.
+ */
+public class DuplicateDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetector.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DuplicateDetectionProperties properties;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock writer = new ReentrantLock();
+    private final AtomicBoolean updateQueued = new AtomicBoolean();
+    private final AtomicBoolean reloadQueued = new AtomicBoolean();
+    private final ExecutorService executor =
+        Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("restaurant-duplicates").factory());
+    private final Timer checkTimer;
+    private final Counter warned;
+    private final Counter rejected;
+
+    private volatile MinHashIndex index = new MinHashIndex();
+
+    public DuplicateDetector(JdbcTemplate jdbcTemplate, DuplicateDetectionProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.checkTimer = meterRegistry.timer("restaurant.duplicates.check");
+        this.warned = meterRegistry.counter("restaurant.duplicates.found", "action", "warned");
+        this.rejected = meterRegistry.counter("restaurant.duplicates.found", "action", "rejected");
+        Gauge.builder("restaurant.duplicates.indexed", this, detector -> detector.index.size())
+            .register(meterRegistry);
+    }
+
+    /**
+     * Likely duplicates of a restaurant about to be created, most similar first.
+     *
+     * @throws DuplicateRestaurantException when there are some and the mode is {@code REJECT}
+     */
+    public List<DuplicateResponse> check(String name, String location) {
+        if (properties.mode() == DuplicateDetectionProperties.Mode.OFF) {
+            return List.of();
+        }
+        // A request thread, maybe inside a write transaction, must not wait out a catalog reload
+        if (!pending.isEmpty() && writer.tryLock()) {
+            try {
+                applyPending();
+            } finally {
+                writer.unlock();
+            }
+        }
+        List<DuplicateResponse> duplicates = checkTimer.record(() -> index
+            .find(name, location, properties.threshold(), properties.maxMatches()).stream()
+            .map(DuplicateResponse::fromMatch)
+            .toList());
+        if (duplicates.isEmpty()) {
+            return duplicates;
+        }
+        if (properties.mode() == DuplicateDetectionProperties.Mode.REJECT) {
+            rejected.increment();
+            throw new DuplicateRestaurantException(duplicates);
+        }
+        warned.increment();
+        return duplicates;
+    }
+
+    /**
+     * Every group of likely duplicates in the catalog, largest first.
+     */
+    public List<List<DuplicateResponse>> scan() {
+        return index.clusters(properties.threshold()).stream()
+            .map(cluster -> cluster.stream().map(DuplicateResponse::fromMatch).toList())
+            .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        pending.add(event.restaurantId());
+        requestUpdate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantsChanged(RestaurantsChangedEvent event) {
+        pending.addAll(event.restaurantIds());
+        requestUpdate();
+    }
+
+    // Also runs right after startup; the load itself happens on the detector's thread, off the scheduler's
+    @Scheduled(fixedDelayString = "${app.duplicate-detection.reload-interval:1h}")
+    public void requestReload() {
+        if (reloadQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                reloadQueued.set(false);
+                reload();
+            });
+        }
+    }
+
+    // Pending ids are left alone: any change that commits during the load is applied again on top, harmlessly
+    public void reload() {
+        writer.lock();
+        try {
+            MinHashIndex loaded = new MinHashIndex();
+            jdbcTemplate.query("SELECT id, name, location FROM restaurants WHERE NOT hidden",
+                (RowCallbackHandler) rs -> loaded.put(rs.getLong("id"), rs.getString("name"), rs.getString("location")));
+            index = loaded;
+            log.info("Loaded {} restaurants into the duplicate index", loaded.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not reload the restaurant duplicate index, keeping the previous one", e);
+        } finally {
+            writer.unlock();
+        }
+    }
+
+    public void applyPendingChanges() {
+        writer.lock();
+        try {
+            applyPending();
+        } finally {
+            writer.unlock();
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void requestUpdate() {
+        if (updateQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                updateQueued.set(false);
+                applyPendingChanges();
+            });
+        }
+    }
+
+    private void applyPending() {
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (Long id : pending) {
+                pending.remove(id);
+                ids.add(id);
+            }
+            if (!ids.isEmpty()) {
+                refresh(index, ids);
+            }
+        } catch (RuntimeException e) {
+            pending.addAll(ids);
+            log.warn("Could not update the restaurant duplicate index for {} changes, retrying on the next one",
+                ids.size(), e);
+        }
+    }
+
+    private void refresh(MinHashIndex target, List<Long> ids) {
+        Set<Long> missing = new HashSet<>(ids);
+        jdbcTemplate.query("SELECT id, name, location FROM restaurants WHERE id = ANY(?) AND NOT hidden",
+            statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint", ids.toArray())),
+            (RowCallbackHandler) rs -> {
+                long id = rs.getLong("id");
+                String name = rs.getString("name");
+                String location = rs.getString("location");
+                missing.remove(id);
+                if (!target.isCurrent(id, name, location)) {
+                    target.put(id, name, location);
+                }
+            });
+        missing.forEach(target::remove);
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.labs.dto.request;
+
+import br.com.labs.batch.BatchOperationType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+// id is the client's own label, echoed in the result; restaurantId is for GET, UPDATE and DELETE,
+// body for CREATE and UPDATE, page, size and mine for LIST
+public record BatchOperation(
+    @Size(max = 100) String id,
+    @NotNull BatchOperationType type,
+    Long restaurantId,
+    @Valid RestaurantRequest body,
+    @Min(0) Integer page,
+    @Min(1) @Max(100) Integer size,
+    boolean mine
+) {}
@@ -0,0 +1,12 @@
+package br.com.labs.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record BatchRequest(
+    @NotEmpty List<@NotNull @Valid BatchOperation> operations,
+    boolean transactional
+) {}
@@ -0,0 +1,17 @@
+package br.com.labs.dto.request;
+
+import br.com.labs.moderation.ModerationAction;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// The criteria combine; at least one must be given
+public record RestaurantModerationRequest(
+    @NotNull ModerationAction action,
+    @Size(max = 10000) List<Long> ids,
+    Long createdBy,
+    LocalDateTime createdFrom,
+    LocalDateTime createdTo
+) {}
@@ -0,0 +1,11 @@
+package br.com.labs.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record ReviewRequest(
+    @NotNull @Min(1) @Max(5) Integer rating,
+    @Size(max = 2000) String comment
+) {}
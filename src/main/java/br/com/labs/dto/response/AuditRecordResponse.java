@@ -0,0 +1,23 @@
+package br.com.labs.dto.response;
+
+import br.com.labs.audit.AuditRecord;
+
+import java.time.Instant;
+
+public record AuditRecordResponse(
+    Instant timestamp,
+    String action,
+    Long userId,
+    Long targetId,
+    String detail
+) {
+    public static AuditRecordResponse fromRecord(AuditRecord record) {
+        return new AuditRecordResponse(
+            record.timestamp(),
+            record.action().name(),
+            record.userId(),
+            record.targetId(),
+            record.detail()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.labs.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+// body is what the matching endpoint would have answered: the resource, a page, or a problem detail
+public record BatchOperationResult(
+    String id,
+    int status,
+    @JsonInclude(JsonInclude.Include.NON_EMPTY) Map<String, String> headers,
+    @JsonInclude(JsonInclude.Include.NON_NULL) Object body
+) {}
@@ -0,0 +1,7 @@
+package br.com.labs.dto.response;
+
+import java.util.List;
+
+public record BatchResponse(
+    List<BatchOperationResult> results
+) {}
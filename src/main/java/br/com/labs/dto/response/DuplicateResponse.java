@@ -0,0 +1,19 @@
+package br.com.labs.dto.response;
+
+import br.com.labs.dedup.MinHashIndex;
+
+public record DuplicateResponse(
+    Long id,
+    String name,
+    String location,
+    double similarity
+) {
+    public static DuplicateResponse fromMatch(MinHashIndex.Match match) {
+        return new DuplicateResponse(
+            match.id(),
+            match.name(),
+            match.location(),
+            match.similarity()
+        );
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.labs.dto.response;
+
+import br.com.labs.moderation.ModerationJob;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ModerationJobResponse(
+    UUID id,
+    String action,
+    String status,
+    long matched,
+    long processed,
+    int chunks,
+    Instant submittedAt,
+    Instant startedAt,
+    Instant finishedAt,
+    String error
+) {
+    public static ModerationJobResponse fromJob(ModerationJob job) {
+        return new ModerationJobResponse(
+            job.getId(),
+            job.getAction().name(),
+            job.getStatus().name(),
+            job.getMatched(),
+            job.getProcessed(),
+            job.getChunks(),
+            job.getSubmittedAt(),
+            job.getStartedAt(),
+            job.getFinishedAt(),
+            job.getError()
+        );
+    }
+}
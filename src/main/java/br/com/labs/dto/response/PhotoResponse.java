@@ -0,0 +1,26 @@
+package br.com.labs.dto.response;
+
+import br.com.labs.model.Photo;
+
+import java.time.LocalDateTime;
+
+public record PhotoResponse(
+    Long id,
+    String contentType,
+    long size,
+    String url,
+    String thumbnailUrl,
+    LocalDateTime createdAt
+) {
+    public static PhotoResponse fromEntity(Photo photo) {
+        String url = "/api/restaurants/" + photo.getRestaurantId() + "/photos/" + photo.getId();
+        return new PhotoResponse(
+            photo.getId(),
+            photo.getContentType(),
+            photo.getSize(),
+            url,
+            url + "/thumbnail",
+            photo.getCreatedAt()
+        );
+    }
+}
@@ -11,7 +11,10 @@ public record RestaurantResponse(
     String location,
     Integer rating,
     String createdByName,
-    LocalDateTime createdAt
+    LocalDateTime createdAt,
+    long viewCount,
+    Double averageRating,
+    int reviewCount
 ) {
     public static RestaurantResponse fromEntity(Restaurant restaurant) {
         return new RestaurantResponse(
@@ -21,7 +24,10 @@ public record RestaurantResponse(
             restaurant.getLocation(),
             restaurant.getRating(),
             restaurant.getCreatedBy().getName(),
-            restaurant.getCreatedAt()
+            restaurant.getCreatedAt(),
+            restaurant.getViewCount(),
+            restaurant.getReviewCount() == 0 ? null : restaurant.getAverageRating(),
+            restaurant.getReviewCount()
         );
     }
 }
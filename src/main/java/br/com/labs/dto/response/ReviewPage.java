@@ -0,0 +1,12 @@
+package br.com.labs.dto.response;
+
+import java.util.List;
+
+/**
+ * A page of reviews, newest first. {@code nextCursor} goes in the {@code before} parameter of the next
+ * request and is {@code null} on the last page.
+ */
+public record ReviewPage(
+    List<ReviewResponse> content,
+    Long nextCursor
+) {}
@@ -0,0 +1,25 @@
+package br.com.labs.dto.response;
+
+import br.com.labs.model.Review;
+
+import java.time.LocalDateTime;
+
+public record ReviewResponse(
+    Long id,
+    int rating,
+    String comment,
+    String userName,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+    public static ReviewResponse fromEntity(Review review) {
+        return new ReviewResponse(
+            review.getId(),
+            review.getRating(),
+            review.getComment(),
+            review.getUser().getName(),
+            review.getCreatedAt(),
+            review.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.labs.dto.response;
+
+import br.com.labs.recommendation.SimilarityIndex;
+
+public record SimilarRestaurantResponse(
+    Long id,
+    String name,
+    double score
+) {
+    public static SimilarRestaurantResponse fromNeighbor(SimilarityIndex.Neighbor neighbor) {
+        return new SimilarRestaurantResponse(
+            neighbor.id(),
+            neighbor.name(),
+            neighbor.score()
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.labs.event;
+
+public record RestaurantChangedEvent(Long restaurantId, Type type) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.labs.event;
+
+import java.util.List;
+
+/**
+ * Many restaurants changed the same way in one statement, such as a bulk moderation chunk. Listeners
+ * handle it as they would one {@link RestaurantChangedEvent} per id, but in one pass.
+ */
+public record RestaurantsChangedEvent(List<Long> restaurantIds, RestaurantChangedEvent.Type type) {
+}
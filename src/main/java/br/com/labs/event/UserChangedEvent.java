@@ -0,0 +1,4 @@
+package br.com.labs.event;
+
+public record UserChangedEvent(Long userId) {
+}
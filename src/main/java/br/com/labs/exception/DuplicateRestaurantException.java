@@ -0,0 +1,19 @@
+package br.com.labs.exception;
+
+import br.com.labs.dto.response.DuplicateResponse;
+
+import java.util.List;
+
+public class DuplicateRestaurantException extends RuntimeException {
+
+    private final List<DuplicateResponse> duplicates;
+
+    public DuplicateRestaurantException(List<DuplicateResponse> duplicates) {
+        super("A similar restaurant already exists", null, false, false);
+        this.duplicates = duplicates;
+    }
+
+    public List<DuplicateResponse> getDuplicates() {
+        return duplicates;
+    }
+}
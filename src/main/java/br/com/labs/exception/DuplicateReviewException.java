@@ -0,0 +1,8 @@
+package br.com.labs.exception;
+
+public class DuplicateReviewException extends RuntimeException {
+
+    public DuplicateReviewException(Long restaurantId) {
+        super("A concurrent request already reviewed restaurant " + restaurantId + ", try again", null, false, false);
+    }
+}
@@ -1,46 +1,86 @@
 package br.com.labs.exception;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Answers errors with RFC 7807 problem details. Not-found and bad-credentials responses, the ones that
+ * arrive in floods, are written from {@link ProblemBodies} when the client accepts JSON; other media types
+ * get a {@link ProblemDetail} through the regular converters.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    static final String BAD_CREDENTIALS = "Invalid email or password";
+
+    private static final HttpHeaders PROBLEM_JSON_HEADERS = problemJsonHeaders();
+
+    private final ProblemBodies problemBodies;
+    private final Counter notFoundCounter;
+    private final Counter badCredentialsCounter;
+    private final Counter validationCounter;
+    private final Counter illegalArgumentCounter;
+    private final Counter queryTimeoutCounter;
+    private final Counter duplicateReviewCounter;
+    private final Counter duplicateCounter;
+    private final Counter uploadTooLargeCounter;
+    private final Counter unsupportedMediaTypeCounter;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.problemBodies = new ProblemBodies(objectMapper);
+        this.notFoundCounter = counter(meterRegistry, ResourceNotFoundException.class);
+        this.badCredentialsCounter = counter(meterRegistry, BadCredentialsException.class);
+        this.validationCounter = counter(meterRegistry, MethodArgumentNotValidException.class);
+        this.illegalArgumentCounter = counter(meterRegistry, IllegalArgumentException.class);
+        this.queryTimeoutCounter = counter(meterRegistry, QueryTimeoutException.class);
+        this.duplicateReviewCounter = counter(meterRegistry, DuplicateReviewException.class);
+        this.duplicateCounter = counter(meterRegistry, DuplicateRestaurantException.class);
+        this.uploadTooLargeCounter = counter(meterRegistry, MaxUploadSizeExceededException.class);
+        this.unsupportedMediaTypeCounter = counter(meterRegistry, HttpMediaTypeNotSupportedException.class);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleResourceNotFound(ResourceNotFoundException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.NOT_FOUND.value());
-        body.put("error", "Not Found");
-        body.put("message", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    public ResponseEntity<Object> handleResourceNotFound(ResourceNotFoundException ex, WebRequest request) {
+        notFoundCounter.increment();
+        if (ex.getId() != null && prefersJson(request)) {
+            return problemJson(HttpStatus.NOT_FOUND, problemBodies.notFound(ex.getResource(), ex.getId(), path(request)));
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(problem(HttpStatus.NOT_FOUND, ex.getMessage()));
     }
 
     @ExceptionHandler(BadCredentialsException.class)
-    public ResponseEntity<Map<String, Object>> handleBadCredentials(BadCredentialsException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.UNAUTHORIZED.value());
-        body.put("error", "Unauthorized");
-        body.put("message", "Invalid email or password");
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(body);
+    public ResponseEntity<Object> handleBadCredentials(BadCredentialsException ex, WebRequest request) {
+        badCredentialsCounter.increment();
+        if (prefersJson(request)) {
+            return problemJson(HttpStatus.UNAUTHORIZED, problemBodies.badCredentials(path(request)));
+        }
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(problem(HttpStatus.UNAUTHORIZED, BAD_CREDENTIALS));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Validation Error");
+    public ResponseEntity<ProblemDetail> handleValidationErrors(MethodArgumentNotValidException ex) {
+        validationCounter.increment();
+        ProblemDetail problem = problem(HttpStatus.BAD_REQUEST, "Validation failed");
 
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach(error -> {
@@ -48,18 +88,93 @@ public class GlobalExceptionHandler {
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
         });
-        body.put("errors", errors);
+        problem.setProperty("errors", errors);
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problem);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Bad Request");
-        body.put("message", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    public ResponseEntity<ProblemDetail> handleIllegalArgument(IllegalArgumentException ex) {
+        illegalArgumentCounter.increment();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problem(HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ProblemDetail> handleQueryTimeout(QueryTimeoutException ex) {
+        queryTimeoutCounter.increment();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(problem(HttpStatus.SERVICE_UNAVAILABLE, "The request took too long, try again shortly"));
+    }
+
+    @ExceptionHandler(DuplicateReviewException.class)
+    public ResponseEntity<ProblemDetail> handleDuplicateReview(DuplicateReviewException ex) {
+        duplicateReviewCounter.increment();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem(HttpStatus.CONFLICT, ex.getMessage()));
+    }
+
+    @ExceptionHandler(DuplicateRestaurantException.class)
+    public ResponseEntity<ProblemDetail> handleDuplicateRestaurant(DuplicateRestaurantException ex) {
+        duplicateCounter.increment();
+        ProblemDetail problem = problem(HttpStatus.CONFLICT, ex.getMessage());
+        problem.setProperty("duplicates", ex.getDuplicates());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ProblemDetail> handleUploadTooLarge(MaxUploadSizeExceededException ex) {
+        uploadTooLargeCounter.increment();
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+            .body(problem(HttpStatus.PAYLOAD_TOO_LARGE, "Uploads are limited to " + ex.getMaxUploadSize() + " bytes"));
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ProblemDetail> handleUnsupportedMediaType(HttpMediaTypeNotSupportedException ex) {
+        unsupportedMediaTypeCounter.increment();
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+            .headers(ex.getHeaders())
+            .body(problem(HttpStatus.UNSUPPORTED_MEDIA_TYPE, ex.getMessage()));
+    }
+
+    public static ProblemDetail problem(HttpStatus status, String detail) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setTitle(status.getReasonPhrase());
+        return problem;
+    }
+
+    private static ResponseEntity<Object> problemJson(HttpStatus status, byte[] body) {
+        return new ResponseEntity<>(body, PROBLEM_JSON_HEADERS, status);
+    }
+
+    private static HttpHeaders problemJsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    // The same value Spring MVC puts in instance when it writes a ProblemDetail itself
+    private static String path(WebRequest request) {
+        return ((ServletWebRequest) request).getRequest().getRequestURI();
+    }
+
+    // Most clients (and scrapers) send no Accept header or */*; only parse when there is something to weigh
+    private static boolean prefersJson(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank() || MediaType.ALL_VALUE.equals(accept)) {
+            return true;
+        }
+        List<MediaType> acceptable = MediaType.parseMediaTypes(accept);
+        MediaType preferred = acceptable.get(0);
+        for (MediaType mediaType : acceptable) {
+            if (mediaType.getQualityValue() > preferred.getQualityValue()) {
+                preferred = mediaType;
+            }
+        }
+        return preferred.isCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+            || preferred.isCompatibleWith(MediaType.APPLICATION_JSON);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, Class<? extends Exception> type) {
+        return meterRegistry.counter("api.exceptions", "type", type.getSimpleName());
     }
 }
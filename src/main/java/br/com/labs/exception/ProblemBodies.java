@@ -0,0 +1,141 @@
+package br.com.labs.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-encoded {@code application/problem+json} bodies for the errors that arrive in floods. Each problem is
+ * kept as the bytes around its variable parts (the id of a not-found problem, and the request path Spring
+ * MVC would have set as {@code instance}), so answering a miss is a few array copies.
+ */
+class ProblemBodies {
+
+    private static final String ID_PLACEHOLDER = "__ID__";
+    private static final String INSTANCE_PLACEHOLDER = "__INSTANCE__";
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, byte[][]> notFoundTemplates = new ConcurrentHashMap<>();
+    private final byte[][] badCredentials;
+
+    ProblemBodies(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        byte[] encoded = encode(GlobalExceptionHandler.problem(HttpStatus.UNAUTHORIZED, GlobalExceptionHandler.BAD_CREDENTIALS));
+        int at = indexOf(encoded, INSTANCE_PLACEHOLDER, 0);
+        this.badCredentials = new byte[][] {
+            Arrays.copyOfRange(encoded, 0, at),
+            Arrays.copyOfRange(encoded, at + INSTANCE_PLACEHOLDER.length(), encoded.length)
+        };
+    }
+
+    byte[] badCredentials(String instance) {
+        byte[] path = instance(instance);
+        byte[] prefix = badCredentials[0];
+        byte[] suffix = badCredentials[1];
+        byte[] body = new byte[prefix.length + path.length + suffix.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(path, 0, body, prefix.length, path.length);
+        System.arraycopy(suffix, 0, body, prefix.length + path.length, suffix.length);
+        return body;
+    }
+
+    byte[] notFound(String resource, long id, String instance) {
+        byte[][] template = notFoundTemplates.computeIfAbsent(resource, this::notFoundTemplate);
+        byte[] prefix = template[0];
+        byte[] middle = template[1];
+        byte[] suffix = template[2];
+        byte[] path = instance(instance);
+        int digits = stringSize(id);
+        byte[] body = new byte[prefix.length + digits + middle.length + path.length + suffix.length];
+        int position = prefix.length;
+        System.arraycopy(prefix, 0, body, 0, position);
+        writeDigits(id, body, position += digits);
+        System.arraycopy(middle, 0, body, position, middle.length);
+        System.arraycopy(path, 0, body, position += middle.length, path.length);
+        System.arraycopy(suffix, 0, body, position + path.length, suffix.length);
+        return body;
+    }
+
+    private byte[][] notFoundTemplate(String resource) {
+        byte[] encoded = encode(GlobalExceptionHandler.problem(HttpStatus.NOT_FOUND,
+            ResourceNotFoundException.message(resource, ID_PLACEHOLDER)));
+        // detail is written before instance, so the id always comes first
+        int idAt = indexOf(encoded, ID_PLACEHOLDER, 0);
+        int instanceAt = indexOf(encoded, INSTANCE_PLACEHOLDER, idAt + ID_PLACEHOLDER.length());
+        return new byte[][] {
+            Arrays.copyOfRange(encoded, 0, idAt),
+            Arrays.copyOfRange(encoded, idAt + ID_PLACEHOLDER.length(), instanceAt),
+            Arrays.copyOfRange(encoded, instanceAt + INSTANCE_PLACEHOLDER.length(), encoded.length)
+        };
+    }
+
+    private byte[] encode(ProblemDetail problem) {
+        problem.setInstance(URI.create(INSTANCE_PLACEHOLDER));
+        try {
+            return objectMapper.writeValueAsBytes(problem);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode problem body", ex);
+        }
+    }
+
+    // Request paths reach us percent-encoded, so they are copied as is unless something would need escaping
+    private byte[] instance(String path) {
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c < 0x20 || c > 0x7e || c == '"' || c == '\\') {
+                return escape(path);
+            }
+        }
+        return path.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private byte[] escape(String path) {
+        try {
+            byte[] quoted = objectMapper.writeValueAsBytes(path);
+            return Arrays.copyOfRange(quoted, 1, quoted.length - 1);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode problem instance", ex);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, String placeholder, int from) {
+        byte[] target = placeholder.getBytes(StandardCharsets.UTF_8);
+        outer:
+        for (int i = from; i <= bytes.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (bytes[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalStateException("Placeholder not found in problem body");
+    }
+
+    private static int stringSize(long value) {
+        int size = value < 0 ? 2 : 1;
+        for (long rest = Math.abs(value / 10); rest > 0; rest /= 10) {
+            size++;
+        }
+        return size;
+    }
+
+    private static void writeDigits(long value, byte[] target, int end) {
+        long rest = value;
+        int position = end;
+        do {
+            target[--position] = (byte) ('0' + Math.abs(rest % 10));
+            rest /= 10;
+        } while (rest != 0);
+        if (value < 0) {
+            target[--position] = '-';
+        }
+    }
+}
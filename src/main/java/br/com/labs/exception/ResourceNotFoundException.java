@@ -3,14 +3,42 @@ package br.com.labs.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Expected on every lookup miss, so it is created without a stack trace and its message is only built
+ * when someone reads it.
+ */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException {
 
+    private final String resource;
+    private final Long id;
+
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.resource = null;
+        this.id = null;
     }
 
     public ResourceNotFoundException(String resource, Long id) {
-        super(String.format("%s not found with id: %d", resource, id));
+        super(null, null, false, false);
+        this.resource = resource;
+        this.id = id;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        return resource == null ? super.getMessage() : message(resource, id);
+    }
+
+    static String message(String resource, Object id) {
+        return resource + " not found with id: " + id;
     }
 }
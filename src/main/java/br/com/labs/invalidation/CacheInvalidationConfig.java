@@ -0,0 +1,42 @@
+package br.com.labs.invalidation;
+
+import br.com.labs.cache.RestaurantJsonCache;
+import br.com.labs.cache.RestaurantListingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+@Configuration
+@EnableConfigurationProperties(CacheInvalidationProperties.class)
+@ConditionalOnProperty(name = "app.cache-invalidation.enabled", matchIfMissing = true)
+public class CacheInvalidationConfig {
+
+    // Lets a node recognize, and skip, the notifications it sent itself
+    private final String origin = UUID.randomUUID().toString();
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(JdbcTemplate jdbcTemplate,
+                                                                 CacheInvalidationProperties properties) {
+        return new CacheInvalidationPublisher(jdbcTemplate, properties.channel(), origin);
+    }
+
+    @Bean
+    public CacheInvalidationListener cacheInvalidationListener(CacheInvalidationProperties properties,
+                                                               DataSourceProperties dataSourceProperties,
+                                                               ApplicationEventPublisher eventPublisher,
+                                                               EntityManagerFactory entityManagerFactory,
+                                                               RestaurantJsonCache restaurantJsonCache,
+                                                               RestaurantListingCache restaurantListingCache,
+                                                               MeterRegistry meterRegistry) {
+        return new CacheInvalidationListener(properties, dataSourceProperties, origin, eventPublisher,
+            entityManagerFactory, restaurantJsonCache, restaurantListingCache, meterRegistry);
+    }
+}
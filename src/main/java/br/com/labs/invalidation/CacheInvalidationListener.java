@@ -0,0 +1,221 @@
+package br.com.labs.invalidation;
+
+import br.com.labs.cache.RestaurantJsonCache;
+import br.com.labs.cache.RestaurantListingCache;
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.event.RestaurantsChangedEvent;
+import br.com.labs.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LISTENs on the invalidation channel over its own connection, outside the pool, and evicts what other
+ * nodes changed: restaurant changes are replayed as local {@link RestaurantChangedEvent}s (or
+ * {@link RestaurantsChangedEvent}s when a message names several restaurants), user changes
+ * evict the user from Hibernate's caches. Notifications sent while the connection was down are lost, so
+ * every reconnect flushes all local caches before listening again.
+ */
+public class CacheInvalidationListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    private static final String USER_ROLES = User.class.getName() + ".roles";
+    private static final String USER_QUERIES = "user-queries";
+
+    private final CacheInvalidationProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final String origin;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache hibernateCache;
+    private final RestaurantJsonCache restaurantJsonCache;
+    private final RestaurantListingCache restaurantListingCache;
+    private final Counter restaurantMessages;
+    private final Counter userMessages;
+    private final Counter flushes;
+    private final AtomicInteger listening = new AtomicInteger();
+
+    private volatile boolean running;
+    private volatile Thread thread;
+    private volatile Connection connection;
+
+    public CacheInvalidationListener(CacheInvalidationProperties properties,
+                                     DataSourceProperties dataSourceProperties,
+                                     String origin,
+                                     ApplicationEventPublisher eventPublisher,
+                                     EntityManagerFactory entityManagerFactory,
+                                     RestaurantJsonCache restaurantJsonCache,
+                                     RestaurantListingCache restaurantListingCache,
+                                     MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.origin = origin;
+        this.eventPublisher = eventPublisher;
+        this.hibernateCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.restaurantJsonCache = restaurantJsonCache;
+        this.restaurantListingCache = restaurantListingCache;
+        this.restaurantMessages = meterRegistry.counter("cache.invalidation.received", "kind", "restaurant");
+        this.userMessages = meterRegistry.counter("cache.invalidation.received", "kind", "user");
+        this.flushes = meterRegistry.counter("cache.invalidation.flushes");
+        meterRegistry.gauge("cache.invalidation.listening", listening);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().daemon().name("cache-invalidation-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = thread;
+        if (current != null) {
+            current.interrupt();
+        }
+        closeQuietly(connection);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        Duration delay = properties.reconnectDelay();
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection listener = connect()) {
+                connection = listener;
+                try (Statement statement = listener.createStatement()) {
+                    statement.execute("LISTEN \"" + properties.channel() + "\"");
+                }
+                if (connectedBefore) {
+                    flushAll();
+                }
+                connectedBefore = true;
+                delay = properties.reconnectDelay();
+                listening.set(1);
+                receive(listener);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost its connection, reconnecting in {}", delay, e);
+                }
+            } finally {
+                listening.set(0);
+                connection = null;
+            }
+            if (!sleep(delay)) {
+                return;
+            }
+            delay = delay.multipliedBy(2).compareTo(properties.maxReconnectDelay()) > 0
+                ? properties.maxReconnectDelay()
+                : delay.multipliedBy(2);
+        }
+    }
+
+    // A closed socket fails getNotifications, but a silently dropped one does not, hence the periodic check
+    private void receive(Connection listener) throws SQLException {
+        PGConnection notifications = listener.unwrap(PGConnection.class);
+        int pollMillis = (int) properties.pollInterval().toMillis();
+        long validationNanos = properties.validationInterval().toNanos();
+        long validatedAt = System.nanoTime();
+        while (running) {
+            PGNotification[] received = notifications.getNotifications(pollMillis);
+            if (received != null) {
+                for (PGNotification notification : received) {
+                    handleSafely(notification.getParameter());
+                }
+            }
+            if (System.nanoTime() - validatedAt > validationNanos) {
+                if (!listener.isValid(5)) {
+                    throw new SQLException("Listening connection stopped answering");
+                }
+                validatedAt = System.nanoTime();
+            }
+        }
+    }
+
+    private void handleSafely(String payload) {
+        try {
+            handle(payload);
+        } catch (RuntimeException e) {
+            log.warn("Could not apply cache invalidation {}", payload, e);
+        }
+    }
+
+    void handle(String payload) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.parse(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("{}, flushing all caches", e.getMessage());
+            flushAll();
+            return;
+        }
+        if (origin.equals(message.origin())) {
+            return;
+        }
+        switch (message.kind()) {
+            case RESTAURANT -> {
+                restaurantMessages.increment();
+                eventPublisher.publishEvent(message.ids().size() == 1
+                    ? new RestaurantChangedEvent(message.ids().getFirst(), message.type())
+                    : new RestaurantsChangedEvent(message.ids(), message.type()));
+            }
+            case USER -> {
+                userMessages.increment();
+                hibernateCache.evictEntityData(User.class, message.ids().getFirst());
+                hibernateCache.evictCollectionData(USER_ROLES, message.ids().getFirst());
+                hibernateCache.evictQueryRegion(USER_QUERIES);
+            }
+        }
+    }
+
+    void flushAll() {
+        flushes.increment();
+        restaurantJsonCache.clear();
+        restaurantListingCache.invalidate();
+        hibernateCache.evictAllRegions();
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    private boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+            return running;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // the listener thread is going away with it
+        }
+    }
+}
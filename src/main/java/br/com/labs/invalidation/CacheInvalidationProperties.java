@@ -0,0 +1,16 @@
+package br.com.labs.invalidation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.cache-invalidation")
+public record CacheInvalidationProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("cache_invalidation") String channel,
+    @DefaultValue("1s") Duration pollInterval,
+    @DefaultValue("30s") Duration validationInterval,
+    @DefaultValue("1s") Duration reconnectDelay,
+    @DefaultValue("30s") Duration maxReconnectDelay
+) {}
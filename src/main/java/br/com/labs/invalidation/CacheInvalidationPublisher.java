@@ -0,0 +1,45 @@
+package br.com.labs.invalidation;
+
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.event.RestaurantsChangedEvent;
+import br.com.labs.event.UserChangedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sends a NOTIFY from inside the write transaction, just before it commits. PostgreSQL delivers it to
+ * the listening nodes only once the commit succeeds, and drops it on rollback. Events published outside
+ * a transaction, such as the ones replayed from other nodes, are not sent again.
+ */
+public class CacheInvalidationPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final String origin;
+
+    public CacheInvalidationPublisher(JdbcTemplate jdbcTemplate, String channel, String origin) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+        this.origin = origin;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        send(InvalidationMessage.restaurant(origin, event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onRestaurantsChanged(RestaurantsChangedEvent event) {
+        InvalidationMessage.restaurants(origin, event).forEach(this::send);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        send(InvalidationMessage.user(origin, event.userId()));
+    }
+
+    private void send(InvalidationMessage message) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, message.payload());
+    }
+}
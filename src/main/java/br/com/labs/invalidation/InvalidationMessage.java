@@ -0,0 +1,66 @@
+package br.com.labs.invalidation;
+
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.event.RestaurantsChangedEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * What one node tells the others to evict, sent as the text payload of a NOTIFY:
+ * {@code <origin> restaurant <id>[,<id>...] <CREATED|UPDATED|DELETED>} or {@code <origin> user <id>}.
+ */
+record InvalidationMessage(String origin, Kind kind, List<Long> ids, RestaurantChangedEvent.Type type) {
+
+    // Keeps a payload of 19-digit ids under PostgreSQL's 8000-byte NOTIFY limit
+    static final int MAX_IDS = 350;
+
+    enum Kind {
+        RESTAURANT,
+        USER
+    }
+
+    static InvalidationMessage restaurant(String origin, RestaurantChangedEvent event) {
+        return new InvalidationMessage(origin, Kind.RESTAURANT, List.of(event.restaurantId()), event.type());
+    }
+
+    static List<InvalidationMessage> restaurants(String origin, RestaurantsChangedEvent event) {
+        List<Long> ids = event.restaurantIds();
+        List<InvalidationMessage> messages = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS) {
+            messages.add(new InvalidationMessage(origin, Kind.RESTAURANT,
+                ids.subList(from, Math.min(from + MAX_IDS, ids.size())), event.type()));
+        }
+        return messages;
+    }
+
+    static InvalidationMessage user(String origin, long userId) {
+        return new InvalidationMessage(origin, Kind.USER, List.of(userId), null);
+    }
+
+    static InvalidationMessage parse(String payload) {
+        String[] parts = payload.split(" ");
+        if (parts.length >= 3) {
+            try {
+                if (parts.length == 4 && "restaurant".equals(parts[1])) {
+                    List<Long> ids = Arrays.stream(parts[2].split(",")).map(Long::valueOf).toList();
+                    return new InvalidationMessage(parts[0], Kind.RESTAURANT, ids, RestaurantChangedEvent.Type.valueOf(parts[3]));
+                }
+                if (parts.length == 3 && "user".equals(parts[1])) {
+                    return new InvalidationMessage(parts[0], Kind.USER, List.of(Long.parseLong(parts[2])), null);
+                }
+            } catch (IllegalArgumentException e) {
+                // falls through to the error below
+            }
+        }
+        throw new IllegalArgumentException("Malformed invalidation message: " + payload);
+    }
+
+    String payload() {
+        return kind == Kind.RESTAURANT
+            ? origin + " restaurant " + ids.stream().map(String::valueOf).collect(Collectors.joining(",")) + " " + type
+            : origin + " user " + ids.getFirst();
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.labs.limiter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sheds load before it queues. Each API request belongs to an endpoint group with its own adaptive limit,
+ * and requests over the limit are answered with 503 before security or the controllers run. Reads, writes
+ * and auth are limited separately so that a burst of writes (or BCrypt logins) cannot take the capacity the
+ * restaurant reads need. Photo uploads get a group of their own: an upload lasts as long as the client takes to
+ * send it, and that time would otherwise pass for queueing in the writes limit.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public static final String READS = "reads";
+    public static final String WRITES = "writes";
+    public static final String AUTH = "auth";
+    public static final String UPLOADS = "uploads";
+
+    private final Map<String, ConcurrencyLimiter> limiters = new HashMap<>();
+    private final Map<String, Counter> rejections = new HashMap<>();
+    private final byte[] rejectedBody;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry,
+                                  ObjectMapper objectMapper) throws JsonProcessingException {
+        properties.groups().forEach((name, group) -> {
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(name,
+                new VegasLimit(group.initialLimit(), group.minLimit(), group.maxLimit()));
+            limiters.put(name, limiter);
+            Gauge.builder("http.server.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                .tag("group", name)
+                .register(meterRegistry);
+            Gauge.builder("http.server.concurrency.in.flight", limiter, ConcurrencyLimiter::getInFlight)
+                .tag("group", name)
+                .register(meterRegistry);
+            rejections.put(name, Counter.builder("http.server.concurrency.rejected")
+                .tag("group", name)
+                .register(meterRegistry));
+        });
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+            "Too many concurrent requests, retry later");
+        problem.setTitle(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
+        this.rejectedBody = objectMapper.writeValueAsBytes(problem);
+    }
+
+    public ConcurrencyLimiter limiter(String group) {
+        return limiters.get(group);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String group = groupOf(request);
+        ConcurrencyLimiter limiter = group != null ? limiters.get(group) : null;
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            rejections.get(group).increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    static String groupOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (path.equals("/api/restaurants") || path.startsWith("/api/restaurants/")) {
+            String method = request.getMethod();
+            if (HttpMethod.POST.matches(method) && path.endsWith("/photos")) {
+                return UPLOADS;
+            }
+            return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? READS : WRITES;
+        }
+        // A batch may write, and its reads hold several connections at once
+        if (path.equals("/api/batch")) {
+            return WRITES;
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(rejectedBody.length);
+        response.getOutputStream().write(rejectedBody);
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.labs.limiter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public record ConcurrencyLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    Map<String, Group> groups
+) {
+    public ConcurrencyLimitProperties {
+        groups = groups == null ? Map.of() : Map.copyOf(groups);
+    }
+
+    public record Group(
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("2") int minLimit,
+        @DefaultValue("200") int maxLimit
+    ) {}
+}
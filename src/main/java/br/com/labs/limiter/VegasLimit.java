@@ -0,0 +1,86 @@
+package br.com.labs.limiter;
+
+/**
+ * Concurrency limit in the style of TCP Vegas. Latencies are averaged over small windows
+ * of samples, and the lowest window average stands for the latency without queueing. The ratio between
+ * the two estimates how many of the in-flight requests are waiting (for a pooled connection, the
+ * database, the CPU) instead of being served: few waiting grows the limit, many shrink it, and a window
+ * with a failed request halves it. The no-load latency is re-learned periodically so the limit follows a
+ * baseline that moves.
+ */
+public class VegasLimit {
+
+    private static final int WINDOW_SAMPLES = 10;
+    private static final int PROBE_WINDOWS = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private volatile int limit;
+    private double noLoadRttNanos;
+    private int windowsSinceProbe;
+
+    private int windowSamples;
+    private long windowRttNanos;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = clamp(initialLimit);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        windowSamples++;
+        windowRttNanos += rttNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        windowDropped |= dropped;
+        if (windowSamples < WINDOW_SAMPLES) {
+            return;
+        }
+        update((double) windowRttNanos / windowSamples, windowMaxInFlight, windowDropped);
+        windowSamples = 0;
+        windowRttNanos = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    private void update(double rttNanos, int inFlight, boolean dropped) {
+        int current = limit;
+        if (dropped) {
+            limit = clamp(current / 2);
+            return;
+        }
+        if (++windowsSinceProbe >= PROBE_WINDOWS) {
+            windowsSinceProbe = 0;
+            noLoadRttNanos = 0;
+        }
+        if (noLoadRttNanos == 0 || rttNanos < noLoadRttNanos) {
+            noLoadRttNanos = rttNanos;
+            return;
+        }
+        // Below half the limit the application, not the limit, decides the concurrency: nothing to learn
+        if (inFlight * 2 < current) {
+            return;
+        }
+
+        int step = Math.max(1, (int) Math.log10(current));
+        double queued = current * (1 - noLoadRttNanos / rttNanos);
+        if (queued <= step) {
+            limit = clamp(current + 3 * step);
+        } else if (queued < 3 * step) {
+            limit = clamp(current + step);
+        } else if (queued > 6 * step) {
+            limit = clamp(current - step);
+        }
+    }
+
+    private int clamp(int value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.labs.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A restaurant photo. The bytes are not here but on disk, under their SHA-256, so the same image uploaded
+ * twice is stored once; {@code PhotoService} removes files no photo points to anymore.
+ */
+@Entity
+@Table(
+    name = "restaurant_photos",
+    indexes = {
+        @Index(name = "idx_restaurant_photos_restaurant_id_id", columnList = "restaurant_id, id"),
+        @Index(name = "idx_restaurant_photos_hash", columnList = "hash")
+    }
+)
+public class Photo {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // No foreign key: restaurants is partitioned, and a trigger there deletes the rows of a deleted restaurant
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurant_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Restaurant restaurant;
+
+    @Column(name = "restaurant_id", nullable = false, insertable = false, updatable = false)
+    private Long restaurantId;
+
+    @Column(nullable = false, length = 64, updatable = false)
+    private String hash;
+
+    @Column(name = "content_type", nullable = false, length = 50, updatable = false)
+    private String contentType;
+
+    @Column(nullable = false, updatable = false)
+    private long size;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Photo() {}
+
+    public Photo(Restaurant restaurant, String hash, String contentType, long size) {
+        this.restaurant = restaurant;
+        this.restaurantId = restaurant.getId();
+        this.hash = hash;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Photo that = (Photo) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
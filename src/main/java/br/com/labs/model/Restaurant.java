@@ -4,14 +4,24 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+// Hidden restaurants are invisible to every JPA query and load; only the moderation SQL sees them
 @Entity
-@Table(name = "restaurants")
+@Table(name = "restaurants", indexes = {
+    @Index(name = "idx_restaurants_average_rating", columnList = "average_rating"),
+    @Index(name = "idx_restaurants_created_by", columnList = "created_by"),
+    @Index(name = "idx_restaurants_created_at", columnList = "created_at")
+})
+@SQLRestriction("hidden = false")
 public class Restaurant {
 
+    // Unique on its own, though the partitioned table's primary key is (id, created_at); see RestaurantPartitionManager
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -38,6 +48,29 @@ public class Restaurant {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Read in the same statement as the restaurant; written in batches by RestaurantViewCounter
+    @Formula("coalesce((select v.views from restaurant_view_counts v where v.restaurant_id = id), 0)")
+    private long viewCount;
+
+    // Review aggregates, changed only by the relative UPDATE in RestaurantRepository#applyReview so an
+    // edit of the restaurant never writes back a count that a concurrent review already moved
+    @ColumnDefault("0")
+    @Column(name = "review_count", nullable = false, insertable = false, updatable = false)
+    private int reviewCount;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_sum", nullable = false, insertable = false, updatable = false)
+    private long ratingSum;
+
+    @ColumnDefault("0")
+    @Column(name = "average_rating", nullable = false, insertable = false, updatable = false)
+    private double averageRating;
+
+    // Set and cleared in bulk by RestaurantModerator
+    @ColumnDefault("false")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private boolean hidden;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -105,6 +138,22 @@ public class Restaurant {
         return createdAt;
     }
 
+    public long getViewCount() {
+        return viewCount;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
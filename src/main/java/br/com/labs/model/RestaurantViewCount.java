@@ -0,0 +1,32 @@
+package br.com.labs.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Views per restaurant, kept apart from {@code restaurants} so the frequent upserts do not rewrite restaurant
+ * rows. Written only by {@code RestaurantViewCounter}; read through {@link Restaurant#getViewCount()}.
+ */
+@Entity
+@Table(name = "restaurant_view_counts")
+public class RestaurantViewCount {
+
+    @Id
+    @Column(name = "restaurant_id")
+    private Long restaurantId;
+
+    @Column(nullable = false)
+    private long views;
+
+    public RestaurantViewCount() {}
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public long getViews() {
+        return views;
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.labs.moderation;
+
+public enum ModerationAction {
+    HIDE,
+    UNHIDE,
+    DELETE
+}
@@ -0,0 +1,26 @@
+package br.com.labs.moderation;
+
+import br.com.labs.audit.AuditLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(ModerationProperties.class)
+public class ModerationConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public RestaurantModerator restaurantModerator(JdbcTemplate jdbcTemplate,
+                                                   PlatformTransactionManager transactionManager,
+                                                   ApplicationEventPublisher eventPublisher,
+                                                   AuditLog auditLog,
+                                                   ModerationProperties properties,
+                                                   MeterRegistry meterRegistry) {
+        return new RestaurantModerator(jdbcTemplate, transactionManager, eventPublisher, auditLog, properties,
+            meterRegistry);
+    }
+}
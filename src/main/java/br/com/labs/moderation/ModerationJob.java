@@ -0,0 +1,108 @@
+package br.com.labs.moderation;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of one bulk moderation, written by the moderation thread and read by status requests.
+ */
+public class ModerationJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final ModerationAction action;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile long matched;
+    private volatile long processed;
+    private volatile int chunks;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+
+    ModerationJob(ModerationAction action) {
+        this.action = action;
+    }
+
+    void started(long matched) {
+        this.matched = matched;
+        this.startedAt = Instant.now();
+        this.status = Status.RUNNING;
+    }
+
+    void chunkDone(int rows) {
+        processed += rows;
+        chunks++;
+    }
+
+    void finished(Status status, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = status;
+    }
+
+    void cancel() {
+        cancelRequested = true;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public ModerationAction getAction() {
+        return action;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Restaurants matching the request when the job started; rows changed concurrently may make it differ
+     * from {@link #getProcessed()} at the end.
+     */
+    public long getMatched() {
+        return matched;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.labs.moderation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.moderation")
+public record ModerationProperties(
+    @DefaultValue("500") int chunkSize,
+    @DefaultValue("20ms") Duration chunkPause,
+    @DefaultValue("2s") Duration lockTimeout,
+    @DefaultValue("3") int chunkAttempts,
+    @DefaultValue("100") int retainedJobs
+) {}
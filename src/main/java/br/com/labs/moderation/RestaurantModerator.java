@@ -0,0 +1,250 @@
+package br.com.labs.moderation;
+
+import br.com.labs.audit.AuditAction;
+import br.com.labs.audit.AuditLog;
+import br.com.labs.dto.request.RestaurantModerationRequest;
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.event.RestaurantsChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Hides, unhides or deletes every restaurant matching a {@link RestaurantModerationRequest}, in the
+ * background, one job at a time. Each chunk of {@code app.moderation.chunk-size} ids, walked in id order,
+ * is one short transaction with one statement that selects it and one that changes it, so row locks are
+ * held for milliseconds and never on the whole table. A chunk waits at most {@code lock-timeout} for rows a
+ * user is editing and is retried after that. Caches, indexes and other nodes learn about a chunk through one
+ * {@link RestaurantsChangedEvent}.
+ */
+public class RestaurantModerator {
+
+    private static final Logger log = LoggerFactory.getLogger(RestaurantModerator.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLog auditLog;
+    private final ModerationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Timer chunkTimer;
+    private final Map<UUID, ModerationJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().daemon().name("restaurant-moderation").factory());
+
+    private record Selection(String where, List<Object> args) {}
+
+    private record Chunk(long lastId, List<Long> changed) {}
+
+    public RestaurantModerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher, AuditLog auditLog,
+                               ModerationProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.auditLog = auditLog;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.chunkTimer = meterRegistry.timer("restaurant.moderation.chunk");
+    }
+
+    /**
+     * Queues the job and returns at once; its progress is read with {@link #find(UUID)}.
+     */
+    public ModerationJob submit(RestaurantModerationRequest request, Long adminId) {
+        Selection selection = select(request);
+        ModerationJob job = new ModerationJob(request.action());
+        forgetOldJobs();
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job, selection, adminId));
+        return job;
+    }
+
+    public Optional<ModerationJob> find(UUID id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Stops the job after the chunk in progress; chunks already done stay done.
+     */
+    public Optional<ModerationJob> cancel(UUID id) {
+        ModerationJob job = jobs.get(id);
+        if (job != null) {
+            job.cancel();
+        }
+        return Optional.ofNullable(job);
+    }
+
+    public void shutdown() {
+        jobs.values().forEach(ModerationJob::cancel);
+        executor.shutdownNow();
+    }
+
+    private void run(ModerationJob job, Selection selection, Long adminId) {
+        try {
+            Long matched = jdbcTemplate.query("SELECT count(*) FROM restaurants WHERE " + selection.where(),
+                binding(selection.args()), (ResultSetExtractor<Long>) rs -> rs.next() ? rs.getLong(1) : 0L);
+            job.started(matched == null ? 0 : matched);
+            log.info("Moderation job {} started: {} of {} restaurants", job.getId(), job.getAction(), job.getMatched());
+
+            long lastId = 0;
+            while (!job.isCancelRequested()) {
+                Chunk chunk = runChunk(job, selection, lastId, adminId);
+                if (chunk == null) {
+                    job.finished(ModerationJob.Status.COMPLETED, null);
+                    log.info("Moderation job {} completed: {} restaurants in {} chunks", job.getId(),
+                        job.getProcessed(), job.getChunks());
+                    return;
+                }
+                lastId = chunk.lastId();
+                job.chunkDone(chunk.changed().size());
+                Thread.sleep(properties.chunkPause());
+            }
+            job.finished(ModerationJob.Status.CANCELLED, null);
+            log.info("Moderation job {} cancelled after {} restaurants", job.getId(), job.getProcessed());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finished(ModerationJob.Status.CANCELLED, null);
+        } catch (RuntimeException e) {
+            job.finished(ModerationJob.Status.FAILED, e.getMessage());
+            log.error("Moderation job {} failed after {} restaurants", job.getId(), job.getProcessed(), e);
+        }
+    }
+
+    // Returns null once no restaurant after lastId matches
+    private Chunk runChunk(ModerationJob job, Selection selection, long lastId, Long adminId)
+            throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return chunkTimer.record(() -> chunkTransaction.execute(status -> {
+                    jdbcTemplate.execute("SET LOCAL lock_timeout = " + properties.lockTimeout().toMillis());
+                    List<Object> args = new ArrayList<>(selection.args());
+                    args.add(lastId);
+                    args.add(properties.chunkSize());
+                    List<Long> ids = jdbcTemplate.query(
+                        "SELECT id FROM restaurants WHERE " + selection.where() + " AND id > ? ORDER BY id LIMIT ?",
+                        binding(args), (rs, rowNum) -> rs.getLong(1));
+                    if (ids.isEmpty()) {
+                        return null;
+                    }
+                    List<Long> changed = apply(job, ids, adminId);
+                    return new Chunk(ids.getLast(), changed);
+                }));
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= properties.chunkAttempts()) {
+                    throw e;
+                }
+                log.warn("Moderation job {} waited too long for row locks, retrying the chunk", job.getId());
+                Thread.sleep(properties.lockTimeout());
+            }
+        }
+    }
+
+    private List<Long> apply(ModerationJob job, List<Long> ids, Long adminId) {
+        String statement = switch (job.getAction()) {
+            case HIDE -> "UPDATE restaurants SET hidden = true WHERE id = ANY(?) AND NOT hidden RETURNING id";
+            case UNHIDE -> "UPDATE restaurants SET hidden = false WHERE id = ANY(?) AND hidden RETURNING id";
+            case DELETE -> "DELETE FROM restaurants WHERE id = ANY(?) RETURNING id";
+        };
+        List<Long> changed = jdbcTemplate.query(statement, binding(List.of(ids)), (rs, rowNum) -> rs.getLong(1));
+        if (changed.isEmpty()) {
+            return changed;
+        }
+        RestaurantChangedEvent.Type type = job.getAction() == ModerationAction.DELETE
+            ? RestaurantChangedEvent.Type.DELETED
+            : RestaurantChangedEvent.Type.UPDATED;
+        AuditAction auditAction = switch (job.getAction()) {
+            case HIDE -> AuditAction.RESTAURANT_HIDDEN;
+            case UNHIDE -> AuditAction.RESTAURANT_UNHIDDEN;
+            case DELETE -> AuditAction.RESTAURANT_DELETED;
+        };
+        eventPublisher.publishEvent(new RestaurantsChangedEvent(changed, type));
+        String detail = "moderation " + job.getId();
+        changed.forEach(id -> auditLog.record(auditAction, adminId, id, detail));
+        meterRegistry.counter("restaurant.moderation.rows", "action", job.getAction().name().toLowerCase())
+            .increment(changed.size());
+        return changed;
+    }
+
+    private static Selection select(RestaurantModerationRequest request) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (request.ids() != null && !request.ids().isEmpty()) {
+            conditions.add("id = ANY(?)");
+            args.add(request.ids());
+        }
+        if (request.createdBy() != null) {
+            conditions.add("created_by = ?");
+            args.add(request.createdBy());
+        }
+        if (request.createdFrom() != null) {
+            conditions.add("created_at >= ?");
+            args.add(request.createdFrom());
+        }
+        if (request.createdTo() != null) {
+            conditions.add("created_at < ?");
+            args.add(request.createdTo());
+        }
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("Give ids, createdBy or a createdFrom/createdTo range");
+        }
+        if (request.createdFrom() != null && request.createdTo() != null
+                && !request.createdFrom().isBefore(request.createdTo())) {
+            throw new IllegalArgumentException("createdFrom must be before createdTo");
+        }
+        switch (request.action()) {
+            case HIDE -> conditions.add("NOT hidden");
+            case UNHIDE -> conditions.add("hidden");
+            case DELETE -> { }
+        }
+        return new Selection(String.join(" AND ", conditions), List.copyOf(args));
+    }
+
+    // Lists go in as bigint arrays, everything else as is
+    private static PreparedStatementSetter binding(List<Object> args) {
+        return statement -> {
+            for (int i = 0; i < args.size(); i++) {
+                bind(statement, i + 1, args.get(i));
+            }
+        };
+    }
+
+    private static void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value instanceof List<?> list) {
+            statement.setArray(index, statement.getConnection().createArrayOf("bigint", list.toArray()));
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+
+    private void forgetOldJobs() {
+        int excess = jobs.size() - properties.retainedJobs() + 1;
+        if (excess > 0) {
+            jobs.values().stream()
+                .filter(ModerationJob::isFinished)
+                .sorted(Comparator.comparing(ModerationJob::getFinishedAt))
+                .limit(excess)
+                .forEach(job -> jobs.remove(job.getId()));
+        }
+    }
+}
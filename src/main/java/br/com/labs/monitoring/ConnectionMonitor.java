@@ -0,0 +1,123 @@
+package br.com.labs.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Follows each connection from checkout to close, complementing the pool-wide {@code hikaricp.*} meters with
+ * who held it. The wait and hold times go to the request running on the thread, which
+ * {@link SqlStatementFilter} exports per endpoint. A request's checkout slower than {@code slow-checkout-threshold}
+ * is logged with its endpoint. With {@code leak-threshold} set (off by default, as in Hikari, since it records
+ * the stack of every checkout), a connection kept longer is reported once, with its endpoint, thread and the
+ * stack that checked it out, and again when it comes back.
+ */
+public class ConnectionMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionMonitor.class);
+
+    private final ConnectionMonitoringProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Set<Checkout> checkouts = ConcurrentHashMap.newKeySet();
+
+    public ConnectionMonitor(ConnectionMonitoringProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("jdbc.connections.checked.out", checkouts, Set::size).register(meterRegistry);
+    }
+
+    // Snapshot of the request at checkout: the request object is recycled once it completes
+    private static final class Checkout {
+        final SqlStatementStats owner;
+        final String method;
+        final String uri;
+        final String path;
+        final String thread = Thread.currentThread().getName();
+        final long startNanos = System.nanoTime();
+        final Throwable checkedOutAt;
+        final AtomicBoolean returned = new AtomicBoolean();
+        volatile boolean reported;
+
+        Checkout(SqlStatementStats owner, boolean captureStack) {
+            this.owner = owner;
+            this.method = owner != null ? owner.method() : "NONE";
+            this.uri = owner != null ? owner.uri() : "NONE";
+            this.path = owner != null ? owner.path() : "no request";
+            this.checkedOutAt = captureStack ? new Throwable("Connection checked out here") : null;
+        }
+
+        String endpoint() {
+            return owner != null ? method + " " + path : "no request";
+        }
+    }
+
+    Connection checkedOut(Connection connection, long waitNanos) {
+        SqlStatementStats owner = SqlStatementStats.current();
+        boolean detectLeaks = !properties.leakThreshold().isZero();
+        Checkout checkout = new Checkout(owner, detectLeaks);
+        SqlStatementStats.connectionAcquired(owner, waitNanos);
+        if (waitNanos > properties.slowCheckoutThreshold().toNanos()) {
+            counter("jdbc.connections.slow.checkouts", checkout).increment();
+            // Background work, including the pool's first connection at startup, is only counted
+            if (owner != null) {
+                log.warn("{} on thread {} waited {} ms for a database connection", checkout.endpoint(), checkout.thread,
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            }
+        }
+        if (detectLeaks) {
+            checkouts.add(checkout);
+        }
+        return new MonitoredConnection(connection, () -> returned(checkout));
+    }
+
+    void checkoutFailed(long waitNanos) {
+        Checkout checkout = new Checkout(SqlStatementStats.current(), false);
+        counter("jdbc.connections.failed.checkouts", checkout).increment();
+        log.warn("{} on thread {} gave up on a database connection after {} ms", checkout.endpoint(), checkout.thread,
+            TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+
+    @Scheduled(fixedDelayString = "${app.connection-monitoring.leak-check-interval:1s}")
+    public void detectLeaks() {
+        long thresholdNanos = properties.leakThreshold().toNanos();
+        long now = System.nanoTime();
+        for (Checkout checkout : checkouts) {
+            if (!checkout.reported && now - checkout.startNanos > thresholdNanos) {
+                checkout.reported = true;
+                counter("jdbc.connections.leaks", checkout).increment();
+                log.warn("Possible connection leak: held for {} ms by {} on thread {}",
+                    TimeUnit.NANOSECONDS.toMillis(now - checkout.startNanos), checkout.endpoint(), checkout.thread,
+                    checkout.checkedOutAt);
+            }
+        }
+    }
+
+    private void returned(Checkout checkout) {
+        if (!checkout.returned.compareAndSet(false, true)) {
+            return;
+        }
+        long heldNanos = System.nanoTime() - checkout.startNanos;
+        checkouts.remove(checkout);
+        SqlStatementStats.connectionReleased(checkout.owner, heldNanos);
+        if (checkout.reported) {
+            log.info("Connection reported as leaked by {} was returned after {} ms", checkout.endpoint(),
+                TimeUnit.NANOSECONDS.toMillis(heldNanos));
+        }
+    }
+
+    private Counter counter(String name, Checkout checkout) {
+        return Counter.builder(name)
+            .tag("method", checkout.method)
+            .tag("uri", checkout.uri)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.labs.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ConnectionMonitoringProperties.class)
+public class ConnectionMonitoringConfig {
+
+    @Bean
+    public ConnectionMonitor connectionMonitor(ConnectionMonitoringProperties properties, MeterRegistry meterRegistry) {
+        return new ConnectionMonitor(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.labs.monitoring;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.connection-monitoring")
+public record ConnectionMonitoringProperties(
+    @DefaultValue("0s") Duration leakThreshold,
+    @DefaultValue("100ms") Duration slowCheckoutThreshold
+) {}
@@ -0,0 +1,43 @@
+package br.com.labs.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands every connection of the wrapped pool through a {@link ConnectionMonitor}, which times how long
+ * it took to get and how long it is kept.
+ */
+public class MonitoredDataSource extends DelegatingDataSource {
+
+    private final ConnectionMonitor monitor;
+
+    public MonitoredDataSource(DataSource targetDataSource, ConnectionMonitor monitor) {
+        super(targetDataSource);
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return monitor.checkedOut(super.getConnection(), System.nanoTime() - start);
+        } catch (SQLException e) {
+            monitor.checkoutFailed(System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return monitor.checkedOut(super.getConnection(username, password), System.nanoTime() - start);
+        } catch (SQLException e) {
+            monitor.checkoutFailed(System.nanoTime() - start);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.labs.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class SqlStatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStats.statementPrepared();
+        return sql;
+    }
+}
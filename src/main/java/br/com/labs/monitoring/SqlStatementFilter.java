@@ -0,0 +1,119 @@
+package br.com.labs.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements, JDBC time and database connection time of each request, exports them per
+ * endpoint and warns when a request exceeds its statement budget. Runs first so that statements issued by the security filters
+ * (e.g. the JWT user lookup) are attributed to the request too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementProperties properties;
+    private final Deque<RequestSqlStats> recent = new ArrayDeque<>();
+
+    public SqlStatementFilter(MeterRegistry meterRegistry, SqlStatementProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.begin(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.end();
+            record(request, stats);
+        }
+    }
+
+    public List<RequestSqlStats> recent() {
+        synchronized (recent) {
+            return List.copyOf(recent);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        String uri = stats.uri();
+        String endpoint = request.getMethod() + " " + uri;
+
+        DistributionSummary.builder("http.server.sql.statements")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(stats.statements());
+        Timer.builder("http.server.sql.time")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(stats.executionNanos(), TimeUnit.NANOSECONDS);
+        // Only requests that used the database, so cache hits do not hide the ones holding connections
+        if (stats.connections() > 0) {
+            Timer.builder("http.server.connection.hold")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.connectionHoldNanos(), TimeUnit.NANOSECONDS);
+            Timer.builder("http.server.connection.wait")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.connectionWaitNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        int budget = properties.budgetFor(endpoint);
+        if (stats.statements() > budget) {
+            Counter.builder("http.server.sql.budget.exceeded")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+            log.warn("{} executed {} SQL statements (budget {}) in {} ms",
+                endpoint, stats.statements(), budget, TimeUnit.NANOSECONDS.toMillis(stats.executionNanos()));
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} executed {} SQL statements in {} ms",
+                endpoint, stats.statements(), TimeUnit.NANOSECONDS.toMillis(stats.executionNanos()));
+        }
+
+        if (properties.recentRequests() > 0) {
+            synchronized (recent) {
+                recent.addLast(new RequestSqlStats(endpoint, request.getRequestURI(), stats.statements(),
+                    Duration.ofNanos(stats.executionNanos()), stats.connections(),
+                    Duration.ofNanos(stats.connectionHoldNanos())));
+                while (recent.size() > properties.recentRequests()) {
+                    recent.removeFirst();
+                }
+            }
+        }
+    }
+
+    public record RequestSqlStats(String endpoint, String path, int statements, Duration executionTime,
+                                  int connections, Duration connectionHoldTime) {}
+}
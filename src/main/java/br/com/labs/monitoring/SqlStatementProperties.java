@@ -0,0 +1,21 @@
+package br.com.labs.monitoring;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.sql-statements")
+public record SqlStatementProperties(
+    @DefaultValue("20") int defaultBudget,
+    Map<String, Integer> budgets,
+    @DefaultValue("0") int recentRequests
+) {
+    public SqlStatementProperties {
+        budgets = budgets == null ? Map.of() : Map.copyOf(budgets);
+    }
+
+    public int budgetFor(String endpoint) {
+        return budgets.getOrDefault(endpoint, defaultBudget);
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.labs.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Per-request SQL statement count, JDBC execution time and database connection time. Hibernate and
+ * {@link MonitoredDataSource} report into the stats bound to the current thread by {@link SqlStatementFilter};
+ * work outside a request is not attributed.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final HttpServletRequest request;
+    private int statements;
+    private long executionNanos;
+    private int connections;
+    private long connectionWaitNanos;
+    private long connectionHoldNanos;
+
+    private SqlStatementStats(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    static SqlStatementStats begin(HttpServletRequest request) {
+        SqlStatementStats stats = new SqlStatementStats(request);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    static void statementPrepared() {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void executed(long nanos) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.executionNanos += nanos;
+        }
+    }
+
+    static void connectionAcquired(SqlStatementStats stats, long waitNanos) {
+        if (stats != null && CURRENT.get() == stats) {
+            stats.connections++;
+            stats.connectionWaitNanos += waitNanos;
+        }
+    }
+
+    // Only while the request that checked the connection out is still running on this thread
+    static void connectionReleased(SqlStatementStats stats, long holdNanos) {
+        if (stats != null && CURRENT.get() == stats) {
+            stats.connectionHoldNanos += holdNanos;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long executionNanos() {
+        return executionNanos;
+    }
+
+    public int connections() {
+        return connections;
+    }
+
+    public long connectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    public long connectionHoldNanos() {
+        return connectionHoldNanos;
+    }
+
+    String method() {
+        return request.getMethod();
+    }
+
+    // The mapped pattern once the handler is known, so the security filters' lookups get "UNKNOWN"
+    String uri() {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    String path() {
+        return request.getRequestURI();
+    }
+}
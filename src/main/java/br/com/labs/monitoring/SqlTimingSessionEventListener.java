@@ -0,0 +1,28 @@
+package br.com.labs.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+public class SqlTimingSessionEventListener extends BaseSessionEventListener {
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementStats.executed(System.nanoTime() - executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementStats.executed(System.nanoTime() - executionStart);
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.labs.partition;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(PartitioningProperties.class)
+public class PartitioningConfig {
+
+    // Takes the EntityManagerFactory so Hibernate has created or updated the schema before it is converted
+    @Bean(destroyMethod = "shutdown")
+    public RestaurantPartitionManager restaurantPartitionManager(EntityManagerFactory entityManagerFactory,
+                                                                 JdbcTemplate jdbcTemplate,
+                                                                 PlatformTransactionManager transactionManager,
+                                                                 PartitioningProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        return new RestaurantPartitionManager(jdbcTemplate, transactionManager, properties, Clock.systemDefaultZone(),
+            meterRegistry);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.labs.partition;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.partitioning")
+public record PartitioningProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("3") int monthsAhead,
+    @DefaultValue("5s") Duration lockTimeout,
+    @DefaultValue("") String archiveTablespace,
+    @DefaultValue("365d") Duration archiveAfter
+) {}
@@ -0,0 +1,291 @@
+package br.com.labs.partition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps {@code restaurants} range-partitioned by the month of {@code created_at}. At startup the plain table
+ * Hibernate creates is converted in one transaction, so pages ordered by creation read one partition and
+ * stop, and deletes of old months touch only theirs. Lookups by id keep working on every partition, each
+ * probed through its own primary key index. There is no default partition, which would make PostgreSQL
+ * merge every partition for each ordered page: rows older than the first month live in
+ * {@code restaurants_history}, and months are created {@code months-ahead} in advance. Partitions that ended
+ * more than {@code archive-after} ago are moved to {@code archive-tablespace}, one per run, off the
+ * shared scheduler thread.
+ *
+ * <p>The partition key has to be in the primary key, so other tables cannot reference restaurants with a
+ * foreign key; a statement trigger deletes their reviews and photos instead.
+ */
+public class RestaurantPartitionManager implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RestaurantPartitionManager.class);
+
+    static final String HISTORY = "restaurants_history";
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtext('restaurants_partitioning'))";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final PartitioningProperties properties;
+    private final Clock clock;
+    private final Counter archived;
+    private final AtomicBoolean maintenanceQueued = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().daemon().name("restaurant-partitioning").factory());
+
+    private volatile int partitionCount;
+    private volatile boolean running;
+
+    record Partition(String name, LocalDateTime upperBound, String tablespace) {}
+
+    public RestaurantPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                      PartitioningProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+        this.archived = meterRegistry.counter("restaurant.partitions.archived");
+        Gauge.builder("restaurant.partitions", this, manager -> manager.partitionCount).register(meterRegistry);
+    }
+
+    // Every node runs this on startup, before the web server takes requests; the advisory lock lets one convert
+    // while the others wait and then skip. A lifecycle start rather than an init method, so a build-time
+    // training run that exits on refresh never connects
+    @Override
+    public void start() {
+        initialize();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Well ahead of the web server's phase
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void initialize() {
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute(LOCK);
+            String kind = relkind("restaurants");
+            if (kind == null) {
+                return;
+            }
+            if (properties.enabled() && kind.equals("r")) {
+                convert();
+            }
+            installCascade();
+        });
+        maintain();
+    }
+
+    // Archiving rewrites a whole partition, so it runs on a thread of its own, not on the shared scheduler thread
+    @Scheduled(fixedDelayString = "${app.partitioning.maintenance-interval:1h}",
+        initialDelayString = "${app.partitioning.maintenance-interval:1h}")
+    public void requestMaintenance() {
+        if (maintenanceQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                maintenanceQueued.set(false);
+                maintain();
+            });
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Creates the months up to {@code months-ahead} from now and archives the oldest cold partition. Does
+     * nothing while the table is not partitioned.
+     */
+    public void maintain() {
+        try {
+            List<Partition> partitions = transaction.execute(status ->
+                "p".equals(relkind("restaurants")) ? partitions() : null);
+            if (partitions == null) {
+                return;
+            }
+            partitionCount = partitions.size();
+            partitions.stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .map(last -> monthsBetween(YearMonth.from(last), YearMonth.now(clock).plusMonths(properties.monthsAhead())))
+                .orElse(List.of())
+                .forEach(month -> transaction.executeWithoutResult(status -> create(month)));
+            if (!properties.archiveTablespace().isBlank()) {
+                LocalDateTime cutoff = LocalDateTime.now(clock).minus(properties.archiveAfter());
+                partitions.stream()
+                    .filter(partition -> partition.upperBound() != null && !partition.upperBound().isAfter(cutoff))
+                    .filter(partition -> !partition.tablespace().equals(properties.archiveTablespace()))
+                    .min(Comparator.comparing(Partition::upperBound))
+                    .ifPresent(partition -> transaction.executeWithoutResult(status -> archive(partition)));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not maintain the restaurant partitions, trying again on the next run", e);
+        }
+    }
+
+    // Copies into the new table before building its indexes; the identity sequence goes with the old table,
+    // so ids continue from a plain sequence
+    private void convert() {
+        jdbcTemplate.execute("LOCK TABLE restaurants IN ACCESS EXCLUSIVE MODE");
+        List<String> indexes = jdbcTemplate.queryForList("""
+            SELECT pg_get_indexdef(indexrelid) FROM pg_index
+            WHERE indrelid = 'restaurants'::regclass AND NOT indisprimary
+            """, String.class);
+        List<String> foreignKeys = jdbcTemplate.queryForList("""
+            SELECT format('ALTER TABLE restaurants ADD CONSTRAINT %I %s', conname, pg_get_constraintdef(oid))
+            FROM pg_constraint WHERE conrelid = 'restaurants'::regclass AND contype = 'f'
+            """, String.class);
+        List<String> referencing = jdbcTemplate.queryForList("""
+            SELECT format('ALTER TABLE %s DROP CONSTRAINT %I', conrelid::regclass, conname)
+            FROM pg_constraint WHERE confrelid = 'restaurants'::regclass AND contype = 'f'
+            """, String.class);
+        LocalDateTime oldest = jdbcTemplate.queryForObject("SELECT min(created_at) FROM restaurants", LocalDateTime.class);
+        YearMonth first = oldest == null ? YearMonth.now(clock) : YearMonth.from(oldest);
+
+        referencing.forEach(jdbcTemplate::execute);
+        jdbcTemplate.execute("ALTER TABLE restaurants RENAME TO restaurants_unpartitioned");
+        jdbcTemplate.execute("""
+            CREATE TABLE restaurants (LIKE restaurants_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+            PARTITION BY RANGE (created_at)
+            """);
+        jdbcTemplate.execute("CREATE TABLE " + HISTORY + " PARTITION OF restaurants FOR VALUES FROM (MINVALUE) TO ('"
+            + first.atDay(1) + "')");
+        for (YearMonth month : monthsBetween(first, YearMonth.now(clock).plusMonths(properties.monthsAhead()))) {
+            jdbcTemplate.execute("CREATE TABLE " + partitionName(month) + " PARTITION OF restaurants " + bounds(month));
+        }
+        int copied = jdbcTemplate.update("INSERT INTO restaurants SELECT * FROM restaurants_unpartitioned");
+        Long nextId = jdbcTemplate.queryForObject("SELECT coalesce(max(id), 0) + 1 FROM restaurants", Long.class);
+        jdbcTemplate.execute("DROP TABLE restaurants_unpartitioned");
+        jdbcTemplate.execute("CREATE SEQUENCE restaurants_id_seq START WITH " + nextId + " OWNED BY restaurants.id");
+        jdbcTemplate.execute("ALTER TABLE restaurants ALTER COLUMN id SET DEFAULT nextval('restaurants_id_seq')");
+        jdbcTemplate.execute("ALTER TABLE restaurants ADD PRIMARY KEY (id, created_at)");
+        indexes.forEach(jdbcTemplate::execute);
+        foreignKeys.forEach(jdbcTemplate::execute);
+        log.info("Partitioned the restaurants table by month from {}, copying {} rows", first, copied);
+    }
+
+    private void installCascade() {
+        jdbcTemplate.execute("""
+            CREATE OR REPLACE FUNCTION restaurants_delete_children() RETURNS trigger LANGUAGE plpgsql AS $$
+            BEGIN
+                DELETE FROM reviews WHERE restaurant_id IN (SELECT id FROM deleted);
+                DELETE FROM restaurant_photos WHERE restaurant_id IN (SELECT id FROM deleted);
+                RETURN NULL;
+            END $$
+            """);
+        jdbcTemplate.execute("""
+            CREATE OR REPLACE TRIGGER restaurants_delete_children AFTER DELETE ON restaurants
+            REFERENCING OLD TABLE AS deleted FOR EACH STATEMENT EXECUTE FUNCTION restaurants_delete_children()
+            """);
+    }
+
+    // Attaching takes a lighter lock on restaurants than CREATE TABLE ... PARTITION OF, so reads and writes go on
+    private void create(YearMonth month) {
+        jdbcTemplate.execute(LOCK);
+        String name = partitionName(month);
+        if (relkind(name) != null) {
+            return;
+        }
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + properties.lockTimeout().toMillis());
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE restaurants INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        jdbcTemplate.execute("ALTER TABLE restaurants ATTACH PARTITION " + name + " " + bounds(month));
+        partitionCount++;
+        log.info("Created restaurant partition {}", name);
+    }
+
+    // Rewrites the partition and its indexes; reads of it, including lookups by id, wait until it is done
+    private void archive(Partition partition) {
+        jdbcTemplate.execute(LOCK);
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + properties.lockTimeout().toMillis());
+        String tablespace = properties.archiveTablespace();
+        jdbcTemplate.execute("ALTER TABLE " + partition.name() + " SET TABLESPACE " + tablespace);
+        jdbcTemplate.queryForList("SELECT indexrelid::regclass::text FROM pg_index WHERE indrelid = ?::regclass",
+                String.class, partition.name())
+            .forEach(index -> jdbcTemplate.execute("ALTER INDEX " + index + " SET TABLESPACE " + tablespace));
+        archived.increment();
+        log.info("Moved restaurant partition {} to tablespace {}", partition.name(), tablespace);
+    }
+
+    private String relkind(String table) {
+        return jdbcTemplate.queryForList("SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)",
+            String.class, table).stream().findFirst().orElse(null);
+    }
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query("""
+            SELECT c.relname, pg_get_expr(c.relpartbound, c.oid), coalesce(t.spcname, '')
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            LEFT JOIN pg_tablespace t ON t.oid = c.reltablespace
+            WHERE i.inhparent = 'restaurants'::regclass
+            """, (rs, rowNum) -> new Partition(rs.getString(1), upperBound(rs.getString(2)), rs.getString(3)));
+    }
+
+    static String partitionName(YearMonth month) {
+        return "restaurants_p" + month.format(MONTH);
+    }
+
+    private static String bounds(YearMonth month) {
+        return "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    // From PostgreSQL's rendering of the bound, as in FOR VALUES FROM ('2026-01-01 00:00:00') TO ('2026-02-01 00:00:00')
+    static LocalDateTime upperBound(String bound) {
+        Matcher matcher = UPPER_BOUND.matcher(bound);
+        if (!matcher.find()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(matcher.group(1), BOUND);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    static List<YearMonth> monthsBetween(YearMonth from, YearMonth to) {
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.labs.photo;
+
+import org.springframework.http.MediaType;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The photo formats accepted, recognized by their first bytes rather than by the declared
+ * {@code Content-Type}, so nothing but an image is ever served back as one.
+ */
+public enum ImageType {
+
+    JPEG(MediaType.IMAGE_JPEG_VALUE, new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+    PNG(MediaType.IMAGE_PNG_VALUE, new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+    GIF(MediaType.IMAGE_GIF_VALUE, new byte[] {'G', 'I', 'F', '8'});
+
+    private static final int SIGNATURE_LENGTH = 8;
+
+    private final String contentType;
+    private final byte[] signature;
+
+    ImageType(String contentType, byte[] signature) {
+        this.contentType = contentType;
+        this.signature = signature;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * The type of the image {@code in} starts with, leaving the stream where it was.
+     */
+    public static Optional<ImageType> peek(BufferedInputStream in) throws IOException {
+        in.mark(SIGNATURE_LENGTH);
+        byte[] head = in.readNBytes(SIGNATURE_LENGTH);
+        in.reset();
+        return sniff(head);
+    }
+
+    static Optional<ImageType> sniff(byte[] head) {
+        return Arrays.stream(values())
+            .filter(type -> head.length >= type.signature.length
+                && Arrays.equals(head, 0, type.signature.length, type.signature, 0, type.signature.length))
+            .findFirst();
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.labs.photo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+@EnableConfigurationProperties(PhotoStorageProperties.class)
+public class PhotoStorageConfig {
+
+    @Bean
+    public PhotoStore photoStore(PhotoStorageProperties properties) throws IOException {
+        return new PhotoStore(properties.directory());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThumbnailGenerator thumbnailGenerator(PhotoStore photoStore, PhotoStorageProperties properties,
+                                                 MeterRegistry meterRegistry) {
+        return new ThumbnailGenerator(photoStore, properties.thumbnailSize(), properties.thumbnailThreads(),
+            meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.labs.photo;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.photos")
+public record PhotoStorageProperties(
+    @DefaultValue("data/photos") Path directory,
+    @DefaultValue("10MB") DataSize maxSize,
+    @DefaultValue("320") int thumbnailSize,
+    @DefaultValue("1") int thumbnailThreads,
+    @DefaultValue("365d") Duration cacheMaxAge,
+    @DefaultValue("1h") Duration sweepInterval
+) {}
@@ -0,0 +1,150 @@
+package br.com.labs.photo;
+
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Photo files addressed by the SHA-256 of their bytes: {@code originals/ab/cd/abcd…} and the matching
+ * {@code thumbnails/ab/cd/abcd….jpg}. A file never changes once written, which is what lets downloads be
+ * cached forever. Uploads are streamed to {@code tmp} through a fixed buffer while hashed, then moved in
+ * place with a rename, so a reader never sees a partial file.
+ */
+public class PhotoStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path originals;
+    private final Path thumbnails;
+    private final Path tmp;
+
+    public record StoredFile(String hash, long size) {}
+
+    public PhotoStore(Path directory) throws IOException {
+        this.originals = Files.createDirectories(directory.resolve("originals"));
+        this.thumbnails = Files.createDirectories(directory.resolve("thumbnails"));
+        this.tmp = Files.createDirectories(directory.resolve("tmp"));
+    }
+
+    /**
+     * Copies {@code in} to its place under its hash. Bytes already stored are kept and the copy discarded.
+     *
+     * @throws MaxUploadSizeExceededException past {@code maxBytes}, leaving nothing behind
+     */
+    public StoredFile store(InputStream in, long maxBytes) throws IOException {
+        MessageDigest digest = sha256();
+        Path upload = Files.createTempFile(tmp, "upload-", null);
+        try {
+            long size = 0;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (OutputStream out = Files.newOutputStream(upload)) {
+                for (int read; (read = in.read(buffer)) != -1; ) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new MaxUploadSizeExceededException(maxBytes);
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = original(hash);
+            if (!touch(target)) {
+                publish(upload, target);
+            }
+            return new StoredFile(hash, size);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    public Path original(String hash) {
+        return originals.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    public Path thumbnail(String hash) {
+        return thumbnails.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash + ".jpg");
+    }
+
+    /**
+     * Moves {@code file} in place atomically, replacing what is there.
+     */
+    void publish(Path file, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    Path newTemporaryFile(String prefix) throws IOException {
+        return Files.createTempFile(tmp, prefix, null);
+    }
+
+    /**
+     * Deletes a photo and its thumbnail unless an upload of the same bytes touched it after {@code cutoff}.
+     */
+    public boolean deleteIfUnchangedSince(String hash, Instant cutoff) throws IOException {
+        if (!isRegularFileBefore(original(hash), FileTime.from(cutoff))) {
+            return false;
+        }
+        Files.deleteIfExists(thumbnail(hash));
+        return Files.deleteIfExists(original(hash));
+    }
+
+    /**
+     * Hashes of the stored originals last written before {@code cutoff}. Leftovers of interrupted uploads
+     * older than that are deleted on the way.
+     */
+    public void forEachStoredBefore(Instant cutoff, Consumer<String> consumer) throws IOException {
+        FileTime limit = FileTime.from(cutoff);
+        try (Stream<Path> files = Files.walk(originals)) {
+            files.filter(file -> isRegularFileBefore(file, limit))
+                .forEach(file -> consumer.accept(file.getFileName().toString()));
+        }
+        try (Stream<Path> files = Files.list(tmp)) {
+            for (Path file : files.filter(file -> isRegularFileBefore(file, limit)).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Same bytes as an existing photo; a fresh timestamp keeps the sweep away from it
+    private static boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static boolean isRegularFileBefore(Path file, FileTime limit) {
+        try {
+            return Files.isRegularFile(file) && Files.getLastModifiedTime(file).compareTo(limit) < 0;
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.labs.photo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes JPEG thumbnails on a small pool of its own, never on a request thread. Large photos are decoded
+ * with subsampling, so a 24-megapixel upload costs about as much heap as the thumbnail itself. The queue
+ * is bounded; a thumbnail dropped because it was full is requested again on its first download.
+ */
+public class ThumbnailGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailGenerator.class);
+
+    private static final int QUEUE_CAPACITY = 1000;
+
+    private final PhotoStore photoStore;
+    private final int size;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final Timer timer;
+    private final Counter failures;
+
+    public ThumbnailGenerator(PhotoStore photoStore, int size, int threads, MeterRegistry meterRegistry) {
+        this.photoStore = photoStore;
+        this.size = size;
+        AtomicInteger count = new AtomicInteger();
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "thumbnails-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer = meterRegistry.timer("photos.thumbnails");
+        this.failures = meterRegistry.counter("photos.thumbnails.failed");
+        Gauge.builder("photos.thumbnails.queued", queue, BlockingQueue::size)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queues the thumbnail of a stored photo unless it is already queued.
+     */
+    public void request(String hash) {
+        if (!queued.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    timer.record(() -> generate(hash));
+                } finally {
+                    queued.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(hash);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void generate(String hash) {
+        Path thumbnail = photoStore.thumbnail(hash);
+        if (Files.exists(thumbnail)) {
+            return;
+        }
+        try {
+            BufferedImage image = read(photoStore.original(hash));
+            if (image == null) {
+                failures.increment();
+                log.warn("Could not decode photo {} for its thumbnail", hash);
+                return;
+            }
+            Path file = photoStore.newTemporaryFile("thumbnail-");
+            try {
+                ImageIO.write(scale(image), "jpg", file.toFile());
+                photoStore.publish(file, thumbnail);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            log.warn("Could not write the thumbnail of photo {}", hash, e);
+        }
+    }
+
+    // Decodes every n-th pixel of every n-th row, keeping at least twice the thumbnail size for a smooth scale
+    private BufferedImage read(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longest / (size * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image) {
+        double ratio = Math.min(1.0, size / (double) Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no transparency; transparent PNG and GIF pixels turn white instead of black
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.labs.popularity;
+
+import br.com.labs.cache.RestaurantJsonCache;
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.event.RestaurantsChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts restaurant views in memory and writes them to {@code restaurant_view_counts} in one batched upsert
+ * every {@code app.view-counts.flush-interval}. A view costs a map lookup and a {@link LongAdder} increment,
+ * which spreads contention on a hot restaurant across cells. Views not yet flushed are lost if the process
+ * dies, so the loss is bounded by the flush interval; a clean shutdown flushes them. Responses show the
+ * flushed count, so they trail the live one by up to a flush interval.
+ */
+@Component
+public class RestaurantViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(RestaurantViewCounter.class);
+
+    // restaurant_view_counts has no foreign key (restaurants is partitioned), so a view that arrives after the
+    // restaurant's delete must not bring its row back; the key-share lock makes a concurrent delete wait or win
+    private static final String UPSERT = """
+        INSERT INTO restaurant_view_counts (restaurant_id, views)
+        SELECT ?, ? WHERE EXISTS (SELECT 1 FROM restaurants WHERE id = ? FOR KEY SHARE)
+        ON CONFLICT (restaurant_id) DO UPDATE SET views = restaurant_view_counts.views + EXCLUDED.views
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RestaurantJsonCache restaurantJsonCache;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    private final Counter flushedViews;
+    private final Counter failedFlushes;
+
+    public RestaurantViewCounter(JdbcTemplate jdbcTemplate, RestaurantJsonCache restaurantJsonCache,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.restaurantJsonCache = restaurantJsonCache;
+        this.flushTimer = meterRegistry.timer("restaurant.views.flush");
+        this.flushedViews = meterRegistry.counter("restaurant.views.flushed");
+        this.failedFlushes = meterRegistry.counter("restaurant.views.flush.failures");
+    }
+
+    public void increment(Long restaurantId) {
+        LongAdder views = pending.get(restaurantId);
+        if (views == null) {
+            views = pending.computeIfAbsent(restaurantId, id -> new LongAdder());
+        }
+        views.increment();
+    }
+
+    // Entries stay in the map after a flush, one per viewed restaurant, so a late increment is never
+    // made on an adder that was already dropped
+    @Scheduled(fixedDelayString = "${app.view-counts.flush-interval:5s}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        pending.forEach((id, views) -> {
+            long count = views.sumThenReset();
+            if (count > 0) {
+                batch.add(new Object[] {id, count, id});
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Rows are locked in id order, so two nodes flushing the same restaurants cannot deadlock
+        batch.sort(Comparator.comparingLong(row -> (Long) row[0]));
+        try {
+            int[] written = flushTimer.record(() -> jdbcTemplate.batchUpdate(UPSERT, batch));
+            forgetDeleted(batch, written);
+            flushedViews.increment(batch.stream().mapToLong(row -> (Long) row[1]).sum());
+            // The cached JSON carries the old count; the next read renders the new one
+            restaurantJsonCache.evictAll(batch.stream().map(row -> (Long) row[0]).toList());
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            batch.forEach(row -> pending.computeIfAbsent((Long) row[0], id -> new LongAdder()).add((Long) row[1]));
+            log.warn("Could not flush {} restaurant view counts, retrying on the next flush", batch.size(), e);
+        }
+    }
+
+    // Views that came in after the delete event wrote nothing; their entries would otherwise stay forever
+    private void forgetDeleted(List<Object[]> batch, int[] written) {
+        for (int i = 0; i < written.length; i++) {
+            if (written[i] == 0) {
+                pending.remove((Long) batch.get(i)[0]);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.type() == RestaurantChangedEvent.Type.DELETED) {
+            pending.remove(event.restaurantId());
+            jdbcTemplate.update("DELETE FROM restaurant_view_counts WHERE restaurant_id = ?", event.restaurantId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantsChanged(RestaurantsChangedEvent event) {
+        if (event.type() == RestaurantChangedEvent.Type.DELETED) {
+            event.restaurantIds().forEach(pending::remove);
+            jdbcTemplate.update("DELETE FROM restaurant_view_counts WHERE restaurant_id = ANY(?)",
+                statement -> statement.setArray(1,
+                    statement.getConnection().createArrayOf("bigint", event.restaurantIds().toArray())));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
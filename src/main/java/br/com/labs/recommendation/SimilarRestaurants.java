@@ -0,0 +1,172 @@
+package br.com.labs.recommendation;
+
+import br.com.labs.dto.response.SimilarRestaurantResponse;
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.event.RestaurantsChangedEvent;
+import br.com.labs.exception.ResourceNotFoundException;
+import br.com.labs.recommendation.SimilarityIndex.Document;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves "similar restaurants" from a {@link SimilarityIndex} held in memory; a request never reaches the
+ * database. The index is rebuilt in the background every {@code app.similar-restaurants.rebuild-interval}
+ * on its own fork/join pool, and restaurant changes are folded into it every {@code update-interval}.
+ * A rebuild and an update never run together; an update due during a rebuild waits for the next round.
+ */
+@Component
+public class SimilarRestaurants {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarRestaurants.class);
+
+    private static final String SELECT_ALL = "SELECT id, name, description, location FROM restaurants WHERE NOT hidden";
+    private static final String SELECT_BY_IDS = SELECT_ALL + " AND id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ForkJoinPool pool;
+    private final int k;
+    private final double maxDocumentFrequency;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock writer = new ReentrantLock();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final Timer rebuildTimer;
+    private final Timer updateTimer;
+
+    private volatile SimilarityIndex index;
+
+    public SimilarRestaurants(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.similar-restaurants.neighbors:10}") int k,
+                              @Value("${app.similar-restaurants.max-document-frequency:0.1}") double maxDocumentFrequency,
+                              @Value("${app.similar-restaurants.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.k = k;
+        this.maxDocumentFrequency = maxDocumentFrequency;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.rebuildTimer = meterRegistry.timer("similar.restaurants.rebuild");
+        this.updateTimer = meterRegistry.timer("similar.restaurants.update");
+        Gauge.builder("similar.restaurants.indexed", this, similar -> similar.index == null ? 0 : similar.index.size())
+            .register(meterRegistry);
+        Gauge.builder("similar.restaurants.pending", pending, Set::size)
+            .register(meterRegistry);
+    }
+
+    /**
+     * The most similar restaurants first. Empty until the first build finishes.
+     */
+    public List<SimilarRestaurantResponse> find(Long id) {
+        SimilarityIndex current = index;
+        if (current == null) {
+            return List.of();
+        }
+        List<SimilarityIndex.Neighbor> neighbors = current.neighbors(id);
+        if (neighbors == null) {
+            throw new ResourceNotFoundException("Restaurant", id);
+        }
+        return neighbors.stream().map(SimilarRestaurantResponse::fromNeighbor).toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        pending.add(event.restaurantId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantsChanged(RestaurantsChangedEvent event) {
+        pending.addAll(event.restaurantIds());
+    }
+
+    // Also runs right after startup; the build itself happens on the pool, off the scheduler thread
+    @Scheduled(fixedDelayString = "${app.similar-restaurants.rebuild-interval:1h}")
+    public void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            pool.execute(() -> {
+                rebuildQueued.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    // Pending ids are left alone: any change that commits during the load is applied again on top, harmlessly
+    public void rebuild() {
+        writer.lock();
+        try {
+            long start = System.nanoTime();
+            List<Document> documents = jdbcTemplate.query(SELECT_ALL, SimilarRestaurants::document);
+            index = SimilarityIndex.build(documents, k, maxDocumentFrequency, pool);
+            long took = System.nanoTime() - start;
+            rebuildTimer.record(took, TimeUnit.NANOSECONDS);
+            log.info("Built similar restaurants for {} restaurants in {} ms with parallelism {}",
+                documents.size(), TimeUnit.NANOSECONDS.toMillis(took), pool.getParallelism());
+        } catch (RuntimeException e) {
+            log.warn("Could not build similar restaurants, keeping the previous index", e);
+        } finally {
+            writer.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.similar-restaurants.update-interval:5s}")
+    public void applyPendingChanges() {
+        SimilarityIndex current = index;
+        if (current == null || pending.isEmpty() || !writer.tryLock()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (Long id : pending) {
+                pending.remove(id);
+                ids.add(id);
+            }
+            updateTimer.record(() -> {
+                List<Document> found = jdbcTemplate.query(SELECT_BY_IDS,
+                    statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint", ids.toArray())),
+                    SimilarRestaurants::document);
+                Set<Long> deleted = new HashSet<>(ids);
+                found.forEach(document -> deleted.remove(document.id()));
+                // Review writes also announce the restaurant as changed; its text is what matters here
+                current.apply(found.stream().filter(document -> !current.isCurrent(document)).toList(), deleted);
+            });
+            if (current.needsRebuild()) {
+                requestRebuild();
+            }
+        } catch (RuntimeException e) {
+            pending.addAll(ids);
+            log.warn("Could not update similar restaurants for {} changes, retrying on the next update", ids.size(), e);
+        } finally {
+            writer.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static Document document(ResultSet rs, int rowNum) throws SQLException {
+        String name = rs.getString("name");
+        String location = rs.getString("location");
+        String text = name + ' ' + rs.getString("description") + (location == null ? "" : ' ' + location);
+        return new Document(rs.getLong("id"), name, text);
+    }
+}
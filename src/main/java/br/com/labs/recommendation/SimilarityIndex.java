@@ -0,0 +1,478 @@
+package br.com.labs.recommendation;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * TF-IDF vectors of restaurant texts and, for every restaurant, its {@code k} nearest neighbors by cosine
+ * similarity. {@link #build} scores each document only against the documents sharing a term with it, through
+ * an inverted index, and splits the documents across a fork/join pool. Terms found in more than
+ * {@code maxDocumentFrequency} of a large corpus are left out: they would add a long posting list to nearly
+ * every document for a weight close to zero.
+ *
+ * <p>{@link #apply} folds changes in without a rebuild: changed documents leave the inverted index and are
+ * scored against it, and against each other, by brute force, with the IDF of the last build. Lists that lose
+ * a neighbor stay short until the next build; {@link #needsRebuild()} says when the changes have piled up.
+ * Only one thread may call {@code apply}; {@link #neighbors} can be called from any thread.
+ */
+public final class SimilarityIndex {
+
+    public record Document(long id, String name, String text) {}
+
+    public record Neighbor(long id, String name, float score) {}
+
+    private record Vector(int[] terms, float[] weights) {}
+
+    private record Entry(long id, String name, int textHash, Vector vector) {}
+
+    // Below this document frequency a term is kept however common it is, so small corpora keep their matches
+    private static final int MIN_PRUNED_DOCUMENT_FREQUENCY = 1_000;
+
+    private static final Set<String> STOPWORDS = Set.of(
+        "com", "para", "uma", "dos", "das", "que", "por", "mais", "nos", "nas", "seu", "sua", "the", "and");
+
+    private final int k;
+    private final Map<String, Integer> dictionary;
+    private final float[] idf;
+    private final float newTermIdf;
+    private final Entry[] base;
+    private final int[][] postingDocs;
+    private final float[][] postingWeights;
+    private final Map<Long, Integer> baseIndex;
+    private final BitSet removed = new BitSet();
+    private final Map<Long, Entry> changed = new LinkedHashMap<>();
+    private final Map<Long, List<Neighbor>> neighbors;
+
+    private SimilarityIndex(int k, Map<String, Integer> dictionary, float[] idf, Entry[] base,
+                            int[][] postingDocs, float[][] postingWeights, Map<Long, List<Neighbor>> neighbors) {
+        this.k = k;
+        this.dictionary = dictionary;
+        this.idf = idf;
+        this.newTermIdf = (float) Math.log(base.length + 1.0);
+        this.base = base;
+        this.postingDocs = postingDocs;
+        this.postingWeights = postingWeights;
+        this.baseIndex = new HashMap<>(base.length * 4 / 3 + 1);
+        for (int doc = 0; doc < base.length; doc++) {
+            baseIndex.put(base[doc].id(), doc);
+        }
+        this.neighbors = neighbors;
+    }
+
+    public static SimilarityIndex build(List<Document> documents, int k, double maxDocumentFrequency, ForkJoinPool pool) {
+        int n = documents.size();
+
+        Map<String, Integer> dictionary = new ConcurrentHashMap<>();
+        AtomicInteger nextTerm = new AtomicInteger();
+        int[][] termCounts = new int[n][];
+        // The mapping runs once per new term, so ids stay dense
+        parallelFor(pool, n, doc -> termCounts[doc] = termCounts(documents.get(doc).text(),
+            term -> dictionary.computeIfAbsent(term, t -> nextTerm.getAndIncrement())));
+        // Which thread saw a term first decides its id, and ids decide the order of the float sums; numbering
+        // the terms alphabetically makes the scores the same at any parallelism
+        String[] sorted = dictionary.keySet().toArray(String[]::new);
+        Arrays.sort(sorted);
+        int[] renumber = new int[sorted.length];
+        for (int term = 0; term < sorted.length; term++) {
+            renumber[dictionary.put(sorted[term], term)] = term;
+        }
+        parallelFor(pool, n, doc -> termCounts[doc] = renumbered(termCounts[doc], renumber));
+
+        int terms = dictionary.size();
+        int[] documentFrequency = new int[terms];
+        for (int[] counts : termCounts) {
+            for (int i = 0; i < counts.length; i += 2) {
+                documentFrequency[counts[i]]++;
+            }
+        }
+
+        double pruneAbove = Math.max(MIN_PRUNED_DOCUMENT_FREQUENCY, maxDocumentFrequency * n);
+        float[] idf = new float[terms];
+        for (int term = 0; term < terms; term++) {
+            idf[term] = documentFrequency[term] > pruneAbove ? 0f : (float) Math.log((n + 1.0) / documentFrequency[term]);
+        }
+
+        Entry[] base = new Entry[n];
+        parallelFor(pool, n, doc -> {
+            Document document = documents.get(doc);
+            base[doc] = new Entry(document.id(), document.name(), document.text().hashCode(),
+                vector(termCounts[doc], term -> idf[term]));
+        });
+
+        int[][] postingDocs = new int[terms][];
+        float[][] postingWeights = new float[terms][];
+        int[] filled = new int[terms];
+        for (int term = 0; term < terms; term++) {
+            int length = idf[term] > 0f ? documentFrequency[term] : 0;
+            postingDocs[term] = new int[length];
+            postingWeights[term] = new float[length];
+        }
+        for (int doc = 0; doc < n; doc++) {
+            Vector vector = base[doc].vector();
+            for (int i = 0; i < vector.terms().length; i++) {
+                int term = vector.terms()[i];
+                postingDocs[term][filled[term]] = doc;
+                postingWeights[term][filled[term]++] = vector.weights()[i];
+            }
+        }
+
+        Map<Long, List<Neighbor>> neighbors = new ConcurrentHashMap<>(n * 4 / 3 + 1);
+        SimilarityIndex index = new SimilarityIndex(k, dictionary, idf, base, postingDocs, postingWeights, neighbors);
+        ThreadLocal<Scores> scratch = ThreadLocal.withInitial(() -> new Scores(n));
+        parallelFor(pool, n, doc -> neighbors.put(base[doc].id(), index.nearest(base[doc], doc, scratch.get())));
+        return index;
+    }
+
+    /**
+     * The neighbors of a restaurant, most similar first, or {@code null} when it is not indexed.
+     */
+    public List<Neighbor> neighbors(long id) {
+        return neighbors.get(id);
+    }
+
+    public int size() {
+        return neighbors.size();
+    }
+
+    /**
+     * Whether the index already holds this text for the document, so applying it would change nothing.
+     */
+    public boolean isCurrent(Document document) {
+        Entry entry = changed.get(document.id());
+        if (entry == null) {
+            Integer doc = baseIndex.get(document.id());
+            entry = doc == null || removed.get(doc) ? null : base[doc];
+        }
+        return entry != null && entry.textHash() == document.text().hashCode() && entry.name().equals(document.name());
+    }
+
+    public void apply(List<Document> updated, Collection<Long> deleted) {
+        Set<Long> affected = new HashSet<>(deleted);
+        updated.forEach(document -> affected.add(document.id()));
+        if (affected.isEmpty()) {
+            return;
+        }
+        for (Long id : affected) {
+            Integer doc = baseIndex.get(id);
+            if (doc != null) {
+                removed.set(doc);
+            }
+            changed.remove(id);
+        }
+        // New lists are built aside and each swapped in with one put, so a concurrent reader never finds a
+        // restaurant missing. The updated documents are offered again below with their new scores.
+        Map<Long, List<Neighbor>> staged = new HashMap<>();
+        neighbors.forEach((id, list) -> {
+            if (!affected.contains(id) && list.stream().anyMatch(neighbor -> affected.contains(neighbor.id()))) {
+                staged.put(id, list.stream().filter(neighbor -> !affected.contains(neighbor.id())).toList());
+            }
+        });
+
+        for (Document document : updated) {
+            int[] counts = termCounts(document.text(), term -> dictionary.computeIfAbsent(term, t -> dictionary.size()));
+            changed.put(document.id(), new Entry(document.id(), document.name(), document.text().hashCode(),
+                vector(counts, term -> term < idf.length ? idf[term] : newTermIdf)));
+        }
+
+        Scores scores = new Scores(base.length);
+        for (Document document : updated) {
+            Entry entry = changed.get(document.id());
+            TopK own = new TopK(k);
+            int touched = scores.accumulate(entry.vector(), postingDocs, postingWeights);
+            for (int i = 0; i < touched; i++) {
+                int doc = scores.touched[i];
+                float score = scores.take(doc);
+                if (removed.get(doc)) {
+                    continue;
+                }
+                own.offer(base[doc].id(), base[doc].name(), score);
+                offer(staged, base[doc].id(), new Neighbor(entry.id(), entry.name(), score));
+            }
+            for (Entry other : changed.values()) {
+                float score = other == entry ? 0f : dot(entry.vector(), other.vector());
+                if (score > 0f) {
+                    own.offer(other.id(), other.name(), score);
+                    // Another updated document gets this one in its own list, scored the same way
+                    if (!affected.contains(other.id())) {
+                        offer(staged, other.id(), new Neighbor(entry.id(), entry.name(), score));
+                    }
+                }
+            }
+            staged.put(entry.id(), own.toList());
+        }
+
+        neighbors.putAll(staged);
+        deleted.forEach(neighbors::remove);
+    }
+
+    // The changed documents are scored by brute force, so past a twentieth of the corpus a build is cheaper
+    public boolean needsRebuild() {
+        return changed.size() * 20L > base.length;
+    }
+
+    private List<Neighbor> nearest(Entry entry, int self, Scores scores) {
+        TopK top = new TopK(k);
+        int touched = scores.accumulate(entry.vector(), postingDocs, postingWeights);
+        for (int i = 0; i < touched; i++) {
+            int doc = scores.touched[i];
+            float score = scores.take(doc);
+            if (doc != self) {
+                top.offer(base[doc].id(), base[doc].name(), score);
+            }
+        }
+        return top.toList();
+    }
+
+    private void offer(Map<Long, List<Neighbor>> staged, long id, Neighbor candidate) {
+        List<Neighbor> list = staged.containsKey(id) ? staged.get(id) : neighbors.get(id);
+        if (list == null || (list.size() == k && list.getLast().score() >= candidate.score())) {
+            return;
+        }
+        List<Neighbor> merged = new ArrayList<>(list.size() + 1);
+        merged.addAll(list);
+        int at = 0;
+        while (at < merged.size() && merged.get(at).score() >= candidate.score()) {
+            at++;
+        }
+        merged.add(at, candidate);
+        staged.put(id, List.copyOf(merged.size() > k ? merged.subList(0, k) : merged));
+    }
+
+    /**
+     * Lowercase words of three letters or more with accents removed, so "Açaí" and "acai" are the same term.
+     */
+    static List<String> tokenize(String text) {
+        String folded = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else if (!token.isEmpty()) {
+                if (token.length() >= 3 && !STOPWORDS.contains(token.toString())) {
+                    tokens.add(token.toString());
+                }
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    // Term ids and counts as pairs, sorted by term [term, count, term, count, ...]
+    private static int[] termCounts(String text, ToIntFunction<String> termId) {
+        List<String> tokens = tokenize(text);
+        int[] ids = new int[tokens.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = termId.applyAsInt(tokens.get(i));
+        }
+        return ids.length == 0 ? ids : pairs(ids);
+    }
+
+    private static int[] pairs(int[] ids) {
+        Arrays.sort(ids);
+        int distinct = 1;
+        for (int i = 1; i < ids.length; i++) {
+            if (ids[i] != ids[i - 1]) {
+                distinct++;
+            }
+        }
+        int[] counts = new int[distinct * 2];
+        int at = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0 && ids[i] == ids[i - 1]) {
+                counts[at - 1]++;
+            } else {
+                counts[at++] = ids[i];
+                counts[at++] = 1;
+            }
+        }
+        return counts;
+    }
+
+    private static int[] renumbered(int[] counts, int[] renumber) {
+        long[] packed = new long[counts.length / 2];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = (long) renumber[counts[2 * i]] << 32 | counts[2 * i + 1];
+        }
+        Arrays.sort(packed);
+        int[] result = new int[counts.length];
+        for (int i = 0; i < packed.length; i++) {
+            result[2 * i] = (int) (packed[i] >>> 32);
+            result[2 * i + 1] = (int) packed[i];
+        }
+        return result;
+    }
+
+    private static Vector vector(int[] counts, IntToDoubleFunction idfOf) {
+        int length = counts.length / 2;
+        int[] terms = new int[length];
+        float[] weights = new float[length];
+        int kept = 0;
+        double norm = 0;
+        for (int i = 0; i < counts.length; i += 2) {
+            double weight = (1 + Math.log(counts[i + 1])) * idfOf.applyAsDouble(counts[i]);
+            if (weight > 0) {
+                terms[kept] = counts[i];
+                weights[kept++] = (float) weight;
+                norm += weight * weight;
+            }
+        }
+        float inverseNorm = norm == 0 ? 0f : (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < kept; i++) {
+            weights[i] *= inverseNorm;
+        }
+        return new Vector(Arrays.copyOf(terms, kept), Arrays.copyOf(weights, kept));
+    }
+
+    private static float dot(Vector a, Vector b) {
+        float sum = 0f;
+        int i = 0;
+        int j = 0;
+        while (i < a.terms().length && j < b.terms().length) {
+            int compare = Integer.compare(a.terms()[i], b.terms()[j]);
+            if (compare == 0) {
+                sum += a.weights()[i++] * b.weights()[j++];
+            } else if (compare < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+
+    private static void parallelFor(ForkJoinPool pool, int n, IntConsumer body) {
+        if (n > 0) {
+            pool.invoke(new RangeTask(0, n, Math.max(1, n / (pool.getParallelism() * 16)), body));
+        }
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final IntConsumer body;
+
+        RangeTask(int from, int to, int grain, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, middle, grain, body), new RangeTask(middle, to, grain, body));
+        }
+    }
+
+    // Dot products with every base document sharing a term, in a dense array reset as it is read
+    private static final class Scores {
+
+        private final float[] sums;
+        private final int[] touched;
+
+        Scores(int n) {
+            this.sums = new float[n];
+            this.touched = new int[n];
+        }
+
+        // The hot loop of a build; callers skip the document itself and removed ones when reading
+        int accumulate(Vector vector, int[][] postingDocs, float[][] postingWeights) {
+            int count = 0;
+            for (int i = 0; i < vector.terms().length; i++) {
+                int term = vector.terms()[i];
+                if (term >= postingDocs.length) {
+                    continue;
+                }
+                int[] docs = postingDocs[term];
+                float[] weights = postingWeights[term];
+                float weight = vector.weights()[i];
+                for (int p = 0; p < docs.length; p++) {
+                    int doc = docs[p];
+                    float sum = sums[doc];
+                    if (sum == 0f) {
+                        touched[count++] = doc;
+                    }
+                    sums[doc] = sum + weight * weights[p];
+                }
+            }
+            return count;
+        }
+
+        float take(int doc) {
+            float sum = sums[doc];
+            sums[doc] = 0f;
+            return sum;
+        }
+    }
+
+    private static final class TopK {
+
+        private final int k;
+        private final long[] ids;
+        private final String[] names;
+        private final float[] scores;
+        private int size;
+
+        TopK(int k) {
+            this.k = k;
+            this.ids = new long[k];
+            this.names = new String[k];
+            this.scores = new float[k];
+        }
+
+        void offer(long id, String name, float score) {
+            if (k == 0 || (size == k && score <= scores[k - 1])) {
+                return;
+            }
+            int at = size < k ? size++ : k - 1;
+            while (at > 0 && scores[at - 1] < score) {
+                ids[at] = ids[at - 1];
+                names[at] = names[at - 1];
+                scores[at] = scores[at - 1];
+                at--;
+            }
+            ids[at] = id;
+            names[at] = name;
+            scores[at] = score;
+        }
+
+        List<Neighbor> toList() {
+            Neighbor[] top = new Neighbor[size];
+            for (int i = 0; i < size; i++) {
+                top[i] = new Neighbor(ids[i], names[i], scores[i]);
+            }
+            return List.of(top);
+        }
+    }
+}
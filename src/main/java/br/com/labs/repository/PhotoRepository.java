@@ -0,0 +1,20 @@
+package br.com.labs.repository;
+
+import br.com.labs.model.Photo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface PhotoRepository extends JpaRepository<Photo, Long> {
+
+    List<Photo> findByRestaurantIdOrderById(Long restaurantId);
+
+    Optional<Photo> findByIdAndRestaurantId(Long id, Long restaurantId);
+
+    @Query("SELECT DISTINCT p.hash FROM Photo p WHERE p.hash IN :hashes")
+    Set<String> findReferencedHashes(Collection<String> hashes);
+}
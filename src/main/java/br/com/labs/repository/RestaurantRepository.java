@@ -4,11 +4,38 @@ import br.com.labs.model.Restaurant;
 import br.com.labs.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
 
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
     Page<Restaurant> findByCreatedBy(User user, Pageable pageable);
 
+    @EntityGraph(attributePaths = "createdBy")
     Page<Restaurant> findByCreatedById(Long userId, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "createdBy")
+    Page<Restaurant> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "createdBy")
+    Optional<Restaurant> findById(Long id);
+
+    // Relative to the stored values, so concurrent reviews queue on the row lock instead of overwriting
+    // each other; returns 0 when the restaurant does not exist or is hidden
+    @Modifying
+    @Query(value = """
+        UPDATE restaurants
+        SET rating_sum = rating_sum + :ratingDelta,
+            review_count = review_count + :countDelta,
+            average_rating = CASE WHEN review_count + :countDelta = 0 THEN 0
+                ELSE CAST(rating_sum + :ratingDelta AS double precision) / (review_count + :countDelta) END
+        WHERE id = :id AND NOT hidden
+        """, nativeQuery = true)
+    int applyReview(Long id, int ratingDelta, int countDelta);
 }
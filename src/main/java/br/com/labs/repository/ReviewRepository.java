@@ -0,0 +1,21 @@
+package br.com.labs.repository;
+
+import br.com.labs.model.Review;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Review> findByRestaurantIdAndUserId(Long restaurantId, Long userId);
+
+    // Keyset page: seeks to the cursor on (restaurant_id, id), so page 1000 costs what page 1 does
+    @EntityGraph(attributePaths = "user")
+    List<Review> findByRestaurantIdAndIdLessThanOrderByIdDesc(Long restaurantId, Long id, Limit limit);
+}
@@ -1,11 +1,16 @@
 package br.com.labs.security;
 
+import br.com.labs.datasource.ReadYourWritesTracker;
 import br.com.labs.model.User;
 import br.com.labs.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.Nullable;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -14,16 +19,24 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserRepository userRepository,
+                                   ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
         this.tokenProvider = tokenProvider;
         this.userRepository = userRepository;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.validTokenTimer = verificationTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = verificationTimer(meterRegistry, "invalid");
     }
 
     @Override
@@ -32,9 +45,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = extractToken(request);
 
-        if (StringUtils.hasText(token) && tokenProvider.validateToken(token)) {
-            Long userId = tokenProvider.getUserIdFromToken(token);
-            Optional<User> userOptional = userRepository.findById(userId);
+        Claims claims = StringUtils.hasText(token) ? verify(token) : null;
+        if (claims != null) {
+            Long userId = JwtTokenProvider.getUserId(claims);
+            Optional<User> userOptional = readYourWritesTracker.callAs(
+                JwtTokenProvider.getEmail(claims), () -> userRepository.findById(userId));
 
             if (userOptional.isPresent()) {
                 User user = userOptional.get();
@@ -47,6 +62,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    @Nullable
+    private Claims verify(String token) {
+        long start = System.nanoTime();
+        Claims claims = tokenProvider.parseToken(token);
+        (claims != null ? validTokenTimer : invalidTokenTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("security.jwt.verification")
+            .description("Time spent verifying JWT signatures")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
     private String extractToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -5,6 +5,7 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
@@ -42,23 +43,40 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
+        return parseToken(token) != null;
+    }
+
+    /**
+     * The verified claims of {@code token}, or {@code null} when it is invalid or expired. Read the user id
+     * and email from these rather than parsing the token again.
+     */
+    @Nullable
+    public Claims parseToken(String token) {
         try {
-            Jwts.parser()
+            return Jwts.parser()
                 .verifyWith(getSigningKey())
                 .build()
-                .parseSignedClaims(token);
-            return true;
+                .parseSignedClaims(token)
+                .getPayload();
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 
+    public static Long getUserId(Claims claims) {
+        return Long.parseLong(claims.getSubject());
+    }
+
+    public static String getEmail(Claims claims) {
+        return claims.get("email", String.class);
+    }
+
     public Long getUserIdFromToken(String token) {
         Claims claims = Jwts.parser()
             .verifyWith(getSigningKey())
             .build()
             .parseSignedClaims(token)
             .getPayload();
-        return Long.parseLong(claims.getSubject());
+        return getUserId(claims);
     }
 }
@@ -0,0 +1,16 @@
+package br.com.labs.serialization;
+
+import org.springframework.http.MediaType;
+
+public final class BinaryMediaTypes {
+
+    public static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final String PROTOBUF_VALUE = "application/x-protobuf";
+
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType SMILE = MediaType.parseMediaType(SMILE_VALUE);
+    public static final MediaType PROTOBUF = MediaType.parseMediaType(PROTOBUF_VALUE);
+
+    private BinaryMediaTypes() {}
+}
@@ -0,0 +1,97 @@
+package br.com.labs.serialization;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes {@code application/x-protobuf} with Jackson, using the messages of a {@code .proto}
+ * file as the schema for each registered type, so the records need no generated protobuf classes.
+ * Types without a registered message are left to the other converters.
+ */
+public class ProtobufJacksonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ProtobufSchema> schemas = new LinkedHashMap<>();
+
+    public ProtobufJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(BinaryMediaTypes.PROTOBUF);
+        Assert.isInstanceOf(ProtobufFactory.class, objectMapper.getFactory(), "ProtobufFactory required");
+        this.objectMapper = objectMapper;
+    }
+
+    public static NativeProtobufSchema loadSchema(InputStream proto) throws IOException {
+        try (proto) {
+            return ProtobufSchemaLoader.std.loadNative(proto, true);
+        }
+    }
+
+    public ProtobufJacksonHttpMessageConverter register(Class<?> type, ProtobufSchema schema) {
+        schemas.put(type, schema);
+        return this;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return schemaFor(clazz) != null;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return objectMapper.readerFor(clazz).with(schemaFor(clazz)).readValue(inputMessage.getBody());
+        } catch (IOException ex) {
+            throw new HttpMessageNotReadableException("Could not read protobuf message: " + ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        ProtobufSchema schema = schemaFor(value.getClass());
+        if (value instanceof ProblemDetail problem) {
+            // Problem properties (such as validation errors) have no field in the message
+            Map<String, Object> known = new LinkedHashMap<>();
+            objectMapper.convertValue(problem, MAP_TYPE).forEach((key, entry) -> {
+                if (schema.getRootType().field(key) != null) {
+                    known.put(key, entry);
+                }
+            });
+            value = known;
+        }
+        try {
+            objectMapper.writer(schema).writeValue(outputMessage.getBody(), value);
+        } catch (IOException ex) {
+            throw new HttpMessageNotWritableException("Could not write protobuf message: " + ex.getMessage(), ex);
+        }
+    }
+
+    private ProtobufSchema schemaFor(Class<?> clazz) {
+        ProtobufSchema schema = schemas.get(clazz);
+        if (schema != null) {
+            return schema;
+        }
+        for (Map.Entry<Class<?>, ProtobufSchema> entry : schemas.entrySet()) {
+            if (entry.getKey().isAssignableFrom(clazz)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
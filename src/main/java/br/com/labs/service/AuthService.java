@@ -1,24 +1,29 @@
 package br.com.labs.service;
 
+import br.com.labs.datasource.ReadYourWritesTracker;
 import br.com.labs.model.User;
 import br.com.labs.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
-    public AuthService(UserRepository userRepository) {
+    public AuthService(UserRepository userRepository, ReadYourWritesTracker readYourWritesTracker) {
         this.userRepository = userRepository;
+        this.readYourWritesTracker = readYourWritesTracker;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email)
+        return readYourWritesTracker.callAs(email, () -> userRepository.findByEmail(email))
             .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 
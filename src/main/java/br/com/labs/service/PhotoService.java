@@ -0,0 +1,154 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.response.PhotoResponse;
+import br.com.labs.exception.ResourceNotFoundException;
+import br.com.labs.model.Photo;
+import br.com.labs.model.Restaurant;
+import br.com.labs.model.User;
+import br.com.labs.photo.ImageType;
+import br.com.labs.photo.PhotoStorageProperties;
+import br.com.labs.photo.PhotoStore;
+import br.com.labs.photo.ThumbnailGenerator;
+import br.com.labs.repository.PhotoRepository;
+import br.com.labs.repository.RestaurantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Restaurant photos: rows in {@code restaurant_photos}, bytes in the {@link PhotoStore}. An upload is
+ * written to disk before its row is inserted and outside any transaction, so a slow client never holds
+ * a connection. Deleting a photo only deletes its row; the sweep removes files that no row points to
+ * once they are older than {@code app.photos.sweep-interval}, which covers uploads still in flight.
+ */
+@Service
+public class PhotoService {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoService.class);
+
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final PhotoRepository photoRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final PhotoStore photoStore;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final PhotoStorageProperties properties;
+    private final Counter sweptCounter;
+
+    public PhotoService(PhotoRepository photoRepository,
+                        RestaurantRepository restaurantRepository,
+                        PhotoStore photoStore,
+                        ThumbnailGenerator thumbnailGenerator,
+                        PhotoStorageProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.photoRepository = photoRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.photoStore = photoStore;
+        this.thumbnailGenerator = thumbnailGenerator;
+        this.properties = properties;
+        this.sweptCounter = meterRegistry.counter("photos.swept");
+    }
+
+    public PhotoResponse upload(Long restaurantId, long contentLength, InputStream body, User currentUser)
+            throws IOException {
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+            .orElseThrow(() -> new ResourceNotFoundException("Restaurant", restaurantId));
+        checkCanManage(restaurant, currentUser);
+
+        long maxBytes = properties.maxSize().toBytes();
+        if (contentLength > maxBytes) {
+            throw new MaxUploadSizeExceededException(maxBytes);
+        }
+        BufferedInputStream in = new BufferedInputStream(body);
+        ImageType type = ImageType.peek(in)
+            .orElseThrow(() -> new IllegalArgumentException("Photos must be JPEG, PNG or GIF images"));
+
+        PhotoStore.StoredFile stored = photoStore.store(in, maxBytes);
+        Photo saved = photoRepository.save(new Photo(restaurant, stored.hash(), type.contentType(), stored.size()));
+        thumbnailGenerator.request(stored.hash());
+        return PhotoResponse.fromEntity(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PhotoResponse> findByRestaurant(Long restaurantId) {
+        return photoRepository.findByRestaurantIdOrderById(restaurantId).stream()
+            .map(PhotoResponse::fromEntity)
+            .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Photo findById(Long restaurantId, Long photoId) {
+        return photoRepository.findByIdAndRestaurantId(photoId, restaurantId)
+            .orElseThrow(() -> new ResourceNotFoundException("Photo", photoId));
+    }
+
+    @Transactional
+    public void delete(Long restaurantId, Long photoId, User currentUser) {
+        Photo photo = photoRepository.findByIdAndRestaurantId(photoId, restaurantId)
+            .orElseThrow(() -> new ResourceNotFoundException("Photo", photoId));
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+            .orElseThrow(() -> new ResourceNotFoundException("Restaurant", restaurantId));
+        checkCanManage(restaurant, currentUser);
+        photoRepository.delete(photo);
+    }
+
+    @Scheduled(fixedDelayString = "${app.photos.sweep-interval:1h}")
+    public void sweep() {
+        try {
+            Instant cutoff = Instant.now().minus(properties.sweepInterval());
+            List<String> batch = new ArrayList<>(SWEEP_BATCH_SIZE);
+            photoStore.forEachStoredBefore(cutoff, hash -> {
+                batch.add(hash);
+                if (batch.size() == SWEEP_BATCH_SIZE) {
+                    deleteUnreferenced(batch, cutoff);
+                    batch.clear();
+                }
+            });
+            deleteUnreferenced(batch, cutoff);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not sweep unreferenced photos", e);
+        }
+    }
+
+    private void deleteUnreferenced(List<String> hashes, Instant cutoff) {
+        if (hashes.isEmpty()) {
+            return;
+        }
+        Set<String> referenced = photoRepository.findReferencedHashes(hashes);
+        for (String hash : hashes) {
+            if (!referenced.contains(hash)) {
+                try {
+                    if (photoStore.deleteIfUnchangedSince(hash, cutoff)) {
+                        sweptCounter.increment();
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not delete unreferenced photo {}", hash, e);
+                }
+            }
+        }
+    }
+
+    private static void checkCanManage(Restaurant restaurant, User currentUser) {
+        boolean isOwner = restaurant.getCreatedBy().getId().equals(currentUser.getId());
+        boolean isAdmin = currentUser.getAuthorities().stream()
+            .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
+
+        if (!isOwner && !isAdmin) {
+            throw new AccessDeniedException("You can only manage photos of your own restaurants");
+        }
+    }
+}
@@ -1,24 +1,64 @@
 package br.com.labs.service;
 
+import br.com.labs.audit.AuditAction;
+import br.com.labs.audit.AuditLog;
+import br.com.labs.cache.RestaurantListingCache;
+import br.com.labs.concurrent.SingleFlight;
+import br.com.labs.datasource.ReadYourWritesTracker;
 import br.com.labs.dto.request.RestaurantRequest;
 import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.event.RestaurantsChangedEvent;
 import br.com.labs.exception.ResourceNotFoundException;
 import br.com.labs.model.Restaurant;
 import br.com.labs.model.User;
 import br.com.labs.repository.RestaurantRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.Supplier;
 
 @Service
+@Timed("restaurant.service")
 public class RestaurantService {
 
     private final RestaurantRepository restaurantRepository;
-
-    public RestaurantService(RestaurantRepository restaurantRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final RestaurantListingCache listingCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<Long, RestaurantResponse> detailLoads;
+    private final SingleFlight<Pageable, Page<RestaurantResponse>> listingLoads;
+    private final AuditLog auditLog;
+
+    public RestaurantService(RestaurantRepository restaurantRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             ReadYourWritesTracker readYourWritesTracker,
+                             RestaurantListingCache listingCache,
+                             PlatformTransactionManager transactionManager,
+                             AuditLog auditLog,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.single-flight.wait-timeout:5s}") Duration singleFlightWaitTimeout) {
         this.restaurantRepository = restaurantRepository;
+        this.eventPublisher = eventPublisher;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.listingCache = listingCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.detailLoads = new SingleFlight<>("restaurant.detail", singleFlightWaitTimeout, meterRegistry);
+        this.listingLoads = new SingleFlight<>("restaurant.listing", singleFlightWaitTimeout, meterRegistry);
+        this.auditLog = auditLog;
     }
 
     @Transactional
@@ -32,23 +72,32 @@ public class RestaurantService {
         );
 
         Restaurant saved = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(saved.getId(), RestaurantChangedEvent.Type.CREATED));
+        auditLog.record(AuditAction.RESTAURANT_CREATED, currentUser.getId(), saved.getId(), saved.getName());
         return RestaurantResponse.fromEntity(saved);
     }
 
     public Page<RestaurantResponse> findAll(Pageable pageable) {
-        return restaurantRepository.findAll(pageable)
-            .map(RestaurantResponse::fromEntity);
+        if (!readYourWritesTracker.isRecentWriter()) {
+            Page<RestaurantResponse> cached = listingCache.get(pageable);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return coalesced(listingLoads, pageable, () -> restaurantRepository.findAll(pageable)
+            .map(RestaurantResponse::fromEntity));
     }
 
+    @Transactional(readOnly = true)
     public Page<RestaurantResponse> findByUser(Long userId, Pageable pageable) {
         return restaurantRepository.findByCreatedById(userId, pageable)
             .map(RestaurantResponse::fromEntity);
     }
 
     public RestaurantResponse findById(Long id) {
-        Restaurant restaurant = restaurantRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Restaurant", id));
-        return RestaurantResponse.fromEntity(restaurant);
+        return coalesced(detailLoads, id, () -> restaurantRepository.findById(id)
+            .map(RestaurantResponse::fromEntity)
+            .orElseThrow(() -> new ResourceNotFoundException("Restaurant", id)));
     }
 
     @Transactional
@@ -66,6 +115,8 @@ public class RestaurantService {
         restaurant.setRating(request.rating());
 
         Restaurant updated = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(id, RestaurantChangedEvent.Type.UPDATED));
+        auditLog.record(AuditAction.RESTAURANT_UPDATED, currentUser.getId(), id, updated.getName());
         return RestaurantResponse.fromEntity(updated);
     }
 
@@ -83,5 +134,28 @@ public class RestaurantService {
         }
 
         restaurantRepository.delete(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(id, RestaurantChangedEvent.Type.DELETED));
+        auditLog.record(AuditAction.RESTAURANT_DELETED, currentUser.getId(), id, restaurant.getName());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        detailLoads.forget(event.restaurantId());
+        listingLoads.forgetAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantsChanged(RestaurantsChangedEvent event) {
+        event.restaurantIds().forEach(detailLoads::forget);
+        listingLoads.forgetAll();
+    }
+
+    // Concurrent identical reads share one transaction and one query; waiters do not hold a connection.
+    // A recent writer reads the primary on its own, since a shared load may have gone to a replica.
+    private <K, V> V coalesced(SingleFlight<K, V> loads, K key, Supplier<V> loader) {
+        if (readYourWritesTracker.isRecentWriter()) {
+            return readOnlyTransaction.execute(status -> loader.get());
+        }
+        return loads.load(key, () -> readOnlyTransaction.execute(status -> loader.get()));
     }
 }
@@ -0,0 +1,116 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.request.ReviewRequest;
+import br.com.labs.dto.response.ReviewPage;
+import br.com.labs.dto.response.ReviewResponse;
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.exception.DuplicateReviewException;
+import br.com.labs.exception.ResourceNotFoundException;
+import br.com.labs.model.Review;
+import br.com.labs.model.User;
+import br.com.labs.repository.RestaurantRepository;
+import br.com.labs.repository.ReviewRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Reviews keyed by restaurant and user. Every write moves the restaurant's rating sum, count and average
+ * in the same transaction, so reads never aggregate over {@code reviews}. Writes lock the review row
+ * before the restaurant row, always in that order.
+ */
+@Service
+public class ReviewService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    static final String UNIQUE_REVIEW_CONSTRAINT = "uk_reviews_restaurant_user";
+
+    private final ReviewRepository reviewRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReviewService(ReviewRepository reviewRepository,
+                         RestaurantRepository restaurantRepository,
+                         ApplicationEventPublisher eventPublisher) {
+        this.reviewRepository = reviewRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public ReviewResponse save(Long restaurantId, ReviewRequest request, User currentUser) {
+        Review review = reviewRepository.findByRestaurantIdAndUserId(restaurantId, currentUser.getId())
+            .orElse(null);
+
+        if (review == null) {
+            applyToRestaurant(restaurantId, request.rating(), 1);
+            review = new Review(restaurantRepository.getReferenceById(restaurantId), currentUser,
+                request.rating(), request.comment());
+        } else {
+            applyToRestaurant(restaurantId, request.rating() - review.getRating(), 0);
+            review.setRating(request.rating());
+            review.setComment(request.comment());
+        }
+
+        Review saved = insertOrUpdate(restaurantId, review);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId, RestaurantChangedEvent.Type.UPDATED));
+        return ReviewResponse.fromEntity(saved);
+    }
+
+    @Transactional
+    public void delete(Long restaurantId, User currentUser) {
+        Review review = reviewRepository.findByRestaurantIdAndUserId(restaurantId, currentUser.getId())
+            .orElseThrow(() -> new ResourceNotFoundException("You have not reviewed restaurant " + restaurantId));
+
+        applyToRestaurant(restaurantId, -review.getRating(), -1);
+        reviewRepository.delete(review);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId, RestaurantChangedEvent.Type.UPDATED));
+    }
+
+    /**
+     * The {@code size} newest reviews older than {@code before}, or the newest ones when it is {@code null}.
+     */
+    @Transactional(readOnly = true)
+    public ReviewPage findByRestaurant(Long restaurantId, Long before, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // One row past the page tells whether there is a next one without a count query
+        List<Review> reviews = reviewRepository.findByRestaurantIdAndIdLessThanOrderByIdDesc(
+            restaurantId, before != null ? before : Long.MAX_VALUE, Limit.of(pageSize + 1));
+
+        if (reviews.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+            throw new ResourceNotFoundException("Restaurant", restaurantId);
+        }
+
+        boolean hasNext = reviews.size() > pageSize;
+        List<ReviewResponse> content = reviews.stream()
+            .limit(pageSize)
+            .map(ReviewResponse::fromEntity)
+            .toList();
+        return new ReviewPage(content, hasNext ? content.getLast().id() : null);
+    }
+
+    // Two first reviews by the same user can both miss the lookup above; the second insert hits the constraint
+    private Review insertOrUpdate(Long restaurantId, Review review) {
+        try {
+            return reviewRepository.save(review);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && UNIQUE_REVIEW_CONSTRAINT.equals(violation.getConstraintName())) {
+                throw new DuplicateReviewException(restaurantId);
+            }
+            throw e;
+        }
+    }
+
+    private void applyToRestaurant(Long restaurantId, int ratingDelta, int countDelta) {
+        if (restaurantRepository.applyReview(restaurantId, ratingDelta, countDelta) == 0) {
+            throw new ResourceNotFoundException("Restaurant", restaurantId);
+        }
+    }
+}
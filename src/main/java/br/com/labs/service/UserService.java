@@ -1,10 +1,13 @@
 package br.com.labs.service;
 
+import br.com.labs.datasource.ReadYourWritesTracker;
 import br.com.labs.dto.request.RegisterRequest;
+import br.com.labs.event.UserChangedEvent;
 import br.com.labs.model.Role;
 import br.com.labs.model.User;
 import br.com.labs.repository.RoleRepository;
 import br.com.labs.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,11 +18,16 @@ public class UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                       ReadYourWritesTracker readYourWritesTracker, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -39,6 +47,9 @@ public class UserService {
 
         user.addRole(userRole);
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        readYourWritesTracker.markWrite(saved.getEmail());
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId()));
+        return saved;
     }
 }
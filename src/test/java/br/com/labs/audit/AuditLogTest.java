@@ -0,0 +1,209 @@
+package br.com.labs.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock();
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLog auditLog;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        auditLog = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLog.close();
+    }
+
+    private AuditLog open() throws IOException {
+        return new AuditLog(directory, SEGMENT_SIZE, Duration.ofDays(90), clock, meterRegistry);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("should read back appended records filtered by time range and user")
+    void shouldReadByRangeAndUser() throws IOException {
+        auditLog.append(AuditAction.LOGIN_SUCCEEDED, 1L, null, null);
+        clock.advance(Duration.ofMinutes(1));
+        auditLog.append(AuditAction.RESTAURANT_CREATED, 1L, 10L, "Outback");
+        clock.advance(Duration.ofMinutes(1));
+        auditLog.append(AuditAction.RESTAURANT_CREATED, 2L, 11L, "Madero");
+        clock.advance(Duration.ofMinutes(1));
+        auditLog.append(AuditAction.LOGIN_FAILED, null, null, "someone@test.com");
+
+        assertThat(auditLog.read(null, null, null, 100)).containsExactly(
+            new AuditRecord(START, AuditAction.LOGIN_SUCCEEDED, 1L, null, null),
+            new AuditRecord(START.plusSeconds(60), AuditAction.RESTAURANT_CREATED, 1L, 10L, "Outback"),
+            new AuditRecord(START.plusSeconds(120), AuditAction.RESTAURANT_CREATED, 2L, 11L, "Madero"),
+            new AuditRecord(START.plusSeconds(180), AuditAction.LOGIN_FAILED, null, null, "someone@test.com"));
+        assertThat(auditLog.read(START.plusSeconds(60), START.plusSeconds(120), null, 100))
+            .extracting(AuditRecord::targetId).containsExactly(10L, 11L);
+        assertThat(auditLog.read(null, null, 1L, 100))
+            .extracting(AuditRecord::action).containsExactly(AuditAction.LOGIN_SUCCEEDED, AuditAction.RESTAURANT_CREATED);
+        assertThat(auditLog.read(null, null, null, 2)).hasSize(2);
+        assertThat(meterRegistry.counter("audit.records").count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("should cut long details on a character boundary")
+    void shouldTruncateDetail() throws IOException {
+        auditLog.append(AuditAction.RESTAURANT_CREATED, 1L, 1L, "ç".repeat(200));
+
+        assertThat(auditLog.read(null, null, null, 1).getFirst().detail()).isEqualTo("ç".repeat(127));
+    }
+
+    @Test
+    @DisplayName("should roll to a new segment when the current one is full")
+    void shouldRollSegments() throws IOException {
+        for (long i = 1; i <= 200; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            auditLog.append(AuditAction.RESTAURANT_UPDATED, 1L, i, "Restaurant " + i);
+        }
+
+        assertThat(segments()).hasSizeGreaterThan(1);
+        assertThat(auditLog.read(null, null, null, 1000)).extracting(AuditRecord::targetId)
+            .containsExactlyElementsOf(Stream.iterate(1L, i -> i + 1).limit(200).toList());
+        assertThat(auditLog.read(START.plusSeconds(150), null, null, 1000)).extracting(AuditRecord::targetId)
+            .containsExactlyElementsOf(Stream.iterate(150L, i -> i + 1).limit(51).toList());
+    }
+
+    @Test
+    @DisplayName("should continue after the last record when reopened")
+    void shouldRecoverOnReopen() throws IOException {
+        auditLog.append(AuditAction.RESTAURANT_CREATED, 1L, 1L, "Outback");
+        auditLog.close();
+
+        auditLog = open();
+        auditLog.append(AuditAction.RESTAURANT_DELETED, 1L, 1L, "Outback");
+
+        assertThat(auditLog.read(null, null, null, 100)).extracting(AuditRecord::action)
+            .containsExactly(AuditAction.RESTAURANT_CREATED, AuditAction.RESTAURANT_DELETED);
+    }
+
+    @Test
+    @DisplayName("should drop a torn record when reopened")
+    void shouldDropTornRecord() throws IOException {
+        auditLog.append(AuditAction.RESTAURANT_CREATED, 1L, 1L, "Outback");
+        auditLog.append(AuditAction.RESTAURANT_CREATED, 1L, 2L, "Madero");
+        auditLog.close();
+        int insideSecondRecord = AuditLog.HEADER_SIZE + 8 + 34 + "Outback".length() + 8 + 10;
+        try (FileChannel channel = FileChannel.open(segments().getFirst(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), insideSecondRecord);
+        }
+
+        auditLog = open();
+        auditLog.append(AuditAction.RESTAURANT_CREATED, 1L, 3L, "Coco Bambu");
+
+        assertThat(auditLog.read(null, null, null, 100)).extracting(AuditRecord::targetId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("should delete segments whose records are all past the retention")
+    void shouldDeleteExpiredSegments() throws IOException {
+        for (long i = 0; i < 200; i++) {
+            auditLog.append(AuditAction.RESTAURANT_UPDATED, 1L, i, "Restaurant " + i);
+        }
+        long before = segments().size();
+
+        clock.advance(Duration.ofDays(91));
+        for (long i = 0; i < 200; i++) {
+            auditLog.append(AuditAction.RESTAURANT_UPDATED, 1L, i, "Restaurant " + i);
+        }
+
+        assertThat(auditLog.read(null, START.plus(Duration.ofDays(1)), null, 1000))
+            .hasSizeLessThan(200);
+        assertThat(segments().getFirst()).isNotEqualTo(directory.resolve("audit-00000000000000000001.log"));
+        assertThat(before).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("should write the record only once the surrounding transaction commits")
+    void shouldWaitForCommit() throws IOException {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            auditLog.record(AuditAction.RESTAURANT_CREATED, 1L, 1L, "Outback");
+            auditLog.record(AuditAction.RESTAURANT_CREATED, 1L, 2L, "Madero");
+            assertThat(auditLog.read(null, null, null, 100)).isEmpty();
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.getFirst().afterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(auditLog.read(null, null, null, 100)).extracting(AuditRecord::targetId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("should force appended records to disk on flush")
+    void shouldFlush() throws IOException {
+        auditLog.append(AuditAction.LOGIN_SUCCEEDED, 1L, null, null);
+
+        auditLog.flush();
+        auditLog.flush();
+
+        assertThat(meterRegistry.timer("audit.flush").count()).isEqualTo(1);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = START;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.labs.cache;
+
+import br.com.labs.datasource.ReadYourWritesTracker;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.event.RestaurantChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantJsonCacheTest {
+
+    private ReadYourWritesTracker tracker;
+    private RestaurantJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker();
+        ReflectionTestUtils.setField(tracker, "window", Duration.ofMinutes(1));
+        cache = new RestaurantJsonCache(new ObjectMapper().registerModule(new JavaTimeModule()), tracker,
+                new SimpleMeterRegistry(), DataSize.ofMegabytes(1), Duration.ofMinutes(10), Duration.ofMinutes(1));
+    }
+
+    private static RestaurantResponse restaurant(Long id, String name) {
+        return new RestaurantResponse(id, name, "Desc", "Loc", 4, "Felipe", null, 0, null, 0);
+    }
+
+    @Test
+    @DisplayName("should load a restaurant changed within the window from the primary")
+    void shouldLoadRecentlyChangedFromPrimary() {
+        List<Boolean> onPrimary = new ArrayList<>();
+        cache.onRestaurantChanged(new RestaurantChangedEvent(1L, RestaurantChangedEvent.Type.UPDATED));
+
+        cache.get(1L, id -> {
+            onPrimary.add(tracker.isRecentWriter());
+            return restaurant(id, "Updated");
+        });
+        cache.get(2L, id -> {
+            onPrimary.add(tracker.isRecentWriter());
+            return restaurant(id, "Untouched");
+        });
+
+        assertThat(onPrimary).containsExactly(true, false);
+    }
+
+    @Test
+    @DisplayName("should not cache listing elements of a restaurant changed within the window")
+    void shouldNotStoreRecentlyChangedElements() {
+        cache.onRestaurantChanged(new RestaurantChangedEvent(1L, RestaurantChangedEvent.Type.UPDATED));
+        long generation = cache.generation();
+
+        cache.element(restaurant(1L, "Maybe stale"), generation);
+        cache.element(restaurant(2L, "Untouched"), generation);
+
+        assertThat(new String(cache.get(1L, id -> restaurant(id, "Updated")))).contains("Updated");
+        assertThat(new String(cache.get(2L, id -> restaurant(id, "Reloaded")))).contains("Untouched");
+    }
+}
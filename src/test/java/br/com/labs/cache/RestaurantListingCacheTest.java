@@ -0,0 +1,136 @@
+package br.com.labs.cache;
+
+import br.com.labs.datasource.ReadYourWritesTracker;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.model.Restaurant;
+import br.com.labs.model.User;
+import br.com.labs.repository.RestaurantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RestaurantListingCacheTest {
+
+    private RestaurantRepository restaurantRepository;
+    private RestaurantJsonCache restaurantJsonCache;
+    private RestaurantListingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        restaurantRepository = mock(RestaurantRepository.class);
+        TaskScheduler inline = mock(TaskScheduler.class);
+        when(inline.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        });
+        restaurantJsonCache = mock(RestaurantJsonCache.class);
+        cache = new RestaurantListingCache(restaurantRepository, restaurantJsonCache,
+                new ReadYourWritesTracker(), mock(PlatformTransactionManager.class), inline,
+                new SimpleMeterRegistry(), 3, Duration.ofMinutes(2), Duration.ofSeconds(5));
+    }
+
+    private void givenRestaurants(long count) {
+        User owner = new User("Felipe", "felipe@email.com", "password");
+        owner.setId(1L);
+        List<Restaurant> restaurants = new ArrayList<>();
+        LongStream.rangeClosed(1, count).forEach(id -> {
+            Restaurant restaurant = new Restaurant("Restaurant " + id, "Desc", "Loc", 4, owner);
+            restaurant.setId(id);
+            restaurants.add(restaurant);
+        });
+        when(restaurantRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            List<Restaurant> content = restaurants.subList(0, (int) Math.min(pageable.getPageSize(), count));
+            return new PageImpl<>(content, pageable, count);
+        });
+    }
+
+    private static Pageable defaultPage(int page) {
+        return PageRequest.of(page, RestaurantListingCache.PAGE_SIZE, Sort.by("createdAt"));
+    }
+
+    @Test
+    @DisplayName("should split one query into the cached pages")
+    void shouldServeCachedPages() {
+        givenRestaurants(45);
+        cache.refresh();
+
+        Page<RestaurantResponse> second = cache.get(defaultPage(1));
+
+        assertThat(second.getContent()).extracting(RestaurantResponse::id).containsExactly(11L, 12L, 13L, 14L, 15L,
+                16L, 17L, 18L, 19L, 20L);
+        assertThat(second.getTotalElements()).isEqualTo(45);
+        assertThat(second.getTotalPages()).isEqualTo(5);
+        verify(restaurantRepository, times(1)).findAll(PageRequest.of(0, 30, Sort.by("createdAt")));
+    }
+
+    @Test
+    @DisplayName("should not answer for other pages, sizes or sorts")
+    void shouldOnlyCoverDefaultListing() {
+        givenRestaurants(5);
+        cache.refresh();
+
+        assertThat(cache.get(defaultPage(0))).isNotNull();
+        assertThat(cache.get(defaultPage(3))).isNull();
+        assertThat(cache.get(PageRequest.of(0, 20, Sort.by("createdAt")))).isNull();
+        assertThat(cache.get(PageRequest.of(0, 10, Sort.by("name")))).isNull();
+    }
+
+    @Test
+    @DisplayName("should load on first miss and reload after a change")
+    void shouldRefreshOnMissAndChange() {
+        givenRestaurants(2);
+
+        assertThat(cache.get(defaultPage(0))).isNull();
+        assertThat(cache.get(defaultPage(0)).getContent()).hasSize(2);
+
+        givenRestaurants(3);
+        cache.onRestaurantChanged(new RestaurantChangedEvent(3L, RestaurantChangedEvent.Type.CREATED));
+
+        assertThat(cache.get(defaultPage(0)).getContent()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("should keep the previous snapshot when a refresh fails")
+    void shouldKeepSnapshotOnFailure() {
+        givenRestaurants(2);
+        cache.refresh();
+        when(restaurantRepository.findAll(any(Pageable.class))).thenThrow(new IllegalStateException("database down"));
+
+        cache.refresh();
+
+        assertThat(cache.get(defaultPage(0)).getContent()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("should tag snapshot pages with the JSON cache generation they were loaded under")
+    void shouldTagSnapshotGeneration() {
+        givenRestaurants(2);
+        when(restaurantJsonCache.generation()).thenReturn(7L);
+        cache.refresh();
+
+        Page<RestaurantResponse> page = cache.get(defaultPage(0));
+
+        assertThat(RestaurantListingCache.generationOf(page, 9L)).isEqualTo(7L);
+        assertThat(RestaurantListingCache.generationOf(new PageImpl<>(List.of()), 9L)).isEqualTo(9L);
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.labs.concurrent;
+
+import br.com.labs.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<Long, String> loads;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loads = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double followers() {
+        return meterRegistry.counter("single.flight.loads", "name", "test", "role", "follower").count();
+    }
+
+    // Starts CALLERS loads of the same key and returns once all but the leader are waiting on it
+    private List<Future<String>> concurrently(SingleFlight<Long, String> flight, Supplier<String> loader) throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flight.load(1L, loader)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("single.flight.loads", "name", "test", "role", "follower").count() < CALLERS - 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return results;
+    }
+
+    @Test
+    @DisplayName("should run one load for concurrent callers of the same key")
+    void shouldShareOneLoad() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = concurrently(loads, () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "Outback";
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Outback");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(followers()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    @DisplayName("should give every waiter the leader's exception")
+    void shouldPropagateFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = concurrently(loads, () -> {
+            await(release);
+            throw new ResourceNotFoundException("Restaurant", 1L);
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("should time out waiters but let the leader finish")
+    void shouldTimeOutWaiters() throws Exception {
+        SingleFlight<Long, String> slow = new SingleFlight<>("test", Duration.ofMillis(50), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = concurrently(slow, () -> {
+            await(release);
+            return "Outback";
+        });
+        Thread.sleep(100);
+        release.countDown();
+
+        int timedOut = 0;
+        for (Future<String> result : results) {
+            try {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Outback");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(QueryTimeoutException.class);
+                timedOut++;
+            }
+        }
+        assertThat(timedOut).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    @DisplayName("should load again once the previous load finished or was forgotten")
+    void shouldNotCache() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        assertThat(loads.load(1L, () -> "v" + calls.incrementAndGet())).isEqualTo("v1");
+        assertThat(loads.load(1L, () -> "v" + calls.incrementAndGet())).isEqualTo("v2");
+
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> stale = executor.submit(() -> loads.load(1L, () -> {
+            await(release);
+            return "stale";
+        }));
+        Thread.sleep(50);
+        loads.forget(1L);
+
+        assertThat(loads.load(1L, () -> "fresh")).isEqualTo("fresh");
+        release.countDown();
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.labs.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionExecution;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadYourWritesTrackerTest {
+
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker();
+        ReflectionTestUtils.setField(tracker, "window", Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static TransactionExecution transaction(boolean readOnly) {
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.isReadOnly()).thenReturn(readOnly);
+        return transaction;
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    @Nested
+    @DisplayName("afterCommit()")
+    class AfterCommitTests {
+
+        @Test
+        @DisplayName("should make authenticated writer sticky to primary")
+        void shouldMarkAuthenticatedWriter() {
+            authenticate("writer@email.com");
+
+            tracker.afterCommit(transaction(false), null);
+
+            assertThat(tracker.isRecentWriter()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should ignore read-only and failed commits")
+        void shouldIgnoreReadOnlyAndFailedCommits() {
+            authenticate("reader@email.com");
+
+            tracker.afterCommit(transaction(true), null);
+            tracker.afterCommit(transaction(false), new IllegalStateException("commit failed"));
+
+            assertThat(tracker.isRecentWriter()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should ignore anonymous writes")
+        void shouldIgnoreAnonymousWrites() {
+            SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+            tracker.afterCommit(transaction(false), null);
+
+            assertThat(tracker.isRecentWriter()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("callAs()")
+    class CallAsTests {
+
+        @Test
+        @DisplayName("should use explicit subject when no user is authenticated")
+        void shouldUseExplicitSubject() {
+            tracker.markWrite("new@email.com");
+
+            assertThat(tracker.callAs("new@email.com", tracker::isRecentWriter)).isTrue();
+            assertThat(tracker.callAs("other@email.com", tracker::isRecentWriter)).isFalse();
+            assertThat(tracker.isRecentWriter()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should expire writers after the window")
+        void shouldExpireWritersAfterWindow() {
+            ReflectionTestUtils.setField(tracker, "window", Duration.ZERO);
+            tracker.markWrite("old@email.com");
+
+            assertThat(tracker.callAs("old@email.com", tracker::isRecentWriter)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("onPrimary()")
+    class OnPrimaryTests {
+
+        @Test
+        @DisplayName("should send anyone's reads to the primary only inside the call")
+        void shouldReadFromPrimaryInside() {
+            assertThat(tracker.onPrimary(() -> tracker.onPrimary(tracker::isRecentWriter))).isTrue();
+            assertThat(tracker.onPrimary(tracker::isRecentWriter)).isTrue();
+            assertThat(tracker.isRecentWriter()).isFalse();
+        }
+    }
+}
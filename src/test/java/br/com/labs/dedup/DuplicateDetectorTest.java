@@ -0,0 +1,55 @@
+package br.com.labs.dedup;
+
+import br.com.labs.event.RestaurantChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class DuplicateDetectorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final DuplicateDetector detector = new DuplicateDetector(jdbcTemplate,
+        new DuplicateDetectionProperties(DuplicateDetectionProperties.Mode.WARN, 0.6, 5), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        detector.shutdown();
+    }
+
+    @Test
+    @DisplayName("should check against the current index while the writer lock is held")
+    void shouldNotWaitForWriter() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+        detector.onRestaurantChanged(new RestaurantChangedEvent(1L, RestaurantChangedEvent.Type.CREATED));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            detector.onRestaurantChanged(new RestaurantChangedEvent(2L, RestaurantChangedEvent.Type.CREATED));
+
+            assertThat(CompletableFuture.supplyAsync(() -> detector.check("Cantina Napoli", "Rua Augusta 1200"))
+                .get(5, TimeUnit.SECONDS)).isEmpty();
+        } finally {
+            release.countDown();
+        }
+    }
+}
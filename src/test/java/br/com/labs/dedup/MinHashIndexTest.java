@@ -0,0 +1,96 @@
+package br.com.labs.dedup;
+
+import br.com.labs.dedup.MinHashIndex.Match;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHashIndexTest {
+
+    private static MinHashIndex index() {
+        MinHashIndex index = new MinHashIndex();
+        index.put(1, "Cantina Napoli", "Rua Augusta, 1200 - Consolação");
+        index.put(2, "Sushi Kenzo", "Rua Galvão Bueno, 300 - Liberdade");
+        index.put(3, "Churrascaria Gaúcha", "Av. Paulista, 900");
+        index.put(4, "Restaurante Cantina Nápoli", "R. Augusta 1200, Consolação");
+        return index;
+    }
+
+    private static List<Long> ids(List<Match> matches) {
+        return matches.stream().map(Match::id).toList();
+    }
+
+    @Test
+    @DisplayName("should fold case, accents, punctuation and filler words")
+    void shouldNormalize() {
+        assertThat(MinHashIndex.normalize("Restaurante Açaí do Pará", "Av. Brasil, 12"))
+            .isEqualTo("acai para av brasil 12");
+        assertThat(MinHashIndex.normalize("Outback", null)).isEqualTo("outback");
+    }
+
+    @Test
+    @DisplayName("should estimate similarity from the signatures")
+    void shouldEstimateSimilarity() {
+        int[] napoli = MinHashIndex.signature(MinHashIndex.normalize("Cantina Napoli", "Rua Augusta 1200"));
+
+        assertThat(MinHashIndex.similarity(napoli,
+            MinHashIndex.signature(MinHashIndex.normalize("Restaurante Cantina Nápoli", "Rua Augusta, 1200"))))
+            .isEqualTo(1.0);
+        assertThat(MinHashIndex.similarity(napoli,
+            MinHashIndex.signature(MinHashIndex.normalize("Sushi Kenzo", "Liberdade"))))
+            .isLessThan(0.2);
+    }
+
+    @Test
+    @DisplayName("should find near duplicates and nothing else")
+    void shouldFindNearDuplicates() {
+        MinHashIndex index = index();
+
+        assertThat(ids(index.find("Cantina Napoli", "Rua Augusta 1200, Consolação", 0.6, 5)))
+            .containsExactlyInAnyOrder(1L, 4L);
+        assertThat(index.find("Pizzaria Bella Roma", "Moema", 0.6, 5)).isEmpty();
+        assertThat(index.find("Cantina Napoli", "Rua Augusta 1200, Consolação", 0.6, 1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should forget removed and renamed restaurants")
+    void shouldRemove() {
+        MinHashIndex index = index();
+
+        index.remove(1);
+        index.put(4, "Temakeria Sakura", "Liberdade");
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.find("Cantina Napoli", "Rua Augusta 1200, Consolação", 0.6, 5)).isEmpty();
+        assertThat(ids(index.find("Temakeria Sakura", "Liberdade", 0.6, 5))).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("should tell whether a restaurant is indexed with the same name and location")
+    void shouldTellCurrentEntries() {
+        MinHashIndex index = index();
+
+        assertThat(index.isCurrent(2, "Sushi Kenzo", "Rua Galvão Bueno, 300 - Liberdade")).isTrue();
+        assertThat(index.isCurrent(2, "Sushi Kenzo", "Rua Galvão Bueno, 310 - Liberdade")).isFalse();
+        assertThat(index.isCurrent(9, "Sushi Kenzo", "Rua Galvão Bueno, 300 - Liberdade")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should group the catalog into duplicate clusters")
+    void shouldFindClusters() {
+        MinHashIndex index = index();
+        index.put(5, "Cantina Napoli", "Rua Augusta 1200 Consolacao");
+        index.put(6, "Temakeria Sakura", "Liberdade");
+        index.put(7, "Temakeria Sakura", "Liberdade");
+
+        List<List<Match>> clusters = index.clusters(0.6);
+
+        assertThat(clusters).hasSize(2);
+        assertThat(ids(clusters.getFirst())).containsExactly(1L, 4L, 5L);
+        assertThat(ids(clusters.get(1))).containsExactly(6L, 7L);
+        assertThat(clusters.getFirst().getFirst().similarity()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.labs.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private GlobalExceptionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new GlobalExceptionHandler(meterRegistry, objectMapper);
+    }
+
+    private static ServletWebRequest request(String accept) {
+        return request(accept, "/api/restaurants/42");
+    }
+
+    private static ServletWebRequest request(String accept, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    @Test
+    @DisplayName("should not capture a stack trace for not-found exceptions")
+    void shouldNotCaptureStackTrace() {
+        ResourceNotFoundException exception = new ResourceNotFoundException("Restaurant", 42L);
+
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getMessage()).isEqualTo("Restaurant not found with id: 42");
+    }
+
+    @Test
+    @DisplayName("should write the same bytes as serializing the problem")
+    void shouldMatchSerializedProblem() throws Exception {
+        for (long id : new long[] {0, 7, 1234567890123L}) {
+            ResponseEntity<Object> response = handler.handleResourceNotFound(
+                new ResourceNotFoundException("Restaurant", id), request(null, "/api/restaurants/" + id));
+
+            ProblemDetail expected = GlobalExceptionHandler.problem(HttpStatus.NOT_FOUND, "Restaurant not found with id: " + id);
+            expected.setInstance(URI.create("/api/restaurants/" + id));
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+            assertThat(new String((byte[]) response.getBody())).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+    }
+
+    @Test
+    @DisplayName("should write the request path as the instance of a bad-credentials problem")
+    void shouldWriteInstanceForBadCredentials() throws Exception {
+        ResponseEntity<Object> response = handler.handleBadCredentials(
+            new BadCredentialsException("Bad credentials"), request("application/json", "/api/auth/login"));
+
+        ProblemDetail expected = GlobalExceptionHandler.problem(HttpStatus.UNAUTHORIZED, "Invalid email or password");
+        expected.setInstance(URI.create("/api/auth/login"));
+        assertThat(new String((byte[]) response.getBody())).isEqualTo(objectMapper.writeValueAsString(expected));
+    }
+
+    @Test
+    @DisplayName("should escape a request path that is not plain JSON text")
+    void shouldEscapeInstance() throws Exception {
+        ResponseEntity<Object> response = handler.handleResourceNotFound(
+            new ResourceNotFoundException("Restaurant", 1L), request(null, "/api/restaurants/\"1"));
+
+        assertThat(objectMapper.readTree((byte[]) response.getBody()).get("instance").asText())
+            .isEqualTo("/api/restaurants/\"1");
+    }
+
+    @Test
+    @DisplayName("should leave binary media types to the message converters")
+    void shouldReturnProblemDetailForBinaryClients() {
+        ResponseEntity<Object> response = handler.handleBadCredentials(
+            new BadCredentialsException("Bad credentials"), request("application/cbor, application/json;q=0.5"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(response.getBody()).isInstanceOf(ProblemDetail.class);
+        assertThat(((ProblemDetail) response.getBody()).getDetail()).isEqualTo("Invalid email or password");
+    }
+
+    @Test
+    @DisplayName("should count exceptions by type")
+    void shouldCountExceptionsByType() {
+        handler.handleResourceNotFound(new ResourceNotFoundException("Restaurant", 1L), request("*/*"));
+        handler.handleResourceNotFound(new ResourceNotFoundException("Restaurant", 2L), request("application/json"));
+
+        assertThat(meterRegistry.get("api.exceptions").tag("type", "ResourceNotFoundException").counter().count())
+            .isEqualTo(2);
+    }
+}
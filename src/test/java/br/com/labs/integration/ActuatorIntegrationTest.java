@@ -0,0 +1,110 @@
+package br.com.labs.integration;
+
+import br.com.labs.dto.request.LoginRequest;
+import br.com.labs.dto.request.RegisterRequest;
+import br.com.labs.dto.response.TokenResponse;
+import br.com.labs.dto.response.UserResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@AutoConfigureObservability(tracing = false)
+class ActuatorIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    @DisplayName("should serve the Prometheus scrape on the management port")
+    void shouldServeScrapeOnManagementPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("hikaricp_connections");
+    }
+
+    @Test
+    @DisplayName("should not serve the Prometheus scrape on the application port")
+    void shouldNotServeScrapeOnApplicationPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode()).isNotEqualTo(HttpStatus.OK);
+    }
+
+    @Nested
+    @DisplayName("With the management port shared with the application")
+    @TestPropertySource(properties = "management.server.port=")
+    class SharedPortTests {
+
+        @Autowired
+        private TestRestTemplate sharedPortRestTemplate;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private String adminToken() {
+            String email = "scraper" + UUID.randomUUID() + "@test.com";
+            Long userId = sharedPortRestTemplate.postForEntity("/api/auth/register",
+                    new RegisterRequest("Scraper", email, "password123"), UserResponse.class).getBody().id();
+            jdbcTemplate.update("INSERT INTO roles (name) SELECT 'ROLE_ADMIN' WHERE NOT EXISTS "
+                    + "(SELECT 1 FROM roles WHERE name = 'ROLE_ADMIN')");
+            jdbcTemplate.update("INSERT INTO users_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = 'ROLE_ADMIN'",
+                    userId);
+            entityManagerFactory.getCache().evictAll();
+            return sharedPortRestTemplate.postForEntity("/api/auth/login", new LoginRequest(email, "password123"),
+                    TokenResponse.class).getBody().token();
+        }
+
+        @Test
+        @DisplayName("should refuse an anonymous scrape")
+        void shouldRefuseAnonymousScrape() {
+            ResponseEntity<String> response = sharedPortRestTemplate.getForEntity("/actuator/prometheus", String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        }
+
+        @Test
+        @DisplayName("should serve the scrape to an admin")
+        void shouldServeScrapeToAdmin() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(adminToken());
+
+            ResponseEntity<String> response = sharedPortRestTemplate.exchange("/actuator/prometheus", HttpMethod.GET,
+                    new HttpEntity<>(headers), String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).contains("hikaricp_connections");
+        }
+
+        @Test
+        @DisplayName("should keep health open")
+        void shouldKeepHealthOpen() {
+            ResponseEntity<String> response = sharedPortRestTemplate.getForEntity("/actuator/health", String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+    }
+}
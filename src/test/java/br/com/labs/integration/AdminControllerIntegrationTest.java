@@ -0,0 +1,211 @@
+package br.com.labs.integration;
+
+import br.com.labs.audit.AuditAction;
+import br.com.labs.dto.request.LoginRequest;
+import br.com.labs.dto.request.RegisterRequest;
+import br.com.labs.dto.request.RestaurantModerationRequest;
+import br.com.labs.dto.request.RestaurantRequest;
+import br.com.labs.dto.request.ReviewRequest;
+import br.com.labs.dto.response.AuditRecordResponse;
+import br.com.labs.dto.response.ModerationJobResponse;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.dto.response.TokenResponse;
+import br.com.labs.dto.response.UserResponse;
+import br.com.labs.moderation.ModerationAction;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminControllerIntegrationTest extends IntegrationTestBase {
+
+    private static final String MODERATION_URL = "/api/admin/restaurants/moderation";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String adminToken;
+    private Long adminId;
+    private String spammerToken;
+    private Long spammerId;
+    private String userToken;
+    private final String suffix = UUID.randomUUID().toString();
+
+    @BeforeEach
+    void setUp() {
+        adminId = register("Admin");
+        grantAdmin(adminId);
+        adminToken = login("Admin");
+        spammerId = register("Spammer");
+        spammerToken = login("Spammer");
+        register("User");
+        userToken = login("User");
+    }
+
+    private String email(String name) {
+        return name.toLowerCase() + suffix + "@test.com";
+    }
+
+    private Long register(String name) {
+        return restTemplate.postForEntity("/api/auth/register", new RegisterRequest(name, email(name), "password123"),
+                UserResponse.class).getBody().id();
+    }
+
+    private String login(String name) {
+        return restTemplate.postForEntity("/api/auth/login", new LoginRequest(email(name), "password123"),
+                TokenResponse.class).getBody().token();
+    }
+
+    private void grantAdmin(Long userId) {
+        jdbcTemplate.update("INSERT INTO roles (name) SELECT 'ROLE_ADMIN' WHERE NOT EXISTS "
+                + "(SELECT 1 FROM roles WHERE name = 'ROLE_ADMIN')");
+        jdbcTemplate.update("INSERT INTO users_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = 'ROLE_ADMIN'",
+                userId);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private HttpHeaders authHeaders(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+
+    private Long createRestaurant(String token, String name) {
+        RestaurantRequest request = new RestaurantRequest(name, "Descrição de " + name, "Rua " + name, 4);
+        return restTemplate.postForEntity("/api/restaurants", new HttpEntity<>(request, authHeaders(token)),
+                RestaurantResponse.class).getBody().id();
+    }
+
+    private HttpStatusCode statusOf(Long restaurantId) {
+        return restTemplate.getForEntity("/api/restaurants/" + restaurantId, String.class).getStatusCode();
+    }
+
+    private ResponseEntity<ModerationJobResponse> submit(RestaurantModerationRequest request) {
+        return restTemplate.postForEntity(MODERATION_URL, new HttpEntity<>(request, authHeaders(adminToken)),
+                ModerationJobResponse.class);
+    }
+
+    private ModerationJobResponse awaitFinished(ResponseEntity<ModerationJobResponse> submitted) throws InterruptedException {
+        HttpEntity<Void> auth = new HttpEntity<>(authHeaders(adminToken));
+        ModerationJobResponse job = submitted.getBody();
+        for (int attempt = 0; attempt < 100 && job.finishedAt() == null; attempt++) {
+            Thread.sleep(50);
+            job = restTemplate.exchange(submitted.getHeaders().getLocation(), HttpMethod.GET, auth,
+                    ModerationJobResponse.class).getBody();
+        }
+        return job;
+    }
+
+    @Nested
+    @DisplayName("POST /api/admin/restaurants/moderation")
+    class ModerationTests {
+
+        @Test
+        @DisplayName("should hide every restaurant of a creator in chunks and show them again")
+        void shouldHideAndUnhideByCreator() throws InterruptedException {
+            List<Long> spam = List.of(createRestaurant(spammerToken, "Alfa " + suffix),
+                    createRestaurant(spammerToken, "Bravo " + suffix), createRestaurant(spammerToken, "Charlie " + suffix));
+            Long legit = createRestaurant(userToken, "Delta " + suffix);
+
+            ResponseEntity<ModerationJobResponse> submitted = submit(
+                    new RestaurantModerationRequest(ModerationAction.HIDE, null, spammerId, null, null));
+
+            assertThat(submitted.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+            ModerationJobResponse job = awaitFinished(submitted);
+            assertThat(job.status()).isEqualTo("COMPLETED");
+            assertThat(job.matched()).isEqualTo(3);
+            assertThat(job.processed()).isEqualTo(3);
+            assertThat(job.chunks()).isEqualTo(2);
+            spam.forEach(id -> assertThat(statusOf(id)).isEqualTo(HttpStatus.NOT_FOUND));
+            assertThat(statusOf(legit)).isEqualTo(HttpStatus.OK);
+
+            ModerationJobResponse unhidden = awaitFinished(submit(
+                    new RestaurantModerationRequest(ModerationAction.UNHIDE, spam.subList(0, 2), null, null, null)));
+
+            assertThat(unhidden.processed()).isEqualTo(2);
+            assertThat(statusOf(spam.get(0))).isEqualTo(HttpStatus.OK);
+            assertThat(statusOf(spam.get(1))).isEqualTo(HttpStatus.OK);
+            assertThat(statusOf(spam.get(2))).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+
+        @Test
+        @DisplayName("should delete restaurants by id and creation range with their reviews, and audit each one")
+        void shouldDeleteByIdsAndRange() throws InterruptedException {
+            LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+            Instant started = Instant.now();
+            Long reviewed = createRestaurant(spammerToken, "Echo " + suffix);
+            Long other = createRestaurant(spammerToken, "Foxtrot " + suffix);
+            Long legit = createRestaurant(userToken, "Golf " + suffix);
+            restTemplate.exchange("/api/restaurants/" + reviewed + "/reviews", HttpMethod.PUT,
+                    new HttpEntity<>(new ReviewRequest(5, "Ótimo"), authHeaders(userToken)), String.class);
+
+            ModerationJobResponse job = awaitFinished(submit(new RestaurantModerationRequest(ModerationAction.DELETE,
+                    List.of(reviewed, other), null, before, LocalDateTime.now().plusMinutes(1))));
+
+            assertThat(job.status()).isEqualTo("COMPLETED");
+            assertThat(job.processed()).isEqualTo(2);
+            assertThat(statusOf(reviewed)).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(statusOf(other)).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(statusOf(legit)).isEqualTo(HttpStatus.OK);
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM reviews WHERE restaurant_id = ?",
+                    Long.class, reviewed)).isZero();
+
+            ResponseEntity<List<AuditRecordResponse>> audit = restTemplate.exchange(
+                    "/api/admin/audit?userId=" + adminId + "&from=" + started, HttpMethod.GET, new HttpEntity<>(authHeaders(adminToken)),
+                    new ParameterizedTypeReference<>() {});
+            assertThat(audit.getBody())
+                    .filteredOn(record -> record.action().equals(AuditAction.RESTAURANT_DELETED.name()))
+                    .extracting(AuditRecordResponse::targetId)
+                    .containsExactlyInAnyOrder(reviewed, other);
+        }
+
+        @Test
+        @DisplayName("should refuse a request without criteria")
+        void shouldRejectEmptySelection() {
+            ResponseEntity<String> response = restTemplate.postForEntity(MODERATION_URL,
+                    new HttpEntity<>(new RestaurantModerationRequest(ModerationAction.DELETE, List.of(), null, null, null),
+                            authHeaders(adminToken)), String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+
+        @Test
+        @DisplayName("should keep moderation to admins")
+        void shouldForbidUsers() {
+            ResponseEntity<String> response = restTemplate.postForEntity(MODERATION_URL,
+                    new HttpEntity<>(new RestaurantModerationRequest(ModerationAction.DELETE, null, spammerId, null, null),
+                            authHeaders(userToken)), String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        }
+
+        @Test
+        @DisplayName("should return not found for an unknown job")
+        void shouldReturnNotFoundForUnknownJob() {
+            ResponseEntity<String> response = restTemplate.exchange(MODERATION_URL + "/" + UUID.randomUUID(),
+                    HttpMethod.GET, new HttpEntity<>(authHeaders(adminToken)), String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+}
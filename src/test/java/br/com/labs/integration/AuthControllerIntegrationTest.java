@@ -1,5 +1,8 @@
 package br.com.labs.integration;
 
+import br.com.labs.audit.AuditAction;
+import br.com.labs.audit.AuditLog;
+import br.com.labs.audit.AuditRecord;
 import br.com.labs.dto.request.LoginRequest;
 import br.com.labs.dto.request.RegisterRequest;
 import br.com.labs.dto.response.TokenResponse;
@@ -12,13 +15,20 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
+import java.time.Instant;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 class AuthControllerIntegrationTest extends IntegrationTestBase {
 
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private AuditLog auditLog;
+
     @Nested
     @DisplayName("POST /api/auth/register")
     class RegisterTests {
@@ -111,5 +121,22 @@ class AuthControllerIntegrationTest extends IntegrationTestBase {
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
         }
+
+        @Test
+        @DisplayName("should record successful and failed logins in the audit log")
+        void shouldAuditLogins() throws IOException {
+            Instant start = Instant.now().minusSeconds(1);
+            RegisterRequest registerRequest = new RegisterRequest("AuditUser", "audit@test.com", "password123");
+            Long userId = restTemplate.postForEntity("/api/auth/register", registerRequest, UserResponse.class)
+                    .getBody().id();
+
+            restTemplate.postForEntity("/api/auth/login", new LoginRequest("audit@test.com", "wrongpassword"), String.class);
+            restTemplate.postForEntity("/api/auth/login", new LoginRequest("audit@test.com", "password123"), String.class);
+
+            assertThat(auditLog.read(start, null, null, 1000))
+                    .filteredOn(record -> userId.equals(record.userId()) || "audit@test.com".equals(record.detail()))
+                    .extracting(AuditRecord::action, AuditRecord::userId)
+                    .containsExactly(tuple(AuditAction.LOGIN_FAILED, null), tuple(AuditAction.LOGIN_SUCCEEDED, userId));
+        }
     }
 }
@@ -0,0 +1,251 @@
+package br.com.labs.integration;
+
+import br.com.labs.batch.BatchOperationType;
+import br.com.labs.dto.request.BatchOperation;
+import br.com.labs.dto.request.BatchRequest;
+import br.com.labs.dto.request.LoginRequest;
+import br.com.labs.dto.request.RegisterRequest;
+import br.com.labs.dto.request.RestaurantRequest;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.dto.response.TokenResponse;
+import br.com.labs.dto.response.UserResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchControllerIntegrationTest extends IntegrationTestBase {
+
+    private static final String BATCH_URL = "/api/batch";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String ownerToken;
+    private String otherToken;
+    private final String suffix = UUID.randomUUID().toString();
+
+    @BeforeEach
+    void setUp() {
+        ownerToken = registerAndLogin("Owner");
+        otherToken = registerAndLogin("Other");
+    }
+
+    private String registerAndLogin(String name) {
+        String email = name.toLowerCase() + suffix + "@test.com";
+        restTemplate.postForEntity("/api/auth/register", new RegisterRequest(name, email, "password123"),
+                UserResponse.class);
+        return restTemplate.postForEntity("/api/auth/login", new LoginRequest(email, "password123"),
+                TokenResponse.class).getBody().token();
+    }
+
+    private HttpHeaders authHeaders(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+
+    private RestaurantRequest restaurant(String name) {
+        return new RestaurantRequest(name + " " + suffix, "Descrição de " + name, "Rua " + name, 4);
+    }
+
+    private Long createRestaurant(String token, String name) {
+        return restTemplate.postForEntity("/api/restaurants", new HttpEntity<>(restaurant(name), authHeaders(token)),
+                RestaurantResponse.class).getBody().id();
+    }
+
+    private static BatchOperation get(String id, Long restaurantId) {
+        return new BatchOperation(id, BatchOperationType.GET, restaurantId, null, null, null, false);
+    }
+
+    private static BatchOperation listMine(String id) {
+        return new BatchOperation(id, BatchOperationType.LIST, null, null, 0, 50, true);
+    }
+
+    private static BatchOperation create(String id, RestaurantRequest body) {
+        return new BatchOperation(id, BatchOperationType.CREATE, null, body, null, null, false);
+    }
+
+    private static BatchOperation update(String id, Long restaurantId, RestaurantRequest body) {
+        return new BatchOperation(id, BatchOperationType.UPDATE, restaurantId, body, null, null, false);
+    }
+
+    private static BatchOperation delete(String id, Long restaurantId) {
+        return new BatchOperation(id, BatchOperationType.DELETE, restaurantId, null, null, null, false);
+    }
+
+    private ResponseEntity<JsonNode> batch(String token, boolean transactional, BatchOperation... operations) {
+        return restTemplate.postForEntity(BATCH_URL,
+                new HttpEntity<>(new BatchRequest(List.of(operations), transactional), authHeaders(token)),
+                JsonNode.class);
+    }
+
+    private static List<Integer> statuses(ResponseEntity<JsonNode> response) {
+        List<Integer> statuses = new ArrayList<>();
+        response.getBody().get("results").forEach(result -> statuses.add(result.get("status").asInt()));
+        return statuses;
+    }
+
+    private Long countByName(String name) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM restaurants WHERE name = ?", Long.class,
+                name + " " + suffix);
+    }
+
+    @Nested
+    @DisplayName("Reads")
+    class ReadTests {
+
+        @Test
+        @DisplayName("should answer every read in order, without authentication")
+        void shouldRunReadsAnonymously() {
+            List<Long> ids = List.of(createRestaurant(ownerToken, "Alfa"), createRestaurant(ownerToken, "Bravo"),
+                    createRestaurant(ownerToken, "Charlie"));
+
+            ResponseEntity<JsonNode> response = batch(null, false,
+                    get("a", ids.get(0)), get("b", ids.get(1)), get("missing", Long.MAX_VALUE),
+                    get("c", ids.get(2)), new BatchOperation("page", BatchOperationType.LIST, null, null, 0, 2, false));
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            JsonNode results = response.getBody().get("results");
+            assertThat(statuses(response)).containsExactly(200, 200, 404, 200, 200);
+            assertThat(results.get(0).get("id").asText()).isEqualTo("a");
+            assertThat(results.get(0).get("body").get("id").asLong()).isEqualTo(ids.get(0));
+            assertThat(results.get(1).get("body").get("name").asText()).isEqualTo("Bravo " + suffix);
+            assertThat(results.get(2).get("body").get("status").asInt()).isEqualTo(404);
+            assertThat(results.get(3).get("body").get("id").asLong()).isEqualTo(ids.get(2));
+            assertThat(results.get(4).get("body").get("content")).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("should require authentication for the caller's own restaurants")
+        void shouldRequireAuthenticationForMine() {
+            ResponseEntity<JsonNode> response = batch(null, false, listMine("mine"));
+
+            assertThat(statuses(response)).containsExactly(401);
+        }
+    }
+
+    @Nested
+    @DisplayName("Writes")
+    class WriteTests {
+
+        @Test
+        @DisplayName("should apply each write on its own and let later reads see the earlier writes")
+        void shouldApplyWritesIndependently() {
+            Long own = createRestaurant(ownerToken, "Delta");
+            Long foreign = createRestaurant(otherToken, "Echo");
+
+            ResponseEntity<JsonNode> response = batch(ownerToken, false,
+                    create("new", restaurant("Foxtrot")),
+                    update("rename", own, restaurant("Delta Renamed")),
+                    delete("foreign", foreign),
+                    listMine("mine"),
+                    get("renamed", own));
+
+            assertThat(statuses(response)).containsExactly(201, 200, 403, 200, 200);
+            JsonNode results = response.getBody().get("results");
+            List<String> mine = new ArrayList<>();
+            results.get(3).get("body").get("content").forEach(item -> mine.add(item.get("name").asText()));
+            assertThat(mine).containsExactlyInAnyOrder("Delta Renamed " + suffix, "Foxtrot " + suffix);
+            assertThat(results.get(4).get("body").get("name").asText()).isEqualTo("Delta Renamed " + suffix);
+            assertThat(countByName("Echo")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should roll back every write of a transactional batch when one fails")
+        void shouldRollBackTransactionalBatch() {
+            Long own = createRestaurant(ownerToken, "Golf");
+
+            ResponseEntity<JsonNode> response = batch(ownerToken, true,
+                    get("before", own),
+                    create("new", restaurant("Hotel")),
+                    update("rename", own, restaurant("Golf Renamed")),
+                    delete("missing", Long.MAX_VALUE),
+                    get("after", own));
+
+            assertThat(statuses(response)).containsExactly(200, 424, 424, 404, 200);
+            JsonNode results = response.getBody().get("results");
+            assertThat(results.get(1).get("body").get("detail").asText()).contains("'missing'");
+            assertThat(results.get(4).get("body").get("name").asText()).isEqualTo("Golf " + suffix);
+            assertThat(countByName("Hotel")).isZero();
+            assertThat(countByName("Golf Renamed")).isZero();
+        }
+
+        @Test
+        @DisplayName("should commit a transactional batch and show its writes to the reads after it")
+        void shouldCommitTransactionalBatch() {
+            Long own = createRestaurant(ownerToken, "India");
+
+            ResponseEntity<JsonNode> response = batch(ownerToken, true,
+                    create("new", restaurant("Juliett")),
+                    get("renamed", own),
+                    update("rename", own, restaurant("India Renamed")));
+
+            assertThat(statuses(response)).containsExactly(201, 200, 200);
+            assertThat(response.getBody().get("results").get(1).get("body").get("name").asText())
+                    .isEqualTo("India Renamed " + suffix);
+            assertThat(countByName("Juliett")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should answer 401 for writes without authentication")
+        void shouldRequireAuthenticationForWrites() {
+            ResponseEntity<JsonNode> response = batch(null, false, create("new", restaurant("Kilo")));
+
+            assertThat(statuses(response)).containsExactly(401);
+            assertThat(countByName("Kilo")).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("should refuse a batch with an operation missing its restaurant id")
+        void shouldRejectMissingRestaurantId() {
+            ResponseEntity<JsonNode> response = batch(ownerToken, false, get("a", null));
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+
+        @Test
+        @DisplayName("should refuse a batch with an invalid body before running any of it")
+        void shouldRejectInvalidBody() {
+            ResponseEntity<JsonNode> response = batch(ownerToken, false,
+                    create("valid", restaurant("Lima")),
+                    create("invalid", new RestaurantRequest("", "Sem nome", null, 9)));
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(countByName("Lima")).isZero();
+        }
+
+        @Test
+        @DisplayName("should refuse a batch above the operation limit")
+        void shouldRejectTooManyOperations() {
+            BatchOperation[] operations = Collections.nCopies(21, get(null, 1L)).toArray(BatchOperation[]::new);
+
+            ResponseEntity<JsonNode> response = batch(ownerToken, false, operations);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.labs.integration;
+
+import br.com.labs.dto.request.LoginRequest;
+import br.com.labs.dto.request.RegisterRequest;
+import br.com.labs.dto.request.RestaurantRequest;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.dto.response.TokenResponse;
+import br.com.labs.dto.response.UserResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String registerAndLogin() {
+        String email = "bus" + System.nanoTime() + "@test.com";
+        restTemplate.postForEntity("/api/auth/register", new RegisterRequest("Bus User", email, "password123"), UserResponse.class);
+        return restTemplate.postForEntity("/api/auth/login", new LoginRequest(email, "password123"), TokenResponse.class)
+                .getBody().token();
+    }
+
+    private Long createRestaurant(String name) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(registerAndLogin());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity("/api/restaurants",
+                new HttpEntity<>(new RestaurantRequest(name, "Desc", "Loc", 4), headers), RestaurantResponse.class)
+                .getBody().id();
+    }
+
+    private String nameOf(Long id) {
+        ResponseEntity<RestaurantResponse> response = restTemplate.getForEntity("/api/restaurants/" + id, RestaurantResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody().name();
+    }
+
+    // Another node's write: the row changes behind this node's caches, then the notification arrives
+    private void writeOnOtherNode(Long id, String name) {
+        jdbcTemplate.update("UPDATE restaurants SET name = ? WHERE id = ?", name, id);
+        jdbcTemplate.queryForList("SELECT pg_notify('cache_invalidation', ?)", "other-node restaurant " + id + " UPDATED");
+    }
+
+    private static String eventually(Supplier<String> read, String expected) throws InterruptedException {
+        String value = read.get();
+        for (int attempt = 0; attempt < 50 && !expected.equals(value); attempt++) {
+            Thread.sleep(100);
+            value = read.get();
+        }
+        return value;
+    }
+
+    @Test
+    @DisplayName("should evict a restaurant changed by another node")
+    void shouldEvictRestaurantChangedElsewhere() throws Exception {
+        Long id = createRestaurant("Before");
+        assertThat(nameOf(id)).isEqualTo("Before");
+
+        jdbcTemplate.update("UPDATE restaurants SET name = 'Changed Quietly' WHERE id = ?", id);
+        assertThat(nameOf(id)).isEqualTo("Before");
+
+        writeOnOtherNode(id, "After");
+
+        assertThat(eventually(() -> nameOf(id), "After")).isEqualTo("After");
+    }
+
+    @Test
+    @DisplayName("should flush everything on a message it cannot read")
+    void shouldFlushOnMalformedMessage() throws Exception {
+        Long id = createRestaurant("Cached");
+        assertThat(nameOf(id)).isEqualTo("Cached");
+        jdbcTemplate.update("UPDATE restaurants SET name = 'Flushed' WHERE id = ?", id);
+
+        jdbcTemplate.queryForList("SELECT pg_notify('cache_invalidation', 'garbage')");
+
+        assertThat(eventually(() -> nameOf(id), "Flushed")).isEqualTo("Flushed");
+    }
+}
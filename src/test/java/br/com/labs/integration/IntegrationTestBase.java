@@ -30,6 +30,10 @@ public abstract class IntegrationTestBase {
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
         registry.add("jwt.secret", () -> "mySuperSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong!");
         registry.add("jwt.expiration", () -> "86400000");
+        registry.add("app.sql-statements.recent-requests", () -> "100");
+        registry.add("app.photos.directory", () -> "target/test-photos");
+        registry.add("app.audit.directory", () -> "target/test-audit");
+        registry.add("app.moderation.chunk-size", () -> "2");
     }
 
     protected String getBaseUrl() {
@@ -0,0 +1,85 @@
+package br.com.labs.integration;
+
+import br.com.labs.dto.request.LoginRequest;
+import br.com.labs.dto.request.RegisterRequest;
+import br.com.labs.dto.request.RestaurantRequest;
+import br.com.labs.dto.request.ReviewRequest;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.dto.response.TokenResponse;
+import br.com.labs.dto.response.UserResponse;
+import br.com.labs.monitoring.SqlStatementFilter;
+import br.com.labs.monitoring.SqlStatementFilter.RequestSqlStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The read endpoints with {@code spring.jpa.open-in-view=false}: nothing may rely on lazy loading after the
+ * service's transaction has ended.
+ */
+@TestPropertySource(properties = "spring.jpa.open-in-view=false")
+class OpenInViewDisabledIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private SqlStatementFilter sqlStatementFilter;
+
+    private HttpHeaders headers;
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        String email = "osiv" + UUID.randomUUID() + "@test.com";
+        restTemplate.postForEntity("/api/auth/register", new RegisterRequest("Osiv", email, "password123"), UserResponse.class);
+        String token = restTemplate.postForEntity("/api/auth/login", new LoginRequest(email, "password123"),
+                TokenResponse.class).getBody().token();
+        headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+
+        RestaurantRequest request = new RestaurantRequest("Outback " + UUID.randomUUID(), "Melhor costela!", "Shopping", 5);
+        restaurantId = restTemplate.postForEntity("/api/restaurants", new HttpEntity<>(request, headers),
+                RestaurantResponse.class).getBody().id();
+        restTemplate.exchange("/api/restaurants/" + restaurantId + "/reviews", HttpMethod.PUT,
+                new HttpEntity<>(new ReviewRequest(4, "Bom"), headers), String.class);
+    }
+
+    @Test
+    @DisplayName("should serve the read endpoints without a session open in the view")
+    void shouldServeReadsWithoutOpenSession() {
+        List<String> paths = List.of(
+                "/api/restaurants",
+                "/api/restaurants/" + restaurantId,
+                "/api/restaurants/my",
+                "/api/restaurants/" + restaurantId + "/reviews",
+                "/api/restaurants/" + restaurantId + "/photos");
+
+        for (String path : paths) {
+            ResponseEntity<String> response = restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers),
+                    String.class);
+            assertThat(response.getStatusCode()).as(path).isEqualTo(HttpStatus.OK);
+        }
+    }
+
+    @Test
+    @DisplayName("should check out one connection for a restaurant")
+    void shouldUseOneConnection() {
+        RequestSqlStats stats = new SqlStatementCounter(sqlStatementFilter).stats("/api/restaurants/" + restaurantId,
+                () -> restTemplate.getForEntity("/api/restaurants/" + restaurantId, RestaurantResponse.class));
+
+        assertThat(stats.connections()).isEqualTo(1);
+        assertThat(stats.connectionHoldTime()).isPositive();
+    }
+}
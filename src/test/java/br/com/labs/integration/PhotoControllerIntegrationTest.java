@@ -0,0 +1,206 @@
+package br.com.labs.integration;
+
+import br.com.labs.dto.request.LoginRequest;
+import br.com.labs.dto.request.RegisterRequest;
+import br.com.labs.dto.request.RestaurantRequest;
+import br.com.labs.dto.response.PhotoResponse;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.dto.response.TokenResponse;
+import br.com.labs.dto.response.UserResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhotoControllerIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String ownerToken;
+    private Long restaurantId;
+    private String photosUrl;
+
+    @BeforeEach
+    void setUp() {
+        ownerToken = registerAndLogin("Owner");
+        RestaurantRequest request = new RestaurantRequest("Outback", "Melhor costela!", "Shopping", 5);
+        HttpHeaders headers = authHeaders(ownerToken);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restaurantId = restTemplate.postForEntity("/api/restaurants", new HttpEntity<>(request, headers),
+                RestaurantResponse.class).getBody().id();
+        photosUrl = "/api/restaurants/" + restaurantId + "/photos";
+    }
+
+    private String registerAndLogin(String name) {
+        String email = name.toLowerCase() + UUID.randomUUID() + "@test.com";
+        restTemplate.postForEntity("/api/auth/register", new RegisterRequest(name, email, "password123"), UserResponse.class);
+        return restTemplate.postForEntity("/api/auth/login", new LoginRequest(email, "password123"), TokenResponse.class)
+                .getBody().token();
+    }
+
+    private HttpHeaders authHeaders(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private <T> ResponseEntity<T> upload(String token, byte[] body, MediaType contentType, Class<T> type) {
+        HttpHeaders headers = authHeaders(token);
+        headers.setContentType(contentType);
+        return restTemplate.postForEntity(photosUrl, new HttpEntity<>(body, headers), type);
+    }
+
+    private ResponseEntity<byte[]> get(String url, HttpHeaders headers) {
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    @Nested
+    @DisplayName("POST /api/restaurants/{id}/photos")
+    class UploadTests {
+
+        @Test
+        @DisplayName("should store the photo and list it without authentication")
+        void shouldUploadPhoto() throws IOException {
+            byte[] image = png(640, 480);
+
+            ResponseEntity<PhotoResponse> response = upload(ownerToken, image, MediaType.IMAGE_PNG, PhotoResponse.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(response.getHeaders().getLocation()).hasPath(response.getBody().url());
+            assertThat(response.getBody().contentType()).isEqualTo(MediaType.IMAGE_PNG_VALUE);
+            assertThat(response.getBody().size()).isEqualTo(image.length);
+
+            ResponseEntity<List<PhotoResponse>> photos = restTemplate.exchange(photosUrl, HttpMethod.GET, null,
+                    new ParameterizedTypeReference<>() {});
+            assertThat(photos.getBody()).extracting(PhotoResponse::id).containsExactly(response.getBody().id());
+        }
+
+        @Test
+        @DisplayName("should reject a body that is not an image")
+        void shouldRejectNonImage() {
+            ResponseEntity<String> response = upload(ownerToken, "<html>hi</html>".getBytes(), MediaType.IMAGE_PNG,
+                    String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+
+        @Test
+        @DisplayName("should reject unsupported content types")
+        void shouldRejectUnsupportedContentType() throws IOException {
+            ResponseEntity<String> response = upload(ownerToken, png(10, 10), MediaType.TEXT_PLAIN, String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        }
+
+        @Test
+        @DisplayName("should only let the owner add photos")
+        void shouldForbidOtherUsers() throws IOException {
+            ResponseEntity<String> response = upload(registerAndLogin("Other"), png(10, 10), MediaType.IMAGE_PNG,
+                    String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/restaurants/{id}/photos/{photoId}")
+    class DownloadTests {
+
+        @Test
+        @DisplayName("should serve the photo with long-lived cache headers and revalidate by ETag")
+        void shouldDownloadPhoto() throws IOException {
+            byte[] image = png(640, 480);
+            String url = upload(ownerToken, image, MediaType.IMAGE_PNG, PhotoResponse.class).getBody().url();
+
+            ResponseEntity<byte[]> response = get(url, new HttpHeaders());
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isEqualTo(image);
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_PNG);
+            assertThat(response.getHeaders().getCacheControl()).contains("max-age=31536000", "immutable");
+            String etag = response.getHeaders().getETag();
+            assertThat(etag).isNotBlank();
+
+            HttpHeaders conditional = new HttpHeaders();
+            conditional.setIfNoneMatch(etag);
+            ResponseEntity<byte[]> notModified = get(url, conditional);
+            assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(notModified.getBody()).isNull();
+        }
+
+        @Test
+        @DisplayName("should serve byte ranges")
+        void shouldServeRange() throws IOException {
+            byte[] image = png(640, 480);
+            String url = upload(ownerToken, image, MediaType.IMAGE_PNG, PhotoResponse.class).getBody().url();
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setRange(List.of(HttpRange.createByteRange(8, 15)));
+            ResponseEntity<byte[]> response = get(url, headers);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+            assertThat(response.getBody()).isEqualTo(Arrays.copyOfRange(image, 8, 16));
+            assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 8-15/" + image.length);
+        }
+
+        @Test
+        @DisplayName("should generate a thumbnail in the background")
+        void shouldServeThumbnail() throws Exception {
+            String url = upload(ownerToken, png(1600, 1200), MediaType.IMAGE_PNG, PhotoResponse.class).getBody()
+                    .thumbnailUrl();
+
+            ResponseEntity<byte[]> response = get(url, new HttpHeaders());
+            for (int attempt = 0; attempt < 50 && !MediaType.IMAGE_JPEG.equals(response.getHeaders().getContentType()); attempt++) {
+                Thread.sleep(100);
+                response = get(url, new HttpHeaders());
+            }
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_JPEG);
+            BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(response.getBody()));
+            assertThat(thumbnail.getWidth()).isEqualTo(320);
+            assertThat(thumbnail.getHeight()).isEqualTo(240);
+        }
+
+        @Test
+        @DisplayName("should delete a photo")
+        void shouldDeletePhoto() throws IOException {
+            String url = upload(ownerToken, png(20, 20), MediaType.IMAGE_PNG, PhotoResponse.class).getBody().url();
+
+            ResponseEntity<Void> deleted = restTemplate.exchange(url, HttpMethod.DELETE,
+                    new HttpEntity<>(authHeaders(ownerToken)), Void.class);
+
+            assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+            assertThat(get(url, new HttpHeaders()).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.labs.integration;
+
+import br.com.labs.dto.request.LoginRequest;
+import br.com.labs.dto.request.RegisterRequest;
+import br.com.labs.dto.request.RestaurantRequest;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.dto.response.TokenResponse;
+import br.com.labs.dto.response.UserResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadReplicaRoutingIntegrationTest extends IntegrationTestBase {
+
+    static PostgreSQLContainer<?> replica;
+    static JdbcTemplate replicaJdbc;
+    static boolean schemaCopied;
+
+    static {
+        replica = new PostgreSQLContainer<>("postgres:16-alpine")
+                .withDatabaseName("restaurants_replica")
+                .withUsername("test")
+                .withPassword("test");
+        replica.start();
+        replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(
+                replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+    }
+
+    @DynamicPropertySource
+    static void configureReplica(DynamicPropertyRegistry registry) {
+        registry.add("app.datasource.replica-urls", replica::getJdbcUrl);
+        registry.add("app.datasource.read-your-writes-window", () -> "1m");
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @BeforeEach
+    void copySchemaToReplica() throws Exception {
+        if (schemaCopied) {
+            return;
+        }
+        // The primary schema is created by Hibernate; the replica gets the same DDL, but no rows
+        String schema = postgres.execInContainer("pg_dump", "--schema-only", "--no-owner",
+                "-U", postgres.getUsername(), postgres.getDatabaseName()).getStdout();
+        replicaJdbc.execute(schema.lines()
+                .filter(line -> !line.startsWith("\\"))
+                .collect(Collectors.joining("\n")));
+        replicaJdbc.update("INSERT INTO users (id, name, email, password, created_at) "
+                + "VALUES (9001, 'Replica Owner', 'replica-owner@test.com', 'x', now())");
+        replicaJdbc.update("INSERT INTO restaurants (id, name, description, location, rating, created_by, created_at) "
+                + "VALUES (9001, 'Only On Replica', 'Desc', 'Loc', 5, 9001, now())");
+        schemaCopied = true;
+    }
+
+    private String registerAndLogin() {
+        String email = "writer" + System.nanoTime() + "@test.com";
+        restTemplate.postForEntity("/api/auth/register", new RegisterRequest("Writer", email, "password123"), UserResponse.class);
+        ResponseEntity<TokenResponse> login = restTemplate.postForEntity(
+                "/api/auth/login", new LoginRequest(email, "password123"), TokenResponse.class);
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return login.getBody().token();
+    }
+
+    private HttpHeaders authHeaders(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+
+    @Test
+    @DisplayName("should serve anonymous reads from the replica")
+    void shouldServeAnonymousReadsFromReplica() {
+        ResponseEntity<RestaurantResponse> response = restTemplate.getForEntity(
+                "/api/restaurants/9001",
+                RestaurantResponse.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().name()).isEqualTo("Only On Replica");
+    }
+
+    @Test
+    @DisplayName("should route writes to the primary and keep the writer on it")
+    void shouldKeepWriterOnPrimary() {
+        String token = registerAndLogin();
+        RestaurantRequest request = new RestaurantRequest("Written To Primary", "Desc", "Loc", 4);
+        ResponseEntity<RestaurantResponse> created = restTemplate.postForEntity(
+                "/api/restaurants",
+                new HttpEntity<>(request, authHeaders(token)),
+                RestaurantResponse.class
+        );
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        ResponseEntity<Map> mine = restTemplate.exchange(
+                "/api/restaurants/my",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(token)),
+                Map.class
+        );
+        assertThat(mine.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(mine.getBody().get("totalElements")).isEqualTo(1);
+
+        ResponseEntity<String> anonymous = restTemplate.getForEntity(
+                "/api/restaurants/" + created.getBody().id(),
+                String.class
+        );
+        assertThat(anonymous.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
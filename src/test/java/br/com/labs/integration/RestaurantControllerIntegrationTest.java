@@ -4,8 +4,20 @@ import br.com.labs.dto.request.LoginRequest;
 import br.com.labs.dto.request.RegisterRequest;
 import br.com.labs.dto.request.RestaurantRequest;
 import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.dto.response.SimilarRestaurantResponse;
 import br.com.labs.dto.response.TokenResponse;
 import br.com.labs.dto.response.UserResponse;
+import br.com.labs.monitoring.SqlStatementFilter;
+import br.com.labs.monitoring.SqlStatementFilter.RequestSqlStats;
+import br.com.labs.popularity.RestaurantViewCounter;
+import br.com.labs.recommendation.SimilarRestaurants;
+import br.com.labs.serialization.BinaryMediaTypes;
+import br.com.labs.serialization.ProtobufJacksonHttpMessageConverter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,8 +25,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,6 +39,18 @@ class RestaurantControllerIntegrationTest extends IntegrationTestBase {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private SqlStatementFilter sqlStatementFilter;
+
+    @Autowired
+    private RestaurantViewCounter restaurantViewCounter;
+
+    @Autowired
+    private SimilarRestaurants similarRestaurants;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private String authToken;
     private String userEmail;
 
@@ -280,4 +307,299 @@ class RestaurantControllerIntegrationTest extends IntegrationTestBase {
             assertThat(response.getBody()).isNotNull();
         }
     }
+
+    @Nested
+    @DisplayName("SQL statement counts")
+    class SqlStatementCountTests {
+
+        private SqlStatementCounter counter;
+
+        @BeforeEach
+        void setUp() {
+            counter = new SqlStatementCounter(sqlStatementFilter);
+        }
+
+        private HttpHeaders authHeaders(String token) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(token);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            return headers;
+        }
+
+        private String registerAndLogin(String name) {
+            String email = name.toLowerCase().replace(" ", "") + System.nanoTime() + "@test.com";
+            restTemplate.postForEntity("/api/auth/register", new RegisterRequest(name, email, "password123"), UserResponse.class);
+            return restTemplate.postForEntity("/api/auth/login", new LoginRequest(email, "password123"), TokenResponse.class)
+                    .getBody().token();
+        }
+
+        private Long createRestaurant(String token, String name) {
+            RestaurantRequest request = new RestaurantRequest(name, "Desc", "Loc", 4);
+            return restTemplate.postForEntity("/api/restaurants", new HttpEntity<>(request, authHeaders(token)),
+                    RestaurantResponse.class).getBody().id();
+        }
+
+        @Test
+        @DisplayName("should load restaurant and owner in a single statement")
+        void shouldLoadRestaurantWithOwnerInSingleStatement() {
+            Long restaurantId = createRestaurant(authToken, "Single Query");
+
+            int statements = counter.count("/api/restaurants/" + restaurantId,
+                    () -> restTemplate.getForEntity("/api/restaurants/" + restaurantId, RestaurantResponse.class));
+
+            assertThat(statements).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should check out one connection for a restaurant and record how long it was held")
+        void shouldRecordConnectionHoldTime() {
+            Long restaurantId = createRestaurant(authToken, "Connection Hold");
+
+            RequestSqlStats stats = counter.stats("/api/restaurants/" + restaurantId,
+                    () -> restTemplate.getForEntity("/api/restaurants/" + restaurantId, RestaurantResponse.class));
+
+            assertThat(stats.connections()).isEqualTo(1);
+            assertThat(stats.connectionHoldTime()).isPositive();
+        }
+
+        @Test
+        @DisplayName("should use a single statement for a missing restaurant")
+        void shouldUseSingleStatementForMissingRestaurant() {
+            int statements = counter.count("/api/restaurants/99999",
+                    () -> restTemplate.getForEntity("/api/restaurants/99999", String.class));
+
+            assertThat(statements).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should not issue one statement per owner when listing")
+        void shouldNotIssueOneStatementPerOwnerWhenListing() {
+            for (int i = 1; i <= 3; i++) {
+                createRestaurant(registerAndLogin("Owner " + i), "Owner Restaurant " + i);
+            }
+
+            int statements = counter.count("/api/restaurants",
+                    () -> restTemplate.getForEntity("/api/restaurants?size=1000", Map.class));
+
+            assertThat(statements).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should authenticate from the second-level cache")
+        void shouldAuthenticateFromSecondLevelCache() {
+            HttpEntity<Void> getEntity = new HttpEntity<>(createAuthHeaders());
+            restTemplate.exchange("/api/restaurants/my", HttpMethod.GET, getEntity, Map.class);
+
+            int statements = counter.count("/api/restaurants/my",
+                    () -> restTemplate.exchange("/api/restaurants/my", HttpMethod.GET, getEntity, Map.class));
+
+            assertThat(statements).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should use the same number of statements regardless of how many restaurants the user has")
+        void shouldUseConstantStatementsForMyRestaurants() {
+            HttpEntity<Void> getEntity = new HttpEntity<>(createAuthHeaders());
+            createRestaurant(authToken, "Mine 1");
+            int withOne = counter.count("/api/restaurants/my",
+                    () -> restTemplate.exchange("/api/restaurants/my", HttpMethod.GET, getEntity, Map.class));
+
+            createRestaurant(authToken, "Mine 2");
+            createRestaurant(authToken, "Mine 3");
+            int withThree = counter.count("/api/restaurants/my",
+                    () -> restTemplate.exchange("/api/restaurants/my", HttpMethod.GET, getEntity, Map.class));
+
+            assertThat(withOne).isEqualTo(1);
+            assertThat(withThree).isEqualTo(withOne);
+        }
+    }
+
+    @Nested
+    @DisplayName("Content negotiation")
+    class ContentNegotiationTests {
+
+        private Long restaurantId;
+
+        @BeforeEach
+        void createRestaurant() {
+            RestaurantRequest request = new RestaurantRequest("Binary Bistro", "Açaí e pão de queijo", "Centro", 5);
+            restaurantId = restTemplate.postForEntity("/api/restaurants", new HttpEntity<>(request, createAuthHeaders()),
+                    RestaurantResponse.class).getBody().id();
+        }
+
+        private ResponseEntity<byte[]> get(String path, MediaType accept) {
+            HttpHeaders headers = createAuthHeaders();
+            headers.setAccept(List.of(accept));
+            return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        }
+
+        @Test
+        @DisplayName("should keep JSON as the default")
+        void shouldKeepJsonAsDefault() {
+            ResponseEntity<byte[]> detail = get("/api/restaurants/" + restaurantId, MediaType.ALL);
+            ResponseEntity<byte[]> list = get("/api/restaurants", MediaType.ALL);
+
+            assertThat(detail.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(list.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        }
+
+        @Test
+        @DisplayName("should return restaurant as CBOR")
+        void shouldReturnRestaurantAsCbor() throws Exception {
+            ResponseEntity<byte[]> response = get("/api/restaurants/" + restaurantId, BinaryMediaTypes.CBOR);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getContentType()).isEqualTo(BinaryMediaTypes.CBOR);
+            JsonNode body = new CBORMapper().readTree(response.getBody());
+            assertThat(body.get("description").asText()).isEqualTo("Açaí e pão de queijo");
+        }
+
+        @Test
+        @DisplayName("should return my restaurants page as Smile")
+        void shouldReturnPageAsSmile() throws Exception {
+            ResponseEntity<byte[]> response = get("/api/restaurants/my", BinaryMediaTypes.SMILE);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            JsonNode body = new SmileMapper().readTree(response.getBody());
+            assertThat(body.get("content").get(0).get("name").asText()).isEqualTo("Binary Bistro");
+            assertThat(body.get("page").get("totalElements").asLong()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should return restaurants page as protobuf")
+        void shouldReturnPageAsProtobuf() throws Exception {
+            ResponseEntity<byte[]> response = get("/api/restaurants?size=1000", BinaryMediaTypes.PROTOBUF);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getContentType()).isEqualTo(BinaryMediaTypes.PROTOBUF);
+            ProtobufSchema schema = ProtobufJacksonHttpMessageConverter.loadSchema(
+                    new ClassPathResource("proto/restaurants.proto").getInputStream()).forType("RestaurantPage");
+            JsonNode body = new ProtobufMapper().readerFor(JsonNode.class).with(schema).readValue(response.getBody());
+            assertThat(body.get("content").findValuesAsText("name")).contains("Binary Bistro");
+        }
+    }
+
+    @Nested
+    @DisplayName("View counts")
+    class ViewCountTests {
+
+        @Test
+        @DisplayName("should count detail views and expose them after a flush")
+        void shouldCountViews() {
+            RestaurantRequest request = new RestaurantRequest("Popular Place", "Desc", "Loc", 5);
+            Long id = restTemplate.postForEntity("/api/restaurants", new HttpEntity<>(request, createAuthHeaders()),
+                    RestaurantResponse.class).getBody().id();
+            for (int i = 0; i < 3; i++) {
+                assertThat(restTemplate.getForEntity("/api/restaurants/" + id, String.class).getStatusCode())
+                        .isEqualTo(HttpStatus.OK);
+            }
+            restTemplate.getForEntity("/api/restaurants/99999", String.class);
+
+            restaurantViewCounter.flush();
+
+            ResponseEntity<RestaurantResponse> detail = restTemplate.getForEntity("/api/restaurants/" + id,
+                    RestaurantResponse.class);
+            assertThat(detail.getBody().viewCount()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should not bring back the count of a restaurant viewed after its delete")
+        void shouldNotCountViewsAfterDelete() {
+            RestaurantRequest request = new RestaurantRequest("Closing Place", "Desc", "Loc", 3);
+            Long id = restTemplate.postForEntity("/api/restaurants", new HttpEntity<>(request, createAuthHeaders()),
+                    RestaurantResponse.class).getBody().id();
+            restTemplate.getForEntity("/api/restaurants/" + id, String.class);
+            restaurantViewCounter.flush();
+
+            restTemplate.exchange("/api/restaurants/" + id, HttpMethod.DELETE,
+                    new HttpEntity<>(createAuthHeaders()), Void.class);
+            // A detail read that was already past its lookup when the delete committed
+            restaurantViewCounter.increment(id);
+            restaurantViewCounter.flush();
+
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM restaurant_view_counts WHERE restaurant_id = ?", Long.class, id)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/restaurants/{id}/similar")
+    class SimilarRestaurantsTests {
+
+        private Long create(String name, String description) {
+            RestaurantRequest request = new RestaurantRequest(name, description, "Centro", 4);
+            return restTemplate.postForEntity("/api/restaurants", new HttpEntity<>(request, createAuthHeaders()),
+                    RestaurantResponse.class).getBody().id();
+        }
+
+        private List<Long> similarTo(Long id) {
+            ResponseEntity<List<SimilarRestaurantResponse>> response = restTemplate.exchange(
+                    "/api/restaurants/" + id + "/similar", HttpMethod.GET, null,
+                    new ParameterizedTypeReference<>() {});
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            return response.getBody().stream().map(SimilarRestaurantResponse::id).toList();
+        }
+
+        @Test
+        @DisplayName("should serve precomputed neighbors and fold in new restaurants")
+        void shouldFindSimilarRestaurants() {
+            Long napoli = create("Cantina Napoli", "Pizza napolitana com fermentação natural no forno a lenha");
+            Long roma = create("Forno di Roma", "Pizza napolitana de fermentação lenta, forno a lenha");
+            create("Sushi Kenzo", "Sushi, sashimi e temakis de peixe fresco");
+            similarRestaurants.rebuild();
+
+            assertThat(similarTo(napoli)).first().isEqualTo(roma);
+            assertThat(similarTo(roma)).first().isEqualTo(napoli);
+
+            Long bella = create("Bella Napolitana", "Pizza napolitana no forno a lenha");
+            similarRestaurants.applyPendingChanges();
+
+            assertThat(similarTo(bella)).contains(napoli, roma);
+        }
+
+        @Test
+        @DisplayName("should return not found for a restaurant that is not indexed")
+        void shouldReturnNotFound() {
+            similarRestaurants.rebuild();
+
+            ResponseEntity<String> response = restTemplate.getForEntity("/api/restaurants/99999/similar", String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Nested
+    @DisplayName("Duplicate detection")
+    class DuplicateDetectionTests {
+
+        private ResponseEntity<RestaurantResponse> create(String name, String location) {
+            RestaurantRequest request = new RestaurantRequest(name, "Massas e pizzas", location, 4);
+            return restTemplate.postForEntity("/api/restaurants", new HttpEntity<>(request, createAuthHeaders()),
+                    RestaurantResponse.class);
+        }
+
+        @Test
+        @DisplayName("should create a likely duplicate and point at the original")
+        void shouldWarnAboutDuplicate() {
+            String suffix = String.valueOf(System.nanoTime());
+            Long original = create("Cantina Vesuvio " + suffix, "Rua Augusta, 1200").getBody().id();
+
+            ResponseEntity<RestaurantResponse> duplicate = create("Restaurante Cantina Vesúvio " + suffix, "rua augusta 1200");
+            ResponseEntity<RestaurantResponse> distinct = create("Sushi Kenzo " + suffix, "Liberdade");
+
+            assertThat(duplicate.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(duplicate.getHeaders().getFirst("X-Possible-Duplicates")).isEqualTo(original.toString());
+            assertThat(distinct.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(distinct.getHeaders().containsKey("X-Possible-Duplicates")).isFalse();
+        }
+
+        @Test
+        @DisplayName("should keep the duplicate scan to admins")
+        void shouldForbidScanToUsers() {
+            ResponseEntity<String> response = restTemplate.exchange("/api/admin/restaurants/duplicates",
+                    HttpMethod.GET, new HttpEntity<>(createAuthHeaders()), String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        }
+    }
 }
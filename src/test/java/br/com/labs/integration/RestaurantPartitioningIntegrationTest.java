@@ -0,0 +1,120 @@
+package br.com.labs.integration;
+
+import br.com.labs.dto.request.LoginRequest;
+import br.com.labs.dto.request.RegisterRequest;
+import br.com.labs.dto.request.RestaurantRequest;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.dto.response.TokenResponse;
+import br.com.labs.dto.response.UserResponse;
+import br.com.labs.partition.RestaurantPartitionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestaurantPartitioningIntegrationTest extends IntegrationTestBase {
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RestaurantPartitionManager partitionManager;
+
+    private String authToken;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        String email = "partitions" + UUID.randomUUID() + "@test.com";
+        userId = restTemplate.postForEntity("/api/auth/register", new RegisterRequest("Partitions", email, "password123"),
+                UserResponse.class).getBody().id();
+        authToken = restTemplate.postForEntity("/api/auth/login", new LoginRequest(email, "password123"),
+                TokenResponse.class).getBody().token();
+    }
+
+    private Long createRestaurant(String name) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(authToken);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        RestaurantRequest request = new RestaurantRequest(name, "Descrição de " + name, "Rua " + name, 4);
+        return restTemplate.postForEntity("/api/restaurants", new HttpEntity<>(request, headers),
+                RestaurantResponse.class).getBody().id();
+    }
+
+    private String partitionOf(Long restaurantId) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM restaurants WHERE id = ?",
+                String.class, restaurantId);
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    @Test
+    @DisplayName("should store a new restaurant in the partition of the current month")
+    void shouldRouteNewRestaurantsToCurrentMonth() {
+        Long id = createRestaurant("Outback " + UUID.randomUUID());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT relkind::text FROM pg_class WHERE oid = 'restaurants'::regclass",
+                String.class)).isEqualTo("p");
+        assertThat(partitionOf(id)).isEqualTo("restaurants_p" + YearMonth.now().format(MONTH));
+    }
+
+    @Test
+    @DisplayName("should read only the newest partitions for a page ordered by creation")
+    void shouldStopAtNewestPartitions() {
+        createRestaurant("Madero " + UUID.randomUUID());
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN ANALYZE SELECT * FROM restaurants WHERE NOT hidden ORDER BY created_at DESC LIMIT 1", String.class));
+
+        assertThat(plan).doesNotContain("Merge Append");
+        assertThat(plan).containsPattern("restaurants_history .*\\(never executed\\)");
+    }
+
+    @Test
+    @DisplayName("should find an old restaurant by id in the history partition")
+    void shouldFindRestaurantInOldPartition() {
+        Long id = jdbcTemplate.queryForObject("""
+                INSERT INTO restaurants (name, description, location, rating, created_by, created_at)
+                VALUES ('Coco Bambu', 'Frutos do mar', 'Rua Antiga', 5, ?, TIMESTAMP '2001-01-01 12:00')
+                RETURNING id
+                """, Long.class, userId);
+
+        ResponseEntity<RestaurantResponse> response = restTemplate.getForEntity("/api/restaurants/" + id,
+                RestaurantResponse.class);
+
+        assertThat(partitionOf(id)).isEqualTo("restaurants_history");
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().name()).isEqualTo("Coco Bambu");
+    }
+
+    @Test
+    @DisplayName("should create missing months ahead on maintenance")
+    void shouldCreateMissingMonths() {
+        String last = "restaurants_p" + YearMonth.now().plusMonths(3).format(MONTH);
+        jdbcTemplate.execute("DROP TABLE " + last);
+
+        partitionManager.maintain();
+
+        assertThat(exists(last)).isTrue();
+    }
+}
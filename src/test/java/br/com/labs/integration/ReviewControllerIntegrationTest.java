@@ -0,0 +1,160 @@
+package br.com.labs.integration;
+
+import br.com.labs.dto.request.LoginRequest;
+import br.com.labs.dto.request.RegisterRequest;
+import br.com.labs.dto.request.RestaurantRequest;
+import br.com.labs.dto.request.ReviewRequest;
+import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.dto.response.ReviewPage;
+import br.com.labs.dto.response.ReviewResponse;
+import br.com.labs.dto.response.TokenResponse;
+import br.com.labs.dto.response.UserResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReviewControllerIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String ownerToken;
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        ownerToken = registerAndLogin("Owner");
+        RestaurantRequest request = new RestaurantRequest("Outback", "Melhor costela!", "Shopping", 5);
+        restaurantId = restTemplate.postForEntity("/api/restaurants",
+                new HttpEntity<>(request, authHeaders(ownerToken)), RestaurantResponse.class).getBody().id();
+    }
+
+    private String registerAndLogin(String name) {
+        String email = name.toLowerCase() + UUID.randomUUID() + "@test.com";
+        restTemplate.postForEntity("/api/auth/register", new RegisterRequest(name, email, "password123"), UserResponse.class);
+        return restTemplate.postForEntity("/api/auth/login", new LoginRequest(email, "password123"), TokenResponse.class)
+                .getBody().token();
+    }
+
+    private HttpHeaders authHeaders(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+
+    private ResponseEntity<ReviewResponse> review(String token, int rating, String comment) {
+        return restTemplate.exchange("/api/restaurants/" + restaurantId + "/reviews", HttpMethod.PUT,
+                new HttpEntity<>(new ReviewRequest(rating, comment), authHeaders(token)), ReviewResponse.class);
+    }
+
+    private RestaurantResponse restaurant() {
+        return restTemplate.getForObject("/api/restaurants/" + restaurantId, RestaurantResponse.class);
+    }
+
+    @Nested
+    @DisplayName("PUT and DELETE /api/restaurants/{id}/reviews")
+    class WriteReviewTests {
+
+        @Test
+        @DisplayName("should keep the restaurant's average and count in step with its reviews")
+        void shouldMaintainAggregates() {
+            String ana = registerAndLogin("Ana");
+            String bruno = registerAndLogin("Bruno");
+
+            assertThat(review(ana, 5, "Excelente").getStatusCode()).isEqualTo(HttpStatus.OK);
+            review(bruno, 4, "Bom");
+            assertThat(restaurant().reviewCount()).isEqualTo(2);
+            assertThat(restaurant().averageRating()).isEqualTo(4.5);
+
+            review(bruno, 2, "Piorou");
+            assertThat(restaurant().reviewCount()).isEqualTo(2);
+            assertThat(restaurant().averageRating()).isEqualTo(3.5);
+
+            ResponseEntity<Void> deleted = restTemplate.exchange("/api/restaurants/" + restaurantId + "/reviews",
+                    HttpMethod.DELETE, new HttpEntity<>(authHeaders(ana)), Void.class);
+            assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+            assertThat(restaurant().reviewCount()).isEqualTo(1);
+            assertThat(restaurant().averageRating()).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("should answer conflict, not server error, to concurrent first reviews by the same user")
+        void shouldReturnConflictForConcurrentFirstReviews() {
+            String ana = registerAndLogin("Ana");
+
+            List<HttpStatusCode> statuses = IntStream.range(0, 8).parallel()
+                    .mapToObj(i -> review(ana, 4, "Review " + i).getStatusCode())
+                    .toList();
+
+            assertThat(statuses).allMatch(status -> status == HttpStatus.OK || status == HttpStatus.CONFLICT);
+            assertThat(restaurant().reviewCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should have no average before the first review")
+        void shouldHaveNoAverageWithoutReviews() {
+            assertThat(restaurant().reviewCount()).isZero();
+            assertThat(restaurant().averageRating()).isNull();
+        }
+
+        @Test
+        @DisplayName("should return not found when reviewing a missing restaurant")
+        void shouldReturnNotFoundForMissingRestaurant() {
+            ResponseEntity<String> response = restTemplate.exchange("/api/restaurants/99999/reviews", HttpMethod.PUT,
+                    new HttpEntity<>(new ReviewRequest(4, null), authHeaders(ownerToken)), String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+
+        @Test
+        @DisplayName("should return bad request for a rating out of range")
+        void shouldReturnBadRequestForInvalidRating() {
+            assertThat(review(ownerToken, 6, null).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/restaurants/{id}/reviews")
+    class ListReviewsTests {
+
+        @Test
+        @DisplayName("should walk all reviews newest first with the cursor, without authentication")
+        void shouldPaginateWithCursor() {
+            for (String name : List.of("Ana", "Bruno", "Carla")) {
+                review(registerAndLogin(name), 4, "Review by " + name);
+            }
+
+            List<String> comments = new ArrayList<>();
+            String url = "/api/restaurants/" + restaurantId + "/reviews?size=2";
+            ReviewPage page = restTemplate.getForObject(url, ReviewPage.class);
+            page.content().forEach(review -> comments.add(review.comment()));
+            assertThat(page.nextCursor()).isNotNull();
+
+            page = restTemplate.getForObject(url + "&before=" + page.nextCursor(), ReviewPage.class);
+            page.content().forEach(review -> comments.add(review.comment()));
+
+            assertThat(page.nextCursor()).isNull();
+            assertThat(comments).containsExactly("Review by Carla", "Review by Bruno", "Review by Ana");
+        }
+
+        @Test
+        @DisplayName("should return not found for a missing restaurant")
+        void shouldReturnNotFoundForMissingRestaurant() {
+            ResponseEntity<String> response = restTemplate.getForEntity("/api/restaurants/99999/reviews", String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+}
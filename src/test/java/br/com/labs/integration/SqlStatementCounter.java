@@ -0,0 +1,49 @@
+package br.com.labs.integration;
+
+import br.com.labs.monitoring.SqlStatementFilter;
+import br.com.labs.monitoring.SqlStatementFilter.RequestSqlStats;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs a request and returns the number of SQL statements the application executed for it, or all its
+ * recorded stats. The filter records a request after the response is written, so the result is polled for
+ * briefly.
+ */
+public class SqlStatementCounter {
+
+    private static final long TIMEOUT_MILLIS = 2000;
+
+    private final SqlStatementFilter filter;
+
+    public SqlStatementCounter(SqlStatementFilter filter) {
+        this.filter = filter;
+    }
+
+    public int count(String path, Runnable request) {
+        return stats(path, request).statements();
+    }
+
+    public RequestSqlStats stats(String path, Runnable request) {
+        List<RequestSqlStats> before = filter.recent();
+        request.run();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<RequestSqlStats> recorded = filter.recent().stream()
+                .filter(stats -> stats.path().equals(path))
+                .filter(stats -> before.stream().noneMatch(previous -> previous == stats))
+                .reduce((first, second) -> second);
+            if (recorded.isPresent()) {
+                return recorded.get();
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new AssertionError("No SQL statement count recorded for " + path);
+    }
+}
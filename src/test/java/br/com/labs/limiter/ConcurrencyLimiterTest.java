@@ -0,0 +1,147 @@
+package br.com.labs.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTest {
+
+    private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Nested
+    @DisplayName("VegasLimit")
+    class VegasLimitTests {
+
+        private void feed(VegasLimit limit, int samples, long rttNanos, boolean dropped) {
+            for (int i = 0; i < samples; i++) {
+                limit.onSample(rttNanos, limit.getLimit(), dropped);
+            }
+        }
+
+        @Test
+        @DisplayName("should grow while latency stays flat")
+        void shouldGrowWhileLatencyIsFlat() {
+            VegasLimit limit = new VegasLimit(10, 1, 100);
+
+            feed(limit, 200, BASE_RTT, false);
+
+            assertThat(limit.getLimit()).isGreaterThan(10);
+        }
+
+        @Test
+        @DisplayName("should shrink when latency shows requests queueing")
+        void shouldShrinkWhenLatencyGrows() {
+            VegasLimit limit = new VegasLimit(50, 1, 100);
+            feed(limit, 10, BASE_RTT, false);
+            int before = limit.getLimit();
+
+            feed(limit, 100, BASE_RTT * 4, false);
+
+            assertThat(limit.getLimit()).isLessThan(before);
+        }
+
+        @Test
+        @DisplayName("should shrink on a window with dropped requests")
+        void shouldShrinkOnDrop() {
+            VegasLimit limit = new VegasLimit(50, 1, 100);
+            feed(limit, 10, BASE_RTT, false);
+
+            feed(limit, 10, BASE_RTT, true);
+
+            assertThat(limit.getLimit()).isLessThan(50);
+        }
+
+        @Test
+        @DisplayName("should not move while less than half of the limit is used")
+        void shouldIgnoreSamplesWhenUnderused() {
+            VegasLimit limit = new VegasLimit(20, 1, 100);
+
+            for (int i = 0; i < 100; i++) {
+                limit.onSample(i < 10 ? BASE_RTT : BASE_RTT * 10, 2, false);
+            }
+
+            assertThat(limit.getLimit()).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("should stay within its bounds")
+        void shouldStayWithinBounds() {
+            VegasLimit limit = new VegasLimit(5, 3, 8);
+            feed(limit, 10, BASE_RTT, false);
+
+            feed(limit, 200, BASE_RTT, true);
+            assertThat(limit.getLimit()).isEqualTo(3);
+
+            feed(limit, 2000, BASE_RTT, false);
+            assertThat(limit.getLimit()).isEqualTo(8);
+        }
+    }
+
+    @Nested
+    @DisplayName("ConcurrencyLimitFilter")
+    class FilterTests {
+
+        private ConcurrencyLimitFilter filter(int readsLimit) throws Exception {
+            ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties(true, Map.of(
+                ConcurrencyLimitFilter.READS, new ConcurrencyLimitProperties.Group(readsLimit, readsLimit, readsLimit),
+                ConcurrencyLimitFilter.WRITES, new ConcurrencyLimitProperties.Group(1, 1, 1)));
+            ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            return new ConcurrencyLimitFilter(properties, new SimpleMeterRegistry(), objectMapper);
+        }
+
+        @Test
+        @DisplayName("should assign requests to endpoint groups")
+        void shouldAssignGroups() {
+            assertThat(ConcurrencyLimitFilter.groupOf(new MockHttpServletRequest("GET", "/api/restaurants"))).isEqualTo("reads");
+            assertThat(ConcurrencyLimitFilter.groupOf(new MockHttpServletRequest("GET", "/api/restaurants/my"))).isEqualTo("reads");
+            assertThat(ConcurrencyLimitFilter.groupOf(new MockHttpServletRequest("PUT", "/api/restaurants/1"))).isEqualTo("writes");
+            assertThat(ConcurrencyLimitFilter.groupOf(new MockHttpServletRequest("POST", "/api/batch"))).isEqualTo("writes");
+            assertThat(ConcurrencyLimitFilter.groupOf(new MockHttpServletRequest("POST", "/api/restaurants/1/photos"))).isEqualTo("uploads");
+            assertThat(ConcurrencyLimitFilter.groupOf(new MockHttpServletRequest("DELETE", "/api/restaurants/1/photos/2"))).isEqualTo("writes");
+            assertThat(ConcurrencyLimitFilter.groupOf(new MockHttpServletRequest("POST", "/api/auth/login"))).isEqualTo("auth");
+            assertThat(ConcurrencyLimitFilter.groupOf(new MockHttpServletRequest("GET", "/actuator/health"))).isNull();
+        }
+
+        @Test
+        @DisplayName("should reject with 503 once the group limit is reached")
+        void shouldRejectOverLimit() throws Exception {
+            ConcurrencyLimitFilter filter = filter(1);
+            assertThat(filter.limiter(ConcurrencyLimitFilter.READS).tryAcquire()).isTrue();
+
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/restaurants"), response, chain);
+
+            assertThat(response.getStatus()).isEqualTo(503);
+            assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+            assertThat(response.getContentAsString()).contains("\"status\":503");
+            assertThat(chain.getRequest()).isNull();
+        }
+
+        @Test
+        @DisplayName("should keep admitting reads while writes are saturated")
+        void shouldIsolateReadsFromWrites() throws Exception {
+            ConcurrencyLimitFilter filter = filter(1);
+            assertThat(filter.limiter(ConcurrencyLimitFilter.WRITES).tryAcquire()).isTrue();
+
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/restaurants/1"), response, chain);
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(chain.getRequest()).isNotNull();
+            assertThat(filter.limiter(ConcurrencyLimitFilter.READS).getInFlight()).isZero();
+        }
+    }
+}
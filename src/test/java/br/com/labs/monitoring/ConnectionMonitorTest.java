@@ -0,0 +1,101 @@
+package br.com.labs.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ConnectionMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Connection connection = mock(Connection.class);
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementStats.end();
+    }
+
+    private ConnectionMonitor monitor(Duration leakThreshold) {
+        return new ConnectionMonitor(new ConnectionMonitoringProperties(leakThreshold, Duration.ofMillis(100)),
+            meterRegistry);
+    }
+
+    private double count(String name, String uri) {
+        return meterRegistry.counter(name, "method", uri.equals("NONE") ? "NONE" : "GET", "uri", uri).count();
+    }
+
+    @Test
+    @DisplayName("should add the wait and hold times to the request that checked the connection out")
+    void shouldAttributeTimesToRequest() throws SQLException, InterruptedException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurants/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/restaurants/{id}");
+        SqlStatementStats stats = SqlStatementStats.begin(request);
+
+        Connection monitored = monitor(Duration.ofSeconds(10)).checkedOut(connection, TimeUnit.MILLISECONDS.toNanos(5));
+        Thread.sleep(5);
+        monitored.close();
+
+        assertThat(stats.connections()).isEqualTo(1);
+        assertThat(stats.connectionWaitNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(stats.connectionHoldNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("should count a slow checkout under the endpoint")
+    void shouldCountSlowCheckout() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurants");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/restaurants");
+        SqlStatementStats.begin(request);
+
+        monitor(Duration.ofSeconds(10)).checkedOut(connection, TimeUnit.MILLISECONDS.toNanos(250));
+
+        assertThat(count("jdbc.connections.slow.checkouts", "/api/restaurants")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should report a connection held past the threshold once")
+    void shouldReportLeakOnce() throws SQLException, InterruptedException {
+        ConnectionMonitor monitor = monitor(Duration.ofMillis(1));
+        Connection monitored = monitor.checkedOut(connection, 0);
+        Thread.sleep(5);
+
+        monitor.detectLeaks();
+        monitor.detectLeaks();
+        monitored.close();
+        monitor.detectLeaks();
+
+        assertThat(count("jdbc.connections.leaks", "NONE")).isEqualTo(1);
+        assertThat(meterRegistry.get("jdbc.connections.checked.out").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("should close the connection once and keep proxy identity")
+    void shouldBehaveAsConnection() throws SQLException {
+        ConnectionMonitor monitor = monitor(Duration.ofSeconds(10));
+        Connection monitored = monitor.checkedOut(connection, 0);
+
+        assertThat(meterRegistry.get("jdbc.connections.checked.out").gauge().value()).isEqualTo(1);
+        assertThat(monitored).isEqualTo(monitored).isNotEqualTo(connection);
+        assertThat(((ConnectionProxy) monitored).getTargetConnection()).isSameAs(connection);
+
+        monitored.close();
+        monitored.close();
+
+        verify(connection, times(2)).close();
+        assertThat(meterRegistry.get("jdbc.connections.checked.out").gauge().value()).isZero();
+    }
+}
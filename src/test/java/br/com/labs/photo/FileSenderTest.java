@@ -0,0 +1,111 @@
+package br.com.labs.photo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSenderTest {
+
+    private static final String ETAG = "\"abc\"";
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(directory.resolve("photo"), "0123456789");
+        request = new MockHttpServletRequest("GET", "/photo");
+        response = new MockHttpServletResponse();
+    }
+
+    private void send() throws IOException {
+        FileSender.send(request, response, file, "image/png", ETAG, "max-age=60");
+    }
+
+    @Test
+    @DisplayName("should send the whole file with its validators")
+    void shouldSendFile() throws IOException {
+        send();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    @Test
+    @DisplayName("should answer a matching If-None-Match with 304 and no body")
+    void shouldAnswerNotModified() throws IOException {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", W/\"abc\"");
+
+        send();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should send a single range as 206")
+    void shouldSendRange() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-4");
+
+        send();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("234");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-4/10");
+    }
+
+    @Test
+    @DisplayName("should answer a range past the end with 416")
+    void shouldRejectUnsatisfiableRange() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-");
+
+        send();
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    @DisplayName("should ignore the range when If-Range names another version")
+    void shouldIgnoreStaleRange() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-4");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+
+        send();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    @DisplayName("should hand the file to the connector when it supports sendfile")
+    void shouldUseSendfile() throws IOException {
+        request.setAttribute(FileSender.SENDFILE_SUPPORTED, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+        send();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(FileSender.SENDFILE_FILENAME)).isEqualTo(file.toAbsolutePath().toString());
+        assertThat(request.getAttribute(FileSender.SENDFILE_START)).isEqualTo(7L);
+        assertThat(request.getAttribute(FileSender.SENDFILE_END)).isEqualTo(10L);
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.labs.photo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PhotoStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private PhotoStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new PhotoStore(directory);
+    }
+
+    private PhotoStore.StoredFile store(String content) throws IOException {
+        return store.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), 1024);
+    }
+
+    private long files(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    @DisplayName("should store bytes under their SHA-256, once")
+    void shouldStoreByHash() throws IOException {
+        PhotoStore.StoredFile first = store("photo");
+        PhotoStore.StoredFile second = store("photo");
+
+        assertThat(first.hash()).isEqualTo("55c64d0fcd6f9d5f7c828093857e3fdfda68478bb4e9bd24d481ef391c7804e8")
+            .isEqualTo(second.hash());
+        assertThat(first.size()).isEqualTo(5);
+        assertThat(store.original(first.hash()))
+            .isEqualTo(directory.resolve("originals").resolve(first.hash().substring(0, 2))
+                .resolve(first.hash().substring(2, 4)).resolve(first.hash()))
+            .hasContent("photo");
+        assertThat(files(directory)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should leave nothing behind when an upload is too large")
+    void shouldRejectTooLarge() throws IOException {
+        assertThatThrownBy(() -> store.store(new ByteArrayInputStream(new byte[2048]), 1024))
+            .isInstanceOf(MaxUploadSizeExceededException.class);
+
+        assertThat(files(directory)).isZero();
+    }
+
+    @Test
+    @DisplayName("should only delete photos nobody uploaded again since the cutoff")
+    void shouldListAndDeleteOldPhotos() throws IOException {
+        String old = store("old").hash();
+        String recent = store("recent").hash();
+        Files.setLastModifiedTime(store.original(old), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Instant cutoff = Instant.now().minus(Duration.ofHours(1));
+
+        List<String> stored = new ArrayList<>();
+        store.forEachStoredBefore(cutoff, stored::add);
+
+        assertThat(stored).containsExactly(old);
+        assertThat(store.deleteIfUnchangedSince(recent, cutoff)).isFalse();
+        store("old");
+        assertThat(store.deleteIfUnchangedSince(old, cutoff)).isFalse();
+        Files.setLastModifiedTime(store.original(old), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        assertThat(store.deleteIfUnchangedSince(old, cutoff)).isTrue();
+        assertThat(store.original(old)).doesNotExist();
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.labs.popularity;
+
+import br.com.labs.cache.RestaurantJsonCache;
+import br.com.labs.event.RestaurantChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RestaurantViewCounterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private RestaurantViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        // Every restaurant still exists unless a test says otherwise
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenAnswer(invocation -> {
+                    int[] written = new int[invocation.<List<?>>getArgument(1).size()];
+                    Arrays.fill(written, 1);
+                    return written;
+                });
+        counter = new RestaurantViewCounter(jdbcTemplate, mock(RestaurantJsonCache.class), new SimpleMeterRegistry());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> flushed() {
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), batch.capture());
+        return batch.getValue();
+    }
+
+    @Test
+    @DisplayName("should write every concurrent view in one batch, ordered by id")
+    void shouldFlushConcurrentViews() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment(i % 10 == 0 ? 2L : 1L);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        counter.flush();
+
+        assertThat(flushed()).containsExactly(new Object[] {1L, 72_000L, 1L}, new Object[] {2L, 8_000L, 2L});
+    }
+
+    @Test
+    @DisplayName("should skip the database when nothing was viewed since the last flush")
+    void shouldSkipEmptyFlush() {
+        counter.increment(1L);
+        counter.flush();
+        counter.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("should keep the views of a failed flush for the next one")
+    void shouldRetryFailedFlush() {
+        counter.increment(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(new int[] {1});
+        counter.flush();
+
+        counter.increment(1L);
+        counter.flush();
+
+        assertThat(flushed()).containsExactly(new Object[] {1L, 2L, 1L});
+    }
+
+    @Test
+    @DisplayName("should drop the views of a deleted restaurant")
+    void shouldForgetDeletedRestaurant() {
+        counter.increment(1L);
+        counter.increment(2L);
+
+        counter.onRestaurantChanged(new RestaurantChangedEvent(1L, RestaurantChangedEvent.Type.DELETED));
+        counter.flush();
+
+        assertThat(flushed()).containsExactly(new Object[] {2L, 1L, 2L});
+        verify(jdbcTemplate).update("DELETE FROM restaurant_view_counts WHERE restaurant_id = ?", 1L);
+    }
+
+    @Test
+    @DisplayName("should forget a restaurant whose views were not written because it no longer exists")
+    void shouldForgetViewsWrittenAfterDelete() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {0, 1});
+        counter.onRestaurantChanged(new RestaurantChangedEvent(1L, RestaurantChangedEvent.Type.DELETED));
+        counter.increment(1L);
+        counter.increment(2L);
+
+        counter.flush();
+
+        @SuppressWarnings("unchecked")
+        Map<Long, LongAdder> pending = (Map<Long, LongAdder>) ReflectionTestUtils.getField(counter, "pending");
+        assertThat(pending).containsOnlyKeys(2L);
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.labs.recommendation;
+
+import br.com.labs.recommendation.SimilarityIndex.Document;
+import br.com.labs.recommendation.SimilarityIndex.Neighbor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimilarityIndexTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static List<Document> restaurants() {
+        return List.of(
+            new Document(1, "Cantina Napoli", "Massas artesanais e pizza napolitana no forno a lenha Centro"),
+            new Document(2, "Forno di Roma", "Pizza napolitana de fermentação natural, forno a lenha Pinheiros"),
+            new Document(3, "Sushi Kenzo", "Sushi e sashimi de peixe fresco, temakis Liberdade"),
+            new Document(4, "Temakeria Sakura", "Temakis, sushi e hot rolls Liberdade"),
+            new Document(5, "Churrascaria Gaúcha", "Rodízio de carnes nobres e costela fogo de chão"));
+    }
+
+    private static List<Long> ids(List<Neighbor> neighbors) {
+        return neighbors.stream().map(Neighbor::id).toList();
+    }
+
+    @Test
+    @DisplayName("should fold accents and drop short words and stopwords")
+    void shouldTokenize() {
+        assertThat(SimilarityIndex.tokenize("Açaí com Granola e PÃO-de-queijo!"))
+            .containsExactly("acai", "granola", "pao", "queijo");
+    }
+
+    @Test
+    @DisplayName("should rank restaurants sharing rare terms first")
+    void shouldFindNearestNeighbors() {
+        SimilarityIndex index = SimilarityIndex.build(restaurants(), 2, 0.1, pool);
+
+        assertThat(ids(index.neighbors(1))).first().isEqualTo(2L);
+        assertThat(ids(index.neighbors(3))).first().isEqualTo(4L);
+        assertThat(index.neighbors(5)).isEmpty();
+        assertThat(index.neighbors(99)).isNull();
+    }
+
+    @Test
+    @DisplayName("should fold in created, updated and deleted restaurants without a build")
+    void shouldApplyChanges() {
+        SimilarityIndex index = SimilarityIndex.build(restaurants(), 2, 0.1, pool);
+        Document created = new Document(6, "Bella Pizza", "Pizza napolitana no forno a lenha");
+
+        index.apply(List.of(created), List.of(3L));
+
+        assertThat(index.neighbors(3)).isNull();
+        assertThat(ids(index.neighbors(4))).doesNotContain(3L);
+        assertThat(ids(index.neighbors(6))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.neighbors(2))).contains(6L);
+        assertThat(index.isCurrent(created)).isTrue();
+        assertThat(index.isCurrent(new Document(6, "Bella Pizza", "Sushi"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("should list each of two similar updated restaurants once in the other's neighbors")
+    void shouldApplySimilarUpdatesTogether() {
+        SimilarityIndex index = SimilarityIndex.build(restaurants(), 3, 0.1, pool);
+
+        index.apply(List.of(
+            new Document(3, "Sushi Kenzo", "Sushi, sashimi e temakis de peixe fresco Liberdade"),
+            new Document(4, "Temakeria Sakura", "Temakis, sushi, sashimi e hot rolls Liberdade")), List.of());
+
+        assertThat(ids(index.neighbors(3))).containsOnlyOnce(4L);
+        assertThat(ids(index.neighbors(4))).containsOnlyOnce(3L);
+    }
+
+    @Test
+    @DisplayName("should build the same neighbors whatever the parallelism")
+    void shouldNotDependOnParallelism() {
+        Random random = new Random(42);
+        String[] words = {"pizza", "sushi", "costela", "massa", "vinho", "burger", "vegano", "feijoada", "ramen",
+            "taco", "salada", "cerveja", "brunch", "doces", "cafe", "frutos", "peixe", "grelhado", "forno", "lenha"};
+        List<Document> documents = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            StringBuilder text = new StringBuilder();
+            for (int word = 0; word < 8; word++) {
+                text.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            documents.add(new Document(id, "Restaurant " + id, text.toString()));
+        }
+        ForkJoinPool single = new ForkJoinPool(1);
+
+        SimilarityIndex sequential = SimilarityIndex.build(documents, 5, 0.1, single);
+        SimilarityIndex parallel = SimilarityIndex.build(documents, 5, 0.1, pool);
+        single.shutdownNow();
+
+        for (long id = 1; id <= 500; id++) {
+            assertThat(parallel.neighbors(id)).extracting(Neighbor::score)
+                .containsExactlyElementsOf(sequential.neighbors(id).stream().map(Neighbor::score).toList());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.labs.security;
 
 import br.com.labs.model.User;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -90,4 +91,26 @@ class JwtTokenProviderTest {
             assertThat(userId).isEqualTo(1L);
         }
     }
+
+    @Nested
+    @DisplayName("parseToken()")
+    class ParseTokenTests {
+
+        @Test
+        @DisplayName("should return the user id and email from one parse")
+        void shouldReturnClaims() {
+            Authentication authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+            Claims claims = tokenProvider.parseToken(tokenProvider.generateToken(authentication));
+
+            assertThat(claims).isNotNull();
+            assertThat(JwtTokenProvider.getUserId(claims)).isEqualTo(1L);
+            assertThat(JwtTokenProvider.getEmail(claims)).isEqualTo(user.getEmail());
+        }
+
+        @Test
+        @DisplayName("should return null for an invalid token")
+        void shouldReturnNullForInvalidToken() {
+            assertThat(tokenProvider.parseToken("invalid.token.here")).isNull();
+        }
+    }
 }
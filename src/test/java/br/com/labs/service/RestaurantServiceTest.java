@@ -1,25 +1,33 @@
 package br.com.labs.service;
 
+import br.com.labs.audit.AuditAction;
+import br.com.labs.audit.AuditLog;
+import br.com.labs.cache.RestaurantListingCache;
+import br.com.labs.datasource.ReadYourWritesTracker;
 import br.com.labs.dto.request.RestaurantRequest;
 import br.com.labs.dto.response.RestaurantResponse;
+import br.com.labs.event.RestaurantChangedEvent;
 import br.com.labs.exception.ResourceNotFoundException;
 import br.com.labs.model.Restaurant;
 import br.com.labs.model.User;
 import br.com.labs.repository.RestaurantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -35,7 +43,21 @@ class RestaurantServiceTest {
     @Mock
     private RestaurantRepository restaurantRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Mock
+    private RestaurantListingCache listingCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private AuditLog auditLog;
+
     private RestaurantService restaurantService;
 
     private User user;
@@ -44,6 +66,9 @@ class RestaurantServiceTest {
 
     @BeforeEach
     void setUp() {
+        restaurantService = new RestaurantService(restaurantRepository, eventPublisher, readYourWritesTracker,
+                listingCache, transactionManager, auditLog, new SimpleMeterRegistry(), Duration.ofSeconds(1));
+
         user = new User("Felipe", "felipe@email.com", "password");
         user.setId(1L);
 
@@ -68,6 +93,7 @@ class RestaurantServiceTest {
             assertThat(response.description()).isEqualTo("Melhor costela!");
             assertThat(response.createdByName()).isEqualTo("Felipe");
             verify(restaurantRepository).save(any(Restaurant.class));
+            verify(auditLog).record(AuditAction.RESTAURANT_CREATED, 1L, 1L, "Outback");
         }
     }
 
@@ -130,6 +156,8 @@ class RestaurantServiceTest {
 
             assertThat(response).isNotNull();
             verify(restaurantRepository).save(any(Restaurant.class));
+            verify(eventPublisher).publishEvent(new RestaurantChangedEvent(1L, RestaurantChangedEvent.Type.UPDATED));
+            verify(auditLog).record(AuditAction.RESTAURANT_UPDATED, 1L, 1L, "Outback Steakhouse");
         }
 
         @Test
@@ -159,6 +187,8 @@ class RestaurantServiceTest {
             restaurantService.delete(1L, user);
 
             verify(restaurantRepository).delete(restaurant);
+            verify(eventPublisher).publishEvent(new RestaurantChangedEvent(1L, RestaurantChangedEvent.Type.DELETED));
+            verify(auditLog).record(AuditAction.RESTAURANT_DELETED, 1L, 1L, "Outback");
         }
 
         @Test
@@ -171,6 +201,7 @@ class RestaurantServiceTest {
 
             assertThatThrownBy(() -> restaurantService.delete(1L, otherUser))
                     .isInstanceOf(AccessDeniedException.class);
+            verifyNoInteractions(eventPublisher, auditLog);
         }
     }
 }
@@ -0,0 +1,164 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.request.ReviewRequest;
+import br.com.labs.dto.response.ReviewPage;
+import br.com.labs.event.RestaurantChangedEvent;
+import br.com.labs.exception.DuplicateReviewException;
+import br.com.labs.exception.ResourceNotFoundException;
+import br.com.labs.model.Restaurant;
+import br.com.labs.model.Review;
+import br.com.labs.model.User;
+import br.com.labs.repository.RestaurantRepository;
+import br.com.labs.repository.ReviewRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReviewService reviewService;
+
+    private User user;
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Felipe", "felipe@email.com", "password");
+        user.setId(1L);
+
+        restaurant = new Restaurant("Outback", "Melhor costela!", "Shopping", 5, user);
+        restaurant.setId(1L);
+    }
+
+    private Review review(long id, int rating) {
+        Review review = new Review(restaurant, user, rating, "Comment " + id);
+        review.setId(id);
+        return review;
+    }
+
+    @Nested
+    @DisplayName("save")
+    class SaveTests {
+
+        @Test
+        @DisplayName("should add the first review to the sum and count")
+        void shouldCountFirstReview() {
+            when(reviewRepository.findByRestaurantIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+            when(restaurantRepository.applyReview(1L, 4, 1)).thenReturn(1);
+            when(restaurantRepository.getReferenceById(1L)).thenReturn(restaurant);
+            when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            reviewService.save(1L, new ReviewRequest(4, "Bom"), user);
+
+            verify(restaurantRepository).applyReview(1L, 4, 1);
+            verify(eventPublisher).publishEvent(new RestaurantChangedEvent(1L, RestaurantChangedEvent.Type.UPDATED));
+        }
+
+        @Test
+        @DisplayName("should only move the sum by the difference when replacing a review")
+        void shouldApplyDifferenceOnReplace() {
+            Review existing = review(10L, 5);
+            when(reviewRepository.findByRestaurantIdAndUserId(1L, 1L)).thenReturn(Optional.of(existing));
+            when(restaurantRepository.applyReview(1L, -3, 0)).thenReturn(1);
+            when(reviewRepository.save(existing)).thenReturn(existing);
+
+            reviewService.save(1L, new ReviewRequest(2, "Piorou"), user);
+
+            verify(restaurantRepository).applyReview(1L, -3, 0);
+            assertThat(existing.getRating()).isEqualTo(2);
+            assertThat(existing.getComment()).isEqualTo("Piorou");
+        }
+
+        @Test
+        @DisplayName("should not write a review for a missing restaurant")
+        void shouldRejectMissingRestaurant() {
+            when(reviewRepository.findByRestaurantIdAndUserId(99L, 1L)).thenReturn(Optional.empty());
+            when(restaurantRepository.applyReview(99L, 4, 1)).thenReturn(0);
+
+            assertThatThrownBy(() -> reviewService.save(99L, new ReviewRequest(4, null), user))
+                .isInstanceOf(ResourceNotFoundException.class);
+            verify(reviewRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should report a concurrent first review by the same user as a duplicate")
+        void shouldReportConcurrentFirstReview() {
+            givenFirstReviewFailsOn(ReviewService.UNIQUE_REVIEW_CONSTRAINT);
+
+            assertThatThrownBy(() -> reviewService.save(1L, new ReviewRequest(4, null), user))
+                .isInstanceOf(DuplicateReviewException.class);
+        }
+
+        @Test
+        @DisplayName("should let other integrity violations through")
+        void shouldRethrowOtherViolations() {
+            givenFirstReviewFailsOn("reviews_user_id_fkey");
+
+            assertThatThrownBy(() -> reviewService.save(1L, new ReviewRequest(4, null), user))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        }
+
+        private void givenFirstReviewFailsOn(String constraint) {
+            when(reviewRepository.findByRestaurantIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+            when(restaurantRepository.applyReview(1L, 4, 1)).thenReturn(1);
+            when(restaurantRepository.getReferenceById(1L)).thenReturn(restaurant);
+            when(reviewRepository.save(any(Review.class))).thenThrow(new DataIntegrityViolationException("insert failed",
+                new ConstraintViolationException("insert failed", new SQLException("duplicate", "23505"), constraint)));
+        }
+    }
+
+    @Test
+    @DisplayName("should take the review out of the sum and count when deleting")
+    void shouldSubtractOnDelete() {
+        Review existing = review(10L, 3);
+        when(reviewRepository.findByRestaurantIdAndUserId(1L, 1L)).thenReturn(Optional.of(existing));
+        when(restaurantRepository.applyReview(1L, -3, -1)).thenReturn(1);
+
+        reviewService.delete(1L, user);
+
+        verify(reviewRepository).delete(existing);
+    }
+
+    @Test
+    @DisplayName("should return the cursor of the last review when there is a next page")
+    void shouldReturnNextCursor() {
+        List<Review> newestFirst = LongStream.of(30, 29, 28).mapToObj(id -> review(id, 4)).toList();
+        when(reviewRepository.findByRestaurantIdAndIdLessThanOrderByIdDesc(1L, 31L, Limit.of(3)))
+            .thenReturn(newestFirst);
+
+        ReviewPage page = reviewService.findByRestaurant(1L, 31L, 2);
+
+        assertThat(page.content()).extracting("id").containsExactly(30L, 29L);
+        assertThat(page.nextCursor()).isEqualTo(29L);
+    }
+}
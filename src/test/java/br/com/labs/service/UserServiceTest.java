@@ -1,6 +1,8 @@
 package br.com.labs.service;
 
+import br.com.labs.datasource.ReadYourWritesTracker;
 import br.com.labs.dto.request.RegisterRequest;
+import br.com.labs.event.UserChangedEvent;
 import br.com.labs.model.Role;
 import br.com.labs.model.User;
 import br.com.labs.repository.RoleRepository;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
@@ -35,6 +38,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -71,6 +80,8 @@ class UserServiceTest {
             assertThat(result.getPassword()).isEqualTo("encodedPassword");
             assertThat(result.getRoles()).contains(userRole);
             verify(userRepository).save(any(User.class));
+            verify(readYourWritesTracker).markWrite("felipe@email.com");
+            verify(eventPublisher).publishEvent(new UserChangedEvent(1L));
         }
 
         @Test